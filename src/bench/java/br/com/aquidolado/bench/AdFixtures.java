@@ -0,0 +1,96 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.AdImage;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.dto.AdResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Anúncios em memória para os benchmarks de mapeamento/serialização: 1 em cada 5 é indicação. */
+final class AdFixtures {
+
+    static final int IMAGES_PER_AD = 3;
+
+    private AdFixtures() {
+    }
+
+    static List<Ad> ads(int count) {
+        Community community = Community.builder()
+                .id(1L)
+                .name("Residencial Jardim das Flores")
+                .accessCode("ABCD2345")
+                .postalCode("01310100")
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+        List<Ad> ads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User author = User.builder()
+                    .id(100L + i % 7)
+                    .name("Morador " + i % 7)
+                    .email("morador" + i % 7 + "@teste.local")
+                    .whatsapp("5511987654321")
+                    .build();
+            boolean recommendation = i % 5 == 4;
+            ads.add(Ad.builder()
+                    .id(1_000L + i)
+                    .title(recommendation ? "Eletricista de confiança" : "Bicicleta aro 29 seminova")
+                    .description("Usada poucas vezes, revisada e com nota fiscal. Retirar no bloco B.")
+                    .type(recommendation ? AdType.RECOMMENDATION : AdType.SALE_TRADE)
+                    .price(recommendation ? null : new BigDecimal("850.00"))
+                    .status(AdStatus.ACTIVE)
+                    .user(author)
+                    .community(community)
+                    .createdAt(Instant.parse("2025-06-01T12:00:00Z").plusSeconds(i * 60L))
+                    .recommendedContact(recommendation ? "5511912345678" : null)
+                    .serviceType(recommendation ? "Elétrica" : null)
+                    .build());
+        }
+        return ads;
+    }
+
+    /** Linhas no formato da consulta paginada (AdRepository.SELECT_LIST_ITEMS), sem imagens. */
+    static List<AdResponse> items(List<Ad> ads) {
+        return ads.stream()
+                .map(ad -> {
+                    boolean recommendation = ad.getType() == AdType.RECOMMENDATION;
+                    return new AdResponse(ad.getId(), ad.getTitle(), ad.getDescription(), ad.getType(), ad.getPrice(),
+                            ad.getStatus(), ad.getUser().getId(), ad.getUser().getName(), ad.getUser().getWhatsapp(),
+                            ad.getCommunity().getId(), ad.getCreatedAt(), ad.getRecommendedContact(),
+                            ad.getServiceType(), ad.getSuspendedByReportsAt(),
+                            recommendation ? 12L : 0L, recommendation ? 4.25 : null, recommendation ? 5 : null);
+                })
+                .toList();
+    }
+
+    /** Linhas [adId, url] da consulta de imagens em lote. */
+    static List<Object[]> imageUrls(List<Ad> ads) {
+        return images(ads).stream()
+                .map(image -> new Object[]{image.getAd().getId(), image.getUrl()})
+                .toList();
+    }
+
+    static List<AdImage> images(List<Ad> ads) {
+        List<AdImage> images = new ArrayList<>();
+        for (Ad ad : ads) {
+            if (ad.getType() == AdType.RECOMMENDATION) {
+                continue;
+            }
+            for (int i = 0; i < IMAGES_PER_AD; i++) {
+                images.add(AdImage.builder()
+                        .id(ad.getId() * 10 + i)
+                        .ad(ad)
+                        .url("https://res.cloudinary.com/aqui/image/upload/ads/" + ad.getId() + "/" + i + ".jpg")
+                        .sortOrder(i)
+                        .build());
+            }
+        }
+        return images;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.concurrency.Bulkhead;
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.og.AdPreviewCache;
+import br.com.aquidolado.repository.AdImageRepository;
+import br.com.aquidolado.repository.AdRepository;
+import br.com.aquidolado.repository.CommunityRepository;
+import br.com.aquidolado.repository.RecommendationReactionRepository;
+import br.com.aquidolado.repository.UserRepository;
+import br.com.aquidolado.service.AdService;
+import br.com.aquidolado.service.ContentVersionService;
+import br.com.aquidolado.service.EventLogService;
+import br.com.aquidolado.storage.ImageCompressionService;
+import br.com.aquidolado.storage.StorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Montagem das respostas do AdService com repositórios mockados (sem banco): a página de "meus anúncios"
+ * (linhas já projetadas em AdResponse + URLs das imagens em lote) e o anúncio único (entidade + consultas por anúncio).
+ * Rode com -prof gc para comparar a alocação por operação.
+ * O custo do proxy do Mockito entra na medida, mas é constante entre versões do mapeamento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdMappingBenchmark {
+
+    private static final long USER_ID = 100L;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private AdService adService;
+    private PageRequest pageable;
+    private Long singleAdId;
+
+    @Setup
+    public void setUp() {
+        List<Ad> ads = AdFixtures.ads(pageSize);
+        pageable = PageRequest.of(0, pageSize);
+        Page<AdResponse> rows = new PageImpl<>(AdFixtures.items(ads), pageable, pageSize * 10L);
+
+        AdRepository adRepository = mock(AdRepository.class);
+        AdImageRepository adImageRepository = mock(AdImageRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        RecommendationReactionRepository reactionRepository = mock(RecommendationReactionRepository.class);
+        when(adRepository.findByUserIdWithRatings(eq(USER_ID), eq(USER_ID), any())).thenReturn(rows);
+        when(adImageRepository.findUrlsByAdIdIn(any())).thenReturn(AdFixtures.imageUrls(ads));
+
+        Ad single = ads.getFirst();
+        singleAdId = single.getId();
+        when(adRepository.findDetailById(singleAdId)).thenReturn(Optional.of(single));
+        when(userRepository.existsByIdAndCommunitiesId(anyLong(), anyLong())).thenReturn(true);
+        when(adImageRepository.findByAdIdOrderBySortOrder(singleAdId)).thenReturn(AdFixtures.images(List.of(single)));
+
+        adService = new AdService(adRepository, adImageRepository, userRepository,
+                mock(CommunityRepository.class), reactionRepository,
+                mock(EventLogService.class), mock(StorageService.class), Runnable::run,
+                mock(Bulkhead.class), mock(TransactionTemplate.class), mock(AdFeedIndex.class),
+                mock(ContentVersionService.class), mock(ImageCompressionService.class), mock(AdPreviewCache.class));
+    }
+
+    @Benchmark
+    public Page<AdResponse> mapPage() {
+        return adService.listMyAds(USER_ID, null, pageable);
+    }
+
+    @Benchmark
+    public AdResponse mapSingle() {
+        return adService.getById(singleAdId, USER_ID);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.AdImage;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialização JSON de um Page&lt;AdResponse&gt; (corpo do feed) com um ObjectMapper configurado como o
+ * do Spring Boot (JavaTimeModule, datas ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<AdResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldSelection.SERIALIZE_ALL)
+                .build();
+        List<Ad> ads = AdFixtures.ads(pageSize);
+        Map<Long, List<String>> urls = AdFixtures.images(ads).stream()
+                .collect(Collectors.groupingBy(img -> img.getAd().getId(),
+                        Collectors.mapping(AdImage::getUrl, Collectors.toList())));
+        List<AdResponse> content = ads.stream()
+                .map(ad -> AdResponse.builder()
+                        .id(ad.getId())
+                        .title(ad.getTitle())
+                        .description(ad.getDescription())
+                        .type(ad.getType())
+                        .price(ad.getPrice())
+                        .status(ad.getStatus())
+                        .userId(ad.getUser().getId())
+                        .userName(ad.getUser().getName())
+                        .userWhatsapp(ad.getUser().getWhatsapp())
+                        .communityId(ad.getCommunity().getId())
+                        .createdAt(ad.getCreatedAt())
+                        .imageUrls(urls.getOrDefault(ad.getId(), List.of()))
+                        .recommendedContact(ad.getRecommendedContact())
+                        .serviceType(ad.getServiceType())
+                        .ratingCount(ad.getType() == AdType.RECOMMENDATION ? 12L : null)
+                        .averageRating(ad.getType() == AdType.RECOMMENDATION ? 4.25 : null)
+                        .build())
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.config.EmailTransportConfig;
+import br.com.aquidolado.service.BulkEmail;
+import br.com.aquidolado.service.SendGridEmailTransport;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Compara o envio antigo (RestClient novo por email) com o transporte compartilhado e com o envio em lote,
+ * contra um stub HTTP local que imita a API do SendGrid (202 após uma latência fixa).
+ *
+ * Uso: mvn -Pbench test-compile exec:java -Dbench.main=br.com.aquidolado.bench.EmailTransportBenchmark
+ * Parâmetros opcionais: -Dbench.emails=300 -Dbench.latencyMs=20 -Dbench.concurrency=3
+ */
+public class EmailTransportBenchmark {
+
+    private static final Pattern TO_PATTERN = Pattern.compile("\"to\"");
+
+    private final int emails = Integer.getInteger("bench.emails", 300);
+    private final int latencyMs = Integer.getInteger("bench.latencyMs", 20);
+    private final int concurrency = Integer.getInteger("bench.concurrency", 3);
+
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger recipients = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String url;
+
+    public static void main(String[] args) throws Exception {
+        new EmailTransportBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        startStub();
+        try {
+            System.out.printf("Stub SendGrid em %s | emails=%d latência=%dms concorrência=%d%n%n",
+                    url, emails, latencyMs, concurrency);
+            System.out.printf("%-28s %10s %10s %10s %12s%n", "cenário", "ms", "emails/s", "requests", "conexões");
+
+            scenario("legado (RestClient/email)", () -> parallel(i -> legacySend("user" + i + "@teste.local")));
+
+            SendGridEmailTransport pooled = transport(0);
+            scenario("transporte compartilhado", () -> parallel(i ->
+                    pooled.send("user" + i + "@teste.local", "Usuário " + i, "Assunto", "<p>Olá</p>")));
+
+            scenario("lote (personalizations)", () -> pooled.sendBulk(bulk()));
+
+            SendGridEmailTransport limited = transport(100);
+            scenario("lote com limite 100/s", () -> limited.sendBulk(bulk()));
+        } finally {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private void scenario(String name, Runnable body) {
+        connections.clear();
+        requests.set(0);
+        recipients.set(0);
+        long start = System.nanoTime();
+        body.run();
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        System.out.printf("%-28s %10d %10.0f %10d %12d%n",
+                name, elapsedMs, recipients.get() * 1000.0 / elapsedMs, requests.get(), connections.size());
+    }
+
+    private void parallel(IntConsumer send) {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            IntStream.range(0, emails).forEach(i -> pool.execute(() -> send.accept(i)));
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(10, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Reproduz o envio anterior: fábrica e RestClient novos a cada email. */
+    private void legacySend(String to) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(Duration.ofSeconds(25));
+        factory.setReadTimeout(Duration.ofSeconds(25));
+        RestClient.builder().requestFactory(factory).build()
+                .post()
+                .uri(url)
+                .header("Authorization", "Bearer bench")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "personalizations", List.of(Map.of("to", List.of(Map.of("email", to, "name", "")))),
+                        "from", Map.of("email", "bench@teste.local", "name", "Aqui"),
+                        "subject", "Assunto",
+                        "content", List.of(Map.of("type", "text/html", "value", "<p>Olá</p>"))))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private SendGridEmailTransport transport(double maxPerSecond) {
+        EmailTransportConfig config = new EmailTransportConfig();
+        RestClient restClient = config.sendGridRestClient(config.emailHttpClient(5000), 15000);
+        return new SendGridEmailTransport(restClient, url, "bench", "bench@teste.local", maxPerSecond);
+    }
+
+    private BulkEmail bulk() {
+        return BulkEmail.builder()
+                .subject("Assunto")
+                .htmlTemplate("<p>Olá, " + BulkEmail.placeholder("name") + "!</p>")
+                .recipients(IntStream.range(0, emails)
+                        .mapToObj(i -> new BulkEmail.Recipient("user" + i + "@teste.local", "Usuário " + i,
+                                Map.of("name", "Usuário " + i)))
+                        .toList())
+                .build();
+    }
+
+    private void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v3/mail/send", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            requests.incrementAndGet();
+            try (InputStream in = exchange.getRequestBody()) {
+                Matcher matcher = TO_PATTERN.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    recipients.incrementAndGet();
+                }
+            }
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/mail/send";
+    }
+}
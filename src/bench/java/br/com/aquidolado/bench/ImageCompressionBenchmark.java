@@ -0,0 +1,100 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.storage.ImageCompressionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload de foto: 1024px cai no caminho "dentro do limite" (só valida); 2048px passa dos 5MB e é
+ * redimensionado/recomprimido em JPEG. A imagem é ruído + gradiente (pior caso para o codec), gerada
+ * com semente fixa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ImageCompressionBenchmark {
+
+    @Param({"1024", "2048"})
+    private int side;
+
+    @Param({"jpeg", "png"})
+    private String format;
+
+    private ImageCompressionService service;
+    private MultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        service = new ImageCompressionService(new SimpleMeterRegistry());
+        byte[] bytes = encode(image(side), format);
+        file = new MockMultipartFile("images", "foto." + format, "image/" + format, bytes);
+    }
+
+    @Benchmark
+    public MultipartFile compressIfNeeded() throws IOException {
+        return service.compressIfNeeded(file);
+    }
+
+    private static BufferedImage image(int side) {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int base = (x + y) * 255 / (2 * side);
+                int noise = random.nextInt(64);
+                int r = Math.min(255, base + noise);
+                int g = Math.min(255, 255 - base + noise / 2);
+                int b = random.nextInt(256);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!"jpeg".equals(format)) {
+            ImageIO.write(image, format, out);
+            return out.toByteArray();
+        }
+        // Qualidade máxima, como sai de câmeras de celular
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(1.0f);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
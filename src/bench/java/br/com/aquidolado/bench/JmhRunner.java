@@ -0,0 +1,56 @@
+package br.com.aquidolado.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executa os microbenchmarks JMH com o GCProfiler (gc.alloc.rate.norm = bytes alocados por operação)
+ * e grava o resultado em JSON para comparar antes/depois de uma otimização.
+ *
+ * Uso: mvn -Pbench test-compile exec:java -Dbench.main=br.com.aquidolado.bench.JmhRunner
+ * Parâmetros opcionais: -Dbench.include=Jwt (regex) -Dbench.forks=1 -Dbench.warmup=3 -Dbench.iterations=5
+ * -Dbench.result=target/jmh-result.json
+ */
+public class JmhRunner {
+
+    public static void main(String[] args) throws Exception {
+        exposeClasspathToForks();
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("bench.include", "br\\.com\\.aquidolado\\..*"))
+                .forks(Integer.getInteger("bench.forks", 1))
+                .warmupIterations(Integer.getInteger("bench.warmup", 3))
+                .measurementIterations(Integer.getInteger("bench.iterations", 5))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/jmh-result.json"));
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * O exec:java roda dentro da JVM do Maven, cujo java.class.path não tem as classes do projeto;
+     * os forks do JMH herdam essa propriedade, então ela é trocada pelas URLs do classloader do plugin.
+     */
+    private static void exposeClasspathToForks() throws URISyntaxException {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader)) {
+            return;
+        }
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            entries.add(Path.of(url.toURI()).toString());
+        }
+        if (!entries.isEmpty()) {
+            System.setProperty("java.class.path", String.join(File.pathSeparator, entries));
+        }
+    }
+}
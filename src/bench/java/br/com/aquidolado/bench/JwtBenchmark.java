@@ -0,0 +1,119 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.repository.UserRepository;
+import br.com.aquidolado.security.JwtAuthenticationFilter;
+import br.com.aquidolado.security.JwtService;
+import br.com.aquidolado.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo por requisição autenticada: emissão/validação do JWT e o filtro inteiro (leitura do header Authorization,
+ * validação, carga do usuário e o SecurityContext), chamado pelo doFilter como o Tomcat chama.
+ * O usuário vem de um UserRepository do Mockito: a medida é de CPU, sem banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest rawTokenRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("aquidolado-secret-key-change-in-production-min-256-bits", 86_400_000L);
+        token = jwtService.generateToken("morador@teste.local", 42L);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("morador@teste.local")).thenReturn(Optional.of(User.builder()
+                .id(42L)
+                .email("morador@teste.local")
+                .passwordHash("hash")
+                .active(true)
+                .build()));
+        filter = new JwtAuthenticationFilter(jwtService, new UserDetailsServiceImpl(userRepository),
+                new MockEnvironment(), new SimpleMeterRegistry());
+
+        bearerRequest = request("  Bearer " + token + " ");
+        rawTokenRequest = request(token);
+        anonymousRequest = request(null);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("morador@teste.local", 42L);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Object filterBearer() throws ServletException, IOException {
+        return filter(bearerRequest);
+    }
+
+    @Benchmark
+    public Object filterRawToken() throws ServletException, IOException {
+        return filter(rawTokenRequest);
+    }
+
+    @Benchmark
+    public Object filterAnonymous() throws ServletException, IOException {
+        return filter(anonymousRequest);
+    }
+
+    private Object filter(MockHttpServletRequest request) throws ServletException, IOException {
+        // OncePerRequestFilter marca a requisição como filtrada; sem limpar, as próximas chamadas pulariam o filtro
+        request.clearAttributes();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ads");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.util.PhoneUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização do WhatsApp no cadastro e na edição de perfil: digitado com máscara, já só com
+ * dígitos e com +55.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhoneUtilBenchmark {
+
+    @Param({"(11) 98765-4321", "11987654321", "+55 11 98765-4321"})
+    private String raw;
+
+    @Benchmark
+    public String normalize() {
+        return PhoneUtil.normalize(raw);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.AdSummaryResponse;
+import br.com.aquidolado.dto.CommentResponse;
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON x CBOR (Accept: application/cbor) nas páginas de maior volume: feed completo, cards do feed
+ * (view=summary) e comentários de uma indicação. O tempo é o da codificação; o tamanho do corpo (cru e com gzip,
+ * para comparar com compressão no proxy) sai no log do setup, uma linha [payload] por combinação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"feed", "summary", "comments"})
+    private String page;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Object body;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Mesma configuração do ObjectMapper do Boot (datas ISO-8601, filtro de ?fields=) nos dois formatos
+        Jackson2ObjectMapperBuilder builder = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor()
+                : Jackson2ObjectMapperBuilder.json();
+        objectMapper = builder
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldSelection.SERIALIZE_ALL)
+                .build();
+        List<Ad> ads = AdFixtures.ads(pageSize);
+        List<?> content = switch (page) {
+            case "feed" -> feed(ads);
+            case "summary" -> summaries(ads);
+            default -> comments(ads.getFirst().getId(), pageSize);
+        };
+        body = new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L);
+
+        byte[] encoded = encode();
+        System.out.printf("[payload] format=%s page=%s pageSize=%d bytes=%d gzip=%d%n",
+                format, page, pageSize, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static List<AdResponse> feed(List<Ad> ads) {
+        Map<Long, List<String>> urls = AdFixtures.imageUrls(ads).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+        List<AdResponse> items = AdFixtures.items(ads);
+        items.forEach(item -> item.setImageUrls(urls.getOrDefault(item.getId(), List.of())));
+        return items;
+    }
+
+    private static List<AdSummaryResponse> summaries(List<Ad> ads) {
+        Map<Long, String> covers = AdFixtures.imageUrls(ads).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (String) row[1], (first, other) -> first));
+        return ads.stream()
+                .map(ad -> new AdSummaryResponse(ad.getId(), ad.getTitle(), ad.getDescription(), ad.getType(),
+                        ad.getPrice(), ad.getStatus(), ad.getUser().getId(), ad.getUser().getName(),
+                        ad.getCommunity().getId(), ad.getCreatedAt(), covers.get(ad.getId()), ad.getServiceType(),
+                        12L, 4.25, 5))
+                .toList();
+    }
+
+    private static List<CommentResponse> comments(Long adId, int count) {
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CommentResponse comment = new CommentResponse(10_000L + i, adId, 100L + i % 7, "Morador " + i % 7,
+                    "Chamei semana passada, chegou no horário e cobrou o combinado. Recomendo.",
+                    Instant.parse("2025-06-02T09:00:00Z").plusSeconds(i * 600L));
+            comment.setLikeCount(i % 4);
+            comment.setCurrentUserLiked(i % 3 == 0);
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.aquidolado.bench;
+
+import br.com.aquidolado.concurrency.ConnectionLimitingDataSource;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compara o tratamento de requisições com threads de plataforma (como o Tomcat: 200 workers e fila) e com
+ * virtual threads, sob o mesmo fluxo aberto de chegadas. Cada "requisição" segura uma conexão de um pool
+ * de 10 (como o Hikari) por alguns ms, chama um stub HTTP local que imita o storage/provedor de email e
+ * volta ao banco. Modos:
+ * - platform: pool fixo de threads;
+ * - virtual: uma virtual thread por requisição, disputando o pool direto;
+ * - virtual+limiter: idem, com o ConnectionLimitingDataSource (fila justa) na frente do pool;
+ * - virtual+pinned: o I/O externo dentro de synchronized (como o SMTP do Jakarta Mail), prendendo as carriers.
+ * Latência contada desde o instante agendado.
+ *
+ * Para a API real, suba com VIRTUAL_THREADS_ENABLED=true/false e compare dois relatórios do LoadTest
+ * (-Dload.baseline).
+ *
+ * Uso: mvn -Pbench test-compile exec:java -Dbench.main=br.com.aquidolado.bench.VirtualThreadsBenchmark
+ * Parâmetros opcionais: -Dbench.rate=1200 (req/s) -Dbench.seconds=10 -Dbench.ioMs=200 -Dbench.dbMs=5
+ * -Dbench.platformThreads=200 -Dbench.pool=10 -Dbench.poolTimeoutMs=30000
+ */
+public class VirtualThreadsBenchmark {
+
+    private final double rate = Double.parseDouble(System.getProperty("bench.rate", "1200"));
+    private final int seconds = Integer.getInteger("bench.seconds", 10);
+    private final int ioMs = Integer.getInteger("bench.ioMs", 200);
+    private final int dbMs = Integer.getInteger("bench.dbMs", 5);
+    private final int platformThreads = Integer.getInteger("bench.platformThreads", 200);
+    private final int poolSize = Integer.getInteger("bench.pool", 10);
+    private final long poolTimeoutMs = Long.getLong("bench.poolTimeoutMs", 30000L);
+
+    public static void main(String[] args) throws Exception {
+        new VirtualThreadsBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(ioMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.start();
+        URI target = URI.create("http://127.0.0.1:" + stub.getAddress().getPort() + "/upload");
+        System.out.printf("Chegadas %.0f/s por %ds | I/O externo %dms | banco %dms + %dms num pool de %d | %d threads de plataforma%n",
+                rate, seconds, ioMs, dbMs, Math.max(1, dbMs / 2), poolSize, platformThreads);
+        System.out.printf("%-16s %9s %9s %9s %9s %9s %9s%n", "modo", "ok", "timeouts", "p50 ms", "p99 ms", "max ms", "ok/s");
+        try {
+            measure("platform", new ThreadPoolExecutor(platformThreads, platformThreads, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>()), new FakePool(poolSize, poolTimeoutMs), target, false);
+            measure("virtual", Executors.newVirtualThreadPerTaskExecutor(), new FakePool(poolSize, poolTimeoutMs), target, false);
+            measure("virtual+limiter", Executors.newVirtualThreadPerTaskExecutor(),
+                    new ConnectionLimitingDataSource(new FakePool(poolSize, poolTimeoutMs), poolSize, poolTimeoutMs), target, false);
+            measure("virtual+pinned", Executors.newVirtualThreadPerTaskExecutor(), new FakePool(poolSize, poolTimeoutMs), target, true);
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private void measure(String mode, ExecutorService executor, DataSource dataSource, URI target, boolean pinned)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+        LongAdder timeouts = new LongAdder();
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double next = start;
+        while (true) {
+            next += -Math.log(1 - random.nextDouble()) * 1e9 / rate;
+            long scheduled = (long) next;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executor.execute(() -> {
+                try {
+                    handle(dataSource, http, target, pinned);
+                    latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                } catch (SQLException e) {
+                    timeouts.increment();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-16s %9d %9d %9.1f %9.1f %9.1f %9.1f%n", mode, latency.getTotalCount(), timeouts.sum(),
+                latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                latency.getMaxValue() / 1000.0, latency.getTotalCount() / elapsed);
+    }
+
+    /** Banco, chamada externa, banco de novo (a conexão não fica presa durante o I/O externo). */
+    private void handle(DataSource dataSource, HttpClient http, URI target, boolean pinned) throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(dbMs);
+        }
+        HttpRequest request = HttpRequest.newBuilder(target).GET().build();
+        if (pinned) {
+            Object monitor = new Object();
+            synchronized (monitor) {
+                http.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+        } else {
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(Math.max(1, dbMs / 2));
+        }
+    }
+
+    /** Pool de N conexões falsas: empresta com espera limitada, sem ordem garantida (como o Hikari). */
+    private static final class FakePool implements DataSource {
+
+        private final Semaphore connections;
+        private final long timeoutMs;
+
+        FakePool(int size, long timeoutMs) {
+            this.connections = new Semaphore(size);
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                if (!connections.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("pool esgotado");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("interrompido", e);
+            }
+            return (Connection) Proxy.newProxyInstance(FakePool.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            connections.release();
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() {
+            return java.util.logging.Logger.getGlobal();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("não suportado");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.aquidolado.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Cliente HTTP da API (java.net.http, keep-alive) que mede cada chamada no {@link LoadReport} sob um
+ * nome de endpoint estável ("GET /api/ads/{id}"). Status fora de 2xx conta como erro e interrompe o cenário.
+ */
+final class ApiClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final LoadReport report;
+    private final Duration timeout;
+
+    ApiClient(String baseUrl, ObjectMapper mapper, LoadReport report, Duration timeout, Executor executor) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mapper = mapper;
+        this.report = report;
+        this.timeout = timeout;
+    }
+
+    JsonNode get(String endpoint, String path, Session session) {
+        return send(endpoint, request(path, session).GET());
+    }
+
+    JsonNode post(String endpoint, String path, Object body, Session session) {
+        return send(endpoint, request(path, session)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body))));
+    }
+
+    JsonNode put(String endpoint, String path, Object body, Session session) {
+        return send(endpoint, request(path, session)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(json(body))));
+    }
+
+    /** multipart/form-data com a parte "ad" em JSON e as imagens em "images", como o frontend envia. */
+    JsonNode postMultipart(String endpoint, String path, Object ad, List<byte[]> images, Session session) {
+        String boundary = "load-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writePart(body, boundary, "ad", null, "application/json", json(ad));
+        for (int i = 0; i < images.size(); i++) {
+            writePart(body, boundary, "images", "foto-" + i + ".jpg", "image/jpeg", images.get(i));
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return send(endpoint, request(path, session)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String name, String filename,
+                                  String contentType, byte[] content) {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            header.append("; filename=\"").append(filename).append('"');
+        }
+        header.append("\r\nContent-Type: ").append(contentType).append("\r\n\r\n");
+        body.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (session != null && session.token() != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.error(endpoint, -1);
+            throw new ScenarioFailure(endpoint + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScenarioFailure(endpoint + ": interrompido");
+        }
+        long elapsed = System.nanoTime() - start;
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            report.error(endpoint, status);
+            throw new ScenarioFailure(endpoint + ": HTTP " + status);
+        }
+        report.record(endpoint, elapsed);
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new ScenarioFailure(endpoint + ": resposta inválida");
+        }
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /** Falha de uma chamada; já contabilizada no relatório, só encerra o cenário. */
+    static final class ScenarioFailure extends RuntimeException {
+
+        ScenarioFailure(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
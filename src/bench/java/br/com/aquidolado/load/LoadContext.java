@@ -0,0 +1,76 @@
+package br.com.aquidolado.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Estado compartilhado entre cenários: o cliente, a senha dos usuários sintéticos, as imagens de upload
+ * e os anúncios já vistos no feed de cada comunidade (alvos do detalhe, da avaliação e dos comentários).
+ */
+final class LoadContext {
+
+    private final ApiClient api;
+    private final String password;
+    private final List<byte[]> images;
+    private final ConcurrentMap<Long, long[]> adsByCommunity = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, long[]> recommendationsByCommunity = new ConcurrentHashMap<>();
+
+    LoadContext(ApiClient api, String password, List<byte[]> images) {
+        this.api = api;
+        this.password = password;
+        this.images = images;
+    }
+
+    ApiClient api() {
+        return api;
+    }
+
+    String password() {
+        return password;
+    }
+
+    List<byte[]> images(int count) {
+        return images.subList(0, Math.min(count, images.size()));
+    }
+
+    int maxImages() {
+        return images.size();
+    }
+
+    /** Guarda os ids da página do feed (a última página vista de cada comunidade). */
+    void remember(long communityId, JsonNode page) {
+        List<Long> ads = new ArrayList<>();
+        List<Long> recommendations = new ArrayList<>();
+        for (JsonNode ad : page.path("content")) {
+            long id = ad.path("id").asLong();
+            ads.add(id);
+            if ("RECOMMENDATION".equals(ad.path("type").asText())) {
+                recommendations.add(id);
+            }
+        }
+        if (!ads.isEmpty()) {
+            adsByCommunity.put(communityId, ads.stream().mapToLong(Long::longValue).toArray());
+        }
+        if (!recommendations.isEmpty()) {
+            recommendationsByCommunity.put(communityId, recommendations.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    /** Um anúncio conhecido da comunidade, ou -1 se o feed dela ainda não foi visto. */
+    long knownAd(long communityId, SplittableRandom random) {
+        return pick(adsByCommunity.get(communityId), random);
+    }
+
+    long knownRecommendation(long communityId, SplittableRandom random) {
+        return pick(recommendationsByCommunity.get(communityId), random);
+    }
+
+    private static long pick(long[] ids, SplittableRandom random) {
+        return ids == null ? -1 : ids[random.nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.aquidolado.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram, em microssegundos) e erros por endpoint e por cenário. O relatório JSON
+ * guarda a configuração da execução, os percentis e o histograma codificado, para comparar execuções
+ * (antes/depois de uma otimização) com {@code -Dload.baseline}.
+ */
+final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentMap<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long startedAt = System.nanoTime();
+    private volatile long finishedAt;
+
+    void record(String endpoint, long nanos) {
+        endpoints.computeIfAbsent(endpoint, k -> new Stats()).record(nanos);
+    }
+
+    void error(String endpoint, int status) {
+        endpoints.computeIfAbsent(endpoint, k -> new Stats()).error(status);
+    }
+
+    /** Latência do cenário desde o instante agendado (inclui espera no cliente). */
+    void scenario(String name, long nanosSinceScheduled, boolean ok) {
+        Stats stats = scenarios.computeIfAbsent(name, k -> new Stats());
+        if (ok) {
+            stats.record(nanosSinceScheduled);
+        } else {
+            stats.error(0);
+        }
+    }
+
+    /** Chegada descartada porque o limite de cenários em andamento foi atingido. */
+    void dropped() {
+        dropped.increment();
+    }
+
+    /** Zera tudo (fim do aquecimento). */
+    void reset() {
+        endpoints.clear();
+        scenarios.clear();
+        dropped.reset();
+        startedAt = System.nanoTime();
+        finishedAt = 0;
+    }
+
+    /** Fim da janela medida (as chegadas param; o que ainda estiver em andamento continua sendo registrado). */
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    private double elapsedSeconds() {
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        return (end - startedAt) / 1e9;
+    }
+
+    void print() {
+        double elapsedSeconds = elapsedSeconds();
+        System.out.printf("%n%-34s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        printSection(endpoints, elapsedSeconds);
+        System.out.println();
+        printSection(scenarios, elapsedSeconds);
+        if (dropped.sum() > 0) {
+            System.out.printf("%nChegadas descartadas (limite de cenários em andamento): %d%n", dropped.sum());
+        }
+    }
+
+    private static void printSection(Map<String, Stats> section, double elapsedSeconds) {
+        new TreeMap<>(section).forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            System.out.printf("%-34s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, h.getTotalCount(), stats.errors.sum(), h.getTotalCount() / elapsedSeconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+            if (!stats.errorsByStatus.isEmpty()) {
+                System.out.printf("%-34s %s%n", "", "status: " + new TreeMap<>(stats.errorsByStatus));
+            }
+        });
+    }
+
+    void write(Path path, ObjectNode config, ObjectMapper mapper) throws IOException {
+        double elapsedSeconds = elapsedSeconds();
+        ObjectNode root = mapper.createObjectNode();
+        root.put("generatedAt", Instant.now().toString());
+        root.set("config", config);
+        root.put("elapsedSeconds", elapsedSeconds);
+        root.put("dropped", dropped.sum());
+        root.set("endpoints", sectionJson(endpoints, elapsedSeconds, mapper));
+        root.set("scenarios", sectionJson(scenarios, elapsedSeconds, mapper));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), root);
+        System.out.println("\nRelatório: " + path.toAbsolutePath());
+    }
+
+    private static ObjectNode sectionJson(Map<String, Stats> section, double elapsedSeconds, ObjectMapper mapper) {
+        ObjectNode json = mapper.createObjectNode();
+        new TreeMap<>(section).forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            ObjectNode node = json.putObject(name);
+            node.put("count", h.getTotalCount());
+            node.put("errors", stats.errors.sum());
+            node.put("throughput", h.getTotalCount() / elapsedSeconds);
+            node.put("meanMs", h.getMean() / 1000.0);
+            for (double p : PERCENTILES) {
+                node.put("p" + label(p) + "Ms", millis(h.getValueAtPercentile(p)));
+            }
+            node.put("maxMs", millis(h.getMaxValue()));
+            ObjectNode statuses = node.putObject("errorsByStatus");
+            new TreeMap<>(stats.errorsByStatus).forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+            int length = h.encodeIntoCompressedByteBuffer(buffer);
+            node.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        });
+        return json;
+    }
+
+    /** Diferença de vazão, p50 e p99 em relação a um relatório anterior. */
+    static void compare(Path current, Path baseline, ObjectMapper mapper) throws IOException {
+        JsonNode now = mapper.readTree(current.toFile());
+        JsonNode before = mapper.readTree(baseline.toFile());
+        System.out.printf("%nComparação com %s%n", baseline);
+        System.out.printf("%-34s %18s %20s %20s%n", "endpoint", "req/s", "p50 ms", "p99 ms");
+        for (String section : new String[]{"endpoints", "scenarios"}) {
+            JsonNode currentSection = now.path(section);
+            currentSection.fieldNames().forEachRemaining(name -> {
+                JsonNode a = before.path(section).path(name);
+                JsonNode b = currentSection.path(name);
+                if (a.isMissingNode()) {
+                    return;
+                }
+                System.out.printf("%-34s %18s %20s %20s%n", name,
+                        delta(a.path("throughput").asDouble(), b.path("throughput").asDouble()),
+                        delta(a.path("p50Ms").asDouble(), b.path("p50Ms").asDouble()),
+                        delta(a.path("p99Ms").asDouble(), b.path("p99Ms").asDouble()));
+            });
+        }
+    }
+
+    private static String delta(double before, double after) {
+        if (before == 0) {
+            return String.format("%.2f", after);
+        }
+        return String.format("%.2f→%.2f (%+.0f%%)", before, after, (after - before) * 100 / before);
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", "");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Stats {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+        void record(long nanos) {
+            histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+
+        void error(int status) {
+            errors.increment();
+            if (status != 0) {
+                errorsByStatus.computeIfAbsent(status, k -> new LongAdder()).increment();
+            }
+        }
+    }
+}
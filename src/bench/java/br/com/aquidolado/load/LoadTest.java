@@ -0,0 +1,230 @@
+package br.com.aquidolado.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga HTTP de ponta a ponta contra uma instância local, com o mix de tráfego do app: login,
+ * rolagem do feed com busca, detalhe do anúncio, avaliação, comentário, criação de anúncio com imagens e
+ * registro de eventos. Os usuários são os do PerfDataSeeder (perf-N@perf.aqui.local).
+ *
+ * Modelo aberto: as chegadas seguem um processo de Poisson na taxa pedida, sem esperar as respostas
+ * anteriores (servidor lento não diminui a carga, como em produção). Cada cenário roda numa virtual
+ * thread e sua latência conta desde o instante agendado, para não esconder fila (coordinated omission).
+ * Mesma semente = mesma sequência de cenários e escolhas.
+ *
+ * Uso, com a API no ar (mvn spring-boot:run -Dspring-boot.run.profiles=perf, storage local, sem email):
+ *   mvn -Pbench test-compile exec:java -Dbench.main=br.com.aquidolado.load.LoadTest
+ * Parâmetros opcionais: -Dload.baseUrl=http://localhost:8080 -Dload.rate=50 (cenários/s) -Dload.duration=60
+ * -Dload.warmup=15 (s) -Dload.users=200 -Dload.userOffset=0 -Dload.seed=42 -Dload.images=2
+ * -Dload.maxInFlight=2000 -Dload.mix=feed=40,detail=25,event=12,rating=7,comment=6,login=5,create-ad=5
+ * -Dload.report=target/load-report.json -Dload.baseline=target/load-report-antes.json
+ */
+public class LoadTest {
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+    private final int durationSeconds = Integer.getInteger("load.duration", 60);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 15);
+    private final int users = Integer.getInteger("load.users", 200);
+    private final int userOffset = Integer.getInteger("load.userOffset", 0);
+    private final String emailPattern = System.getProperty("load.emailPattern", "perf-%d@perf.aqui.local");
+    private final String password = System.getProperty("load.password", "123456");
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final int images = Integer.getInteger("load.images", 2);
+    private final int maxInFlight = Integer.getInteger("load.maxInFlight", 2000);
+    private final String mixSpec = System.getProperty("load.mix", "");
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/load-report.json"));
+    private final String baseline = System.getProperty("load.baseline", "");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LoadReport report = new LoadReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().execute();
+    }
+
+    private void execute() throws Exception {
+        Map<Scenario, Integer> mix = Scenario.mix(mixSpec);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ApiClient api = new ApiClient(baseUrl, mapper, report, Duration.ofSeconds(30), executor);
+            LoadContext ctx = new LoadContext(api, password, uploadImages());
+            List<Session> sessions = login(ctx, executor);
+            System.out.printf("%d sessões prontas; mix %s; %.1f cenários/s por %ds (+%ds de aquecimento)%n",
+                    sessions.size(), mix, rate, durationSeconds, warmupSeconds);
+
+            SplittableRandom random = new SplittableRandom(seed);
+            Scenario[] wheel = wheel(mix);
+            if (warmupSeconds > 0) {
+                arrivals(ctx, sessions, wheel, random, executor, Duration.ofSeconds(warmupSeconds));
+                awaitIdle(Duration.ofSeconds(30));
+            }
+            report.reset();
+            arrivals(ctx, sessions, wheel, random, executor, Duration.ofSeconds(durationSeconds));
+            report.finish();
+            awaitIdle(Duration.ofSeconds(30));
+        }
+        report.print();
+        report.write(reportPath, config(mix), mapper);
+        if (!baseline.isBlank()) {
+            LoadReport.compare(reportPath, Path.of(baseline), mapper);
+        }
+    }
+
+    /** Login de load.users usuários em paralelo e carga das comunidades de cada um. */
+    private List<Session> login(LoadContext ctx, ExecutorService executor) throws InterruptedException {
+        List<Session> sessions = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Session session = new Session(String.format(emailPattern, userOffset + i));
+            tasks.add(executor.submit(() -> {
+                try {
+                    Scenario.LOGIN.run(ctx, session, new SplittableRandom(seed));
+                    List<Long> communityIds = new ArrayList<>();
+                    for (JsonNode community : ctx.api().get("GET /api/communities", "/api/communities", session)) {
+                        communityIds.add(community.path("id").asLong());
+                    }
+                    session.communityIds(communityIds);
+                    if (session.hasCommunity()) {
+                        sessions.add(session);
+                    }
+                } catch (ApiClient.ScenarioFailure e) {
+                    System.err.println("Login falhou para " + session.email() + ": " + e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        if (sessions.isEmpty()) {
+            throw new IllegalStateException("Nenhum usuário conseguiu logar em " + baseUrl
+                    + " (a API está no ar com os dados do profile perf?)");
+        }
+        // Ordem estável entre execuções, independente de qual login terminou primeiro
+        sessions.sort((a, b) -> a.email().compareTo(b.email()));
+        return sessions;
+    }
+
+    /**
+     * Dispara cenários em intervalos exponenciais (Poisson) durante {@code duration}. Se o número de cenários
+     * em andamento passar de load.maxInFlight, a chegada é descartada e contada, em vez de atrasar as seguintes.
+     */
+    private void arrivals(LoadContext ctx, List<Session> sessions, Scenario[] wheel, SplittableRandom random,
+                          ExecutorService executor, Duration duration) {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double next = start;
+        while (true) {
+            next += -Math.log(1 - random.nextDouble()) * 1e9 / rate;
+            long scheduled = (long) next;
+            if (scheduled >= end) {
+                return;
+            }
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            Session session = sessions.get(random.nextInt(sessions.size()));
+            SplittableRandom scenarioRandom = random.split();
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                report.dropped();
+                continue;
+            }
+            executor.execute(() -> {
+                boolean ok = false;
+                try {
+                    scenario.run(ctx, session, scenarioRandom);
+                    ok = true;
+                } catch (ApiClient.ScenarioFailure e) {
+                    // já contabilizado por endpoint
+                } finally {
+                    report.scenario("cenário " + scenario.label(), System.nanoTime() - scheduled, ok);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    /** Sorteio ponderado em O(1): cada cenário ocupa tantas posições quanto o seu peso. */
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Mix sem nenhum cenário com peso > 0");
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    /** Fotos de celular típicas (1600x1200 JPEG), geradas uma vez. */
+    private List<byte[]> uploadImages() throws IOException {
+        List<byte[]> result = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < images; i++) {
+            BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    int base = (x + y + i * 97) % 256;
+                    image.setRGB(x, y, (base << 16) | ((255 - base) << 8) | random.nextInt(256));
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpeg", out);
+            result.add(out.toByteArray());
+        }
+        return result;
+    }
+
+    private ObjectNode config(Map<Scenario, Integer> mix) {
+        ObjectNode config = mapper.createObjectNode();
+        config.put("baseUrl", baseUrl);
+        config.put("rate", rate);
+        config.put("durationSeconds", durationSeconds);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("users", users);
+        config.put("userOffset", userOffset);
+        config.put("seed", seed);
+        config.put("images", images);
+        config.put("maxInFlight", maxInFlight);
+        ObjectNode weights = config.putObject("mix");
+        mix.forEach((scenario, weight) -> weights.put(scenario.label(), weight));
+        return config;
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.aquidolado.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Cenários do mix de tráfego. O peso padrão reflete o uso do app (a maior parte é leitura do feed e
+ * do detalhe); {@code -Dload.mix=feed=50,detail=30,...} troca os pesos.
+ */
+enum Scenario {
+
+    LOGIN("login", 5) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            JsonNode auth = ctx.api().post("POST /api/auth/login", "/api/auth/login",
+                    Map.of("email", session.email(), "password", ctx.password()), null);
+            session.token(auth.path("token").asText());
+        }
+    },
+
+    /** Rolagem do feed: 1 a 4 páginas, às vezes com busca ou filtro de tipo. */
+    FEED("feed", 40) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            long communityId = session.community(random);
+            StringBuilder filters = new StringBuilder();
+            if (random.nextDouble() < 0.25) {
+                filters.append("&search=").append(URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8));
+            }
+            if (random.nextDouble() < 0.2) {
+                filters.append("&types=").append(TYPES[random.nextInt(TYPES.length)]);
+            }
+            int pages = 1;
+            while (pages < 4 && random.nextDouble() < 0.4) {
+                pages++;
+            }
+            for (int page = 0; page < pages; page++) {
+                JsonNode result = feedPage(ctx, session, communityId, page, filters.toString());
+                if (result.path("last").asBoolean(true)) {
+                    break;
+                }
+            }
+        }
+    },
+
+    /** Detalhe de um anúncio visto no feed; em indicações, metade abre os comentários. */
+    DETAIL("detail", 25) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            long communityId = session.community(random);
+            long adId = ctx.knownAd(communityId, random);
+            if (adId < 0) {
+                feedPage(ctx, session, communityId, 0, "");
+                adId = ctx.knownAd(communityId, random);
+                if (adId < 0) {
+                    return;
+                }
+            }
+            JsonNode ad = ctx.api().get("GET /api/ads/{id}", "/api/ads/" + adId, session);
+            if ("RECOMMENDATION".equals(ad.path("type").asText()) && random.nextBoolean()) {
+                ctx.api().get("GET /api/ads/{id}/comments", "/api/ads/" + adId + "/comments?page=0&size=50", session);
+            }
+        }
+    },
+
+    RATING("rating", 7) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            long communityId = session.community(random);
+            long adId = recommendation(ctx, session, communityId, random);
+            if (adId < 0) {
+                return;
+            }
+            ctx.api().put("PUT /api/ads/{id}/rating", "/api/ads/" + adId + "/rating",
+                    Map.of("rating", 1 + random.nextInt(5)), session);
+        }
+    },
+
+    COMMENT("comment", 6) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            long communityId = session.community(random);
+            long adId = recommendation(ctx, session, communityId, random);
+            if (adId < 0) {
+                return;
+            }
+            ctx.api().post("POST /api/ads/{id}/comments", "/api/ads/" + adId + "/comments",
+                    Map.of("text", COMMENTS[random.nextInt(COMMENTS.length)]), session);
+            ctx.api().get("GET /api/ads/{id}/comments", "/api/ads/" + adId + "/comments?page=0&size=50", session);
+        }
+    },
+
+    /** Criação de anúncio (multipart) com 0 até load.images fotos. */
+    CREATE_AD("create-ad", 5) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            Map<String, Object> ad = new LinkedHashMap<>();
+            ad.put("title", "Carga " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+            ad.put("description", "Anúncio gerado pelo teste de carga.");
+            ad.put("type", "SALE_TRADE");
+            ad.put("price", BigDecimal.valueOf(10 + random.nextInt(990)));
+            ad.put("communityId", session.community(random));
+            ctx.api().postMultipart("POST /api/ads", "/api/ads", ad, ctx.images(random.nextInt(ctx.maxImages() + 1)), session);
+        }
+    },
+
+    EVENT("event", 12) {
+        @Override
+        void run(LoadContext ctx, Session session, SplittableRandom random) {
+            ctx.api().post("POST /api/events", "/api/events",
+                    Map.of("eventType", "CONTACT_CLICK", "communityId", session.community(random)), session);
+        }
+    };
+
+    private static final String[] SEARCH_TERMS = {"bicicleta", "sofá", "aulas", "eletricista", "geladeira",
+            "doação", "furadeira", "bolo", "notebook", "diarista"};
+    private static final String[] TYPES = {"SALE_TRADE", "SERVICE", "RENT", "DONATION", "RECOMMENDATION"};
+    private static final String[] COMMENTS = {"Recomendo!", "Atendeu super bem.", "Preço justo.",
+            "Muito pontual.", "Voltaria a contratar."};
+
+    private final String label;
+    private final int defaultWeight;
+
+    Scenario(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract void run(LoadContext ctx, Session session, SplittableRandom random);
+
+    private static JsonNode feedPage(LoadContext ctx, Session session, long communityId, int page, String filters) {
+        JsonNode result = ctx.api().get("GET /api/ads", "/api/ads?communityId=" + communityId
+                + "&page=" + page + "&size=20" + filters, session);
+        ctx.remember(communityId, result);
+        return result;
+    }
+
+    /** Uma indicação conhecida da comunidade; se não houver, busca o feed filtrado por indicações. */
+    private static long recommendation(LoadContext ctx, Session session, long communityId, SplittableRandom random) {
+        long adId = ctx.knownRecommendation(communityId, random);
+        if (adId < 0) {
+            feedPage(ctx, session, communityId, 0, "&types=RECOMMENDATION");
+            adId = ctx.knownRecommendation(communityId, random);
+        }
+        return adId;
+    }
+
+    /** Pesos do mix: os padrões, sobrescritos por "nome=peso,..." (peso 0 desliga o cenário). */
+    static Map<Scenario, Integer> mix(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : values()) {
+            weights.put(scenario, scenario.defaultWeight);
+        }
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix inválido: " + entry);
+            }
+            weights.put(byLabel(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Scenario byLabel(String label) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(label)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Cenário desconhecido: " + label);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.aquidolado.load;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Usuário logado do teste: token JWT e comunidades. A primeira comunidade da lista é tratada como a
+ * "de casa" e recebe a maior parte das visitas.
+ */
+final class Session {
+
+    private final String email;
+    private volatile String token;
+    private volatile List<Long> communityIds = List.of();
+
+    Session(String email) {
+        this.email = email;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+
+    void communityIds(List<Long> communityIds) {
+        this.communityIds = List.copyOf(communityIds);
+    }
+
+    boolean hasCommunity() {
+        return !communityIds.isEmpty();
+    }
+
+    long community(SplittableRandom random) {
+        List<Long> ids = communityIds;
+        if (ids.size() == 1 || random.nextDouble() < 0.7) {
+            return ids.getFirst();
+        }
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.aquidolado.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Uma invalidação entre nós: tipo do dado em cache e id. Viaja em lote no payload do NOTIFY, no formato
+ * {@code nó;U:12,C:3,...} (o nó de origem ignora as próprias mensagens).
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public final class CacheInvalidation {
+
+    /** O payload do NOTIFY aceita até 8000 bytes (aqui só há ASCII); fica uma folga. */
+    static final int MAX_PAYLOAD_BYTES = 7500;
+
+    public enum Type {
+        /** Entidade User no cache L2. */
+        USER("U"),
+        /** Entidade Community no cache L2. */
+        COMMUNITY("C"),
+        /** Entidade AdImage e consultas de imagens por anúncio no cache L2. */
+        AD_IMAGE("I"),
+        /** Todas as imagens de um anúncio (id = anúncio), apagadas em lote sem passar pelos eventos do Hibernate. */
+        AD_IMAGES_OF_AD("J"),
+        /** Snapshot da comunidade no índice do feed. */
+        FEED_COMMUNITY("F"),
+        /** Anúncios de um autor no índice do feed (nome mudou, conta excluída). */
+        FEED_AUTHOR("A"),
+        /** Preview público (Open Graph) de um anúncio. */
+        AD_PREVIEW("P");
+
+        private final String code;
+
+        Type(String code) {
+            this.code = code;
+        }
+
+        static Type ofCode(String code) {
+            for (Type type : values()) {
+                if (type.code.equals(code)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Type type;
+    private final long id;
+
+    /** Divide as invalidações em payloads que cabem num NOTIFY. */
+    static List<String> encode(String nodeId, Collection<CacheInvalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append(';');
+        int headerLength = payload.length();
+        for (CacheInvalidation invalidation : invalidations) {
+            String item = invalidation.type.code + ':' + invalidation.id;
+            if (payload.length() > headerLength
+                    && payload.length() + 1 + item.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(headerLength);
+            }
+            if (payload.length() > headerLength) {
+                payload.append(',');
+            }
+            payload.append(item);
+        }
+        if (payload.length() > headerLength) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    static String nodeOf(String payload) {
+        int separator = payload.indexOf(';');
+        return separator < 0 ? "" : payload.substring(0, separator);
+    }
+
+    /** Lê um payload; itens desconhecidos (versão mais nova em outro nó) são ignorados. */
+    static Set<CacheInvalidation> decode(String payload, Set<CacheInvalidation> into) {
+        int separator = payload.indexOf(';');
+        if (separator < 0 || separator == payload.length() - 1) {
+            return into;
+        }
+        for (String item : payload.substring(separator + 1).split(",")) {
+            int colon = item.indexOf(':');
+            Type type = colon > 0 ? Type.ofCode(item.substring(0, colon)) : null;
+            if (type == null) {
+                continue;
+            }
+            try {
+                into.add(new CacheInvalidation(type, Long.parseLong(item.substring(colon + 1))));
+            } catch (NumberFormatException ignored) {
+                // Item malformado: segue com os demais
+            }
+        }
+        return into;
+    }
+
+    static Set<CacheInvalidation> decode(String payload) {
+        return decode(payload, new LinkedHashSet<>());
+    }
+
+    @Override
+    public String toString() {
+        return type.code + ':' + id;
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.aquidolado.cache;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Invalidação de caches locais entre instâncias pelo LISTEN/NOTIFY do PostgreSQL (sem infraestrutura extra).
+ * Quem escreve publica {@link CacheInvalidation} (tipo + id); depois do commit elas se juntam por
+ * app.invalidation.flush-ms e saem num único NOTIFY (rajadas viram uma mensagem, repetidas somem). Cada nó
+ * escuta numa conexão dedicada, fora dos pools, e repassa aos assinantes do tipo.
+ * Se a conexão de escuta cair, mensagens podem se perder: até reconectar os caches valem só pelo TTL
+ * ({@link #isDegraded()}) e, ao reconectar, os assinantes de {@link #onResync} esvaziam tudo.
+ * Métricas: aqui.invalidation.published/received (mensagens) e aqui.invalidation.listening (1/0).
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "aqui_invalidation";
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final long flushMs;
+    private final int pollMs;
+    private final long reconnectMs;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<CacheInvalidation.Type, List<LongConsumer>> subscribers = new EnumMap<>(CacheInvalidation.Type.class);
+    private final List<Runnable> resyncSubscribers = new CopyOnWriteArrayList<>();
+    private final Set<CacheInvalidation> pending = new LinkedHashSet<>();
+    private final Counter published;
+    private final Counter received;
+    private ScheduledExecutorService flusher;
+    private Thread listener;
+    private volatile boolean running;
+    private volatile boolean listening;
+
+    public CacheInvalidationBus(DataSource dataSource, DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry,
+                                @Value("${app.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.invalidation.flush-ms:50}") long flushMs,
+                                @Value("${app.invalidation.poll-ms:5000}") int pollMs,
+                                @Value("${app.invalidation.reconnect-ms:5000}") long reconnectMs) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.flushMs = flushMs;
+        this.pollMs = pollMs;
+        this.reconnectMs = reconnectMs;
+        for (CacheInvalidation.Type type : CacheInvalidation.Type.values()) {
+            subscribers.put(type, new CopyOnWriteArrayList<>());
+        }
+        this.published = Counter.builder("aqui.invalidation.published")
+                .description("Invalidações de cache enviadas a outros nós")
+                .register(meterRegistry);
+        this.received = Counter.builder("aqui.invalidation.received")
+                .description("Invalidações de cache recebidas de outros nós")
+                .register(meterRegistry);
+        Gauge.builder("aqui.invalidation.listening", this, bus -> bus.listening ? 1 : 0)
+                .description("1 se a conexão de escuta do NOTIFY está ativa")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("invalidation-flush").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        listener = Thread.ofPlatform().name("invalidation-listen").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /** Chamado para cada id invalidado por outro nó (na thread de escuta; deve ser rápido). */
+    public void subscribe(CacheInvalidation.Type type, LongConsumer handler) {
+        subscribers.get(type).add(handler);
+    }
+
+    /** Chamado ao reconectar depois de uma queda: o que chegou nesse meio tempo se perdeu. */
+    public void onResync(Runnable handler) {
+        resyncSubscribers.add(handler);
+    }
+
+    /** true quando o barramento está ligado mas sem escutar: caches locais devem confiar só no TTL. */
+    public boolean isDegraded() {
+        return enabled && !listening;
+    }
+
+    /** Publica depois do commit da transação atual (na hora, fora de transação); rollback não publica. */
+    public void publish(CacheInvalidation.Type type, long id) {
+        if (!enabled) {
+            return;
+        }
+        CacheInvalidation invalidation = new CacheInvalidation(type, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    /** Publica algo que já foi commitado (ex.: listeners pós-commit do Hibernate). */
+    public void publishCommitted(CacheInvalidation.Type type, long id) {
+        if (enabled) {
+            enqueue(new CacheInvalidation(type, id));
+        }
+    }
+
+    private void enqueue(CacheInvalidation invalidation) {
+        synchronized (pending) {
+            pending.add(invalidation);
+        }
+    }
+
+    /** Envia o acumulado em um NOTIFY por payload; numa falha as mensagens se perdem e os outros nós ficam no TTL. */
+    void flush() {
+        List<CacheInvalidation> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        BackgroundWork.run(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement ps = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                for (String payload : CacheInvalidation.encode(nodeId, batch)) {
+                    ps.setString(1, CHANNEL);
+                    ps.setString(2, payload);
+                    ps.execute();
+                }
+                published.increment(batch.size());
+            } catch (SQLException e) {
+                log.warn("📣 [INVALIDATION] Falha ao publicar {} invalidações: {}", batch.size(), e.getMessage());
+            }
+        });
+    }
+
+    private void listen() {
+        boolean lostConnection = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                listening = true;
+                if (lostConnection) {
+                    log.info("📣 [INVALIDATION] Escuta restabelecida; esvaziando caches locais");
+                    resyncSubscribers.forEach(Runnable::run);
+                }
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollMs);
+                    if (notifications == null || notifications.length == 0) {
+                        // Sem mensagens: confirma que a conexão não morreu em silêncio
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("conexão de escuta inválida");
+                        }
+                        continue;
+                    }
+                    dispatch(notifications);
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("📣 [INVALIDATION] Sem escuta do NOTIFY (caches locais só no TTL): {}", e.getMessage());
+                }
+            } finally {
+                listening = false;
+                lostConnection = true;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    /** Junta as mensagens recebidas de uma vez (repetidas contam uma) e ignora as do próprio nó. */
+    private void dispatch(PGNotification[] notifications) {
+        Set<CacheInvalidation> invalidations = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            if (payload != null && !nodeId.equals(CacheInvalidation.nodeOf(payload))) {
+                CacheInvalidation.decode(payload, invalidations);
+            }
+        }
+        for (CacheInvalidation invalidation : invalidations) {
+            for (LongConsumer handler : subscribers.get(invalidation.getType())) {
+                try {
+                    handler.accept(invalidation.getId());
+                } catch (RuntimeException e) {
+                    log.warn("📣 [INVALIDATION] Falha ao aplicar {}: {}", invalidation, e.getMessage());
+                }
+            }
+        }
+        received.increment(invalidations.size());
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
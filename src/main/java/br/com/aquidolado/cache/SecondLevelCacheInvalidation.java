@@ -0,0 +1,135 @@
+package br.com.aquidolado.cache;
+
+import br.com.aquidolado.domain.entity.AdImage;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Mantém o cache L2 (só na memória de cada nó) coerente entre instâncias: toda escrita commitada em
+ * User, Community ou AdImage vira uma {@link CacheInvalidation}, e os outros nós tiram a entrada do cache.
+ * Imagem nova ou apagada também descarta a região ad-images-by-ad, já que as consultas em cache listam
+ * ids de imagens e o controle de escrita por tabela do Hibernate é local.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidation implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    static final String AD_IMAGES_BY_AD_REGION = "ad-images-by-ad";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus bus;
+
+    @PostConstruct
+    void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        bus.subscribe(CacheInvalidation.Type.USER, id -> cache.evictEntityData(User.class, id));
+        bus.subscribe(CacheInvalidation.Type.COMMUNITY, id -> cache.evictEntityData(Community.class, id));
+        bus.subscribe(CacheInvalidation.Type.AD_IMAGE, id -> {
+            cache.evictEntityData(AdImage.class, id);
+            cache.evictQueryRegion(AD_IMAGES_BY_AD_REGION);
+        });
+        bus.subscribe(CacheInvalidation.Type.AD_IMAGES_OF_AD, adId -> evictAdImages());
+        bus.onResync(cache::evictAllRegions);
+    }
+
+    /**
+     * DELETE em lote do JPQL (AdImageRepository.deleteByAdIdIn) não dispara os eventos pós-commit: depois do
+     * commit descarta aqui as imagens e as consultas por anúncio e avisa os outros nós, um item por anúncio.
+     */
+    public void adImagesDeleted(Collection<Long> adIds) {
+        if (adIds.isEmpty()) {
+            return;
+        }
+        adIds.forEach(adId -> bus.publish(CacheInvalidation.Type.AD_IMAGES_OF_AD, adId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAdImages();
+                }
+            });
+        } else {
+            evictAdImages();
+        }
+    }
+
+    /** Os ids das imagens apagadas não são conhecidos: sai a região inteira (ad-image e ad-images-by-ad). */
+    private void evictAdImages() {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        cache.evictEntityData(AdImage.class);
+        cache.evictQueryRegion(AD_IMAGES_BY_AD_REGION);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // Só importa para as consultas de imagens em cache nos outros nós
+        if (event.getEntity() instanceof AdImage image) {
+            bus.publishCommitted(CacheInvalidation.Type.AD_IMAGE, image.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getEntity());
+    }
+
+    private void publish(Object entity) {
+        if (entity instanceof User user) {
+            bus.publishCommitted(CacheInvalidation.Type.USER, user.getId());
+        } else if (entity instanceof Community community) {
+            bus.publishCommitted(CacheInvalidation.Type.COMMUNITY, community.getId());
+        } else if (entity instanceof AdImage image) {
+            bus.publishCommitted(CacheInvalidation.Type.AD_IMAGE, image.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+}
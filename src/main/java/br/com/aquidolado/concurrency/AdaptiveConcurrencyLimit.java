@@ -0,0 +1,117 @@
+package br.com.aquidolado.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência adaptativo no estilo gradiente (Gradient2 do Netflix concurrency-limits).
+ * Compara a latência recente (média da janela) com a latência de longo prazo (média móvel exponencial):
+ * se a recente sobe, há fila em algum lugar (pool do banco, storage) e o limite encolhe na mesma proporção;
+ * se fica estável, o limite cresce devagar (+√limite por janela). Só cresce quando está de fato sendo usado
+ * (em andamento ≥ metade do limite), para não inflar em horários calmos.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /** Latência recente pode ser até 1,5x a de longo prazo antes de o limite encolher. */
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW_SAMPLES = 600;
+    private static final double BACKOFF_ON_DROP = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private long windowStart = System.nanoTime();
+    private long windowSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowMs, int minWindowSamples) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    /** Reserva uma vaga; false se o limite atual já foi atingido. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga com a latência observada. {@code dropped} = a requisição falhou por sobrecarga
+     * (ex.: timeout esperando conexão); nesse caso o limite recua na próxima janela.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+            if (dropped) {
+                windowDropped = true;
+            } else {
+                windowSumNanos += rttNanos;
+                windowSamples++;
+            }
+            long now = System.nanoTime();
+            if (now - windowStart >= windowNanos && (windowSamples >= minWindowSamples || windowDropped)) {
+                update();
+                windowStart = now;
+                windowSumNanos = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+                windowDropped = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update() {
+        double current = limit;
+        if (windowDropped) {
+            limit = Math.max(minLimit, current * BACKOFF_ON_DROP);
+            return;
+        }
+        double shortRtt = (double) windowSumNanos / windowSamples;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * Math.min(1.0, windowSamples / LONG_WINDOW_SAMPLES);
+        }
+        // Se a recente ficou muito abaixo (carga mudou), a de longo prazo se aproxima mais rápido
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        boolean appLimited = windowMaxInFlight < current / 2;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRtt));
+        double target = current * gradient + (appLimited ? 0 : Math.sqrt(current));
+        double smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.aquidolado.concurrency;
+
+/**
+ * Marca o trabalho em background (jobs @Scheduled, envios do outbox) na thread atual. Enquanto marcada,
+ * o {@link WorkloadRoutingDataSource} entrega conexões do pool pequeno de background, e um expurgo de conta
+ * ou um resumo semanal nunca disputa conexão com o feed.
+ */
+public final class BackgroundWork {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private BackgroundWork() {
+    }
+
+    /** Executa a tarefa marcada como background (a marcação anterior da thread é restaurada ao final). */
+    public static void run(Runnable task) {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.aquidolado.concurrency;
+
+import br.com.aquidolado.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compartimento com número fixo de vagas (fila justa) para um tipo de trabalho pesado, ex.: compressão e
+ * envio de imagens. Quem não consegue vaga em {@code maxWaitMs} recebe {@link BulkheadFullException} (503),
+ * e o excesso desse tipo de trabalho não consome a CPU e as threads que o feed usa.
+ * Métricas: aqui.bulkhead.available/waiting (gauges), aqui.bulkhead.rejected e aqui.bulkhead.wait, com tag name.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(String name, int permits, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMs = maxWaitMs;
+        Gauge.builder("aqui.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Vagas livres no bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("aqui.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Threads aguardando vaga no bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("aqui.bulkhead.rejected")
+                .description("Chamadas recusadas por falta de vaga no bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("aqui.bulkhead.wait")
+                .description("Espera por uma vaga no bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /** Executa a tarefa ocupando uma vaga; a vaga é devolvida ao final, com sucesso ou erro. */
+    public <T> T call(Supplier<T> task) {
+        acquire();
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+}
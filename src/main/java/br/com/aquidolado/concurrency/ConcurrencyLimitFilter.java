@@ -0,0 +1,157 @@
+package br.com.aquidolado.concurrency;
+
+import br.com.aquidolado.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Descarte de carga na entrada: cada classe de rota (leitura, escrita, upload, imagens servidas de /uploads)
+ * tem seu próprio {@link AdaptiveConcurrencyLimit}, então um pico de uploads ou de imagens não toma as vagas
+ * do feed. Acima do limite responde 503 com Retry-After na hora, em vez de a requisição esperar 30s pelo
+ * pool do banco e falhar do mesmo jeito. Health/métricas (/actuator) e preflight CORS não passam pelo limite.
+ * Roda logo depois do filtro de CORS, para o 503 chegar ao navegador com os headers certos.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        READ, WRITE, UPLOAD, IMAGE
+    }
+
+    private final Map<RouteClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejections = new EnumMap<>(RouteClass.class);
+    private final int retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${app.concurrency-limit.read.initial:40}") int readInitial,
+                                  @Value("${app.concurrency-limit.read.max:400}") int readMax,
+                                  @Value("${app.concurrency-limit.write.initial:20}") int writeInitial,
+                                  @Value("${app.concurrency-limit.write.max:200}") int writeMax,
+                                  @Value("${app.concurrency-limit.upload.initial:6}") int uploadInitial,
+                                  @Value("${app.concurrency-limit.upload.max:40}") int uploadMax,
+                                  @Value("${app.concurrency-limit.image.initial:20}") int imageInitial,
+                                  @Value("${app.concurrency-limit.image.max:200}") int imageMax,
+                                  @Value("${app.concurrency-limit.window-ms:1000}") long windowMs,
+                                  @Value("${app.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        register(meterRegistry, RouteClass.READ, new AdaptiveConcurrencyLimit(readInitial, 4, readMax, windowMs, 10));
+        register(meterRegistry, RouteClass.WRITE, new AdaptiveConcurrencyLimit(writeInitial, 2, writeMax, windowMs, 10));
+        register(meterRegistry, RouteClass.UPLOAD, new AdaptiveConcurrencyLimit(uploadInitial, 1, uploadMax, windowMs, 3));
+        register(meterRegistry, RouteClass.IMAGE, new AdaptiveConcurrencyLimit(imageInitial, 2, imageMax, windowMs, 10));
+    }
+
+    private void register(MeterRegistry meterRegistry, RouteClass routeClass, AdaptiveConcurrencyLimit limit) {
+        String tag = routeClass.name().toLowerCase(Locale.ROOT);
+        limits.put(routeClass, limit);
+        rejections.put(routeClass, Counter.builder("aqui.concurrency.rejected")
+                .description("Requisições recusadas com 503 por excesso de concorrência")
+                .tag("route", tag)
+                .register(meterRegistry));
+        Gauge.builder("aqui.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Limite adaptativo atual de requisições simultâneas")
+                .tag("route", tag)
+                .register(meterRegistry);
+        Gauge.builder("aqui.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requisições em andamento")
+                .tag("route", tag)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return "OPTIONS".equals(request.getMethod()) || uri.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        AdaptiveConcurrencyLimit limit = limits.get(routeClass);
+        if (!limit.tryAcquire()) {
+            rejections.get(routeClass).increment();
+            log.debug("Requisição recusada (limite {} de {}): {} {}", limit.getLimit(), routeClass,
+                    request.getMethod(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            filterChain.doFilter(request, response);
+            // 503/504 vindos de dentro (ex.: sem conexão no pool) contam como sobrecarga
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+        } catch (IOException | ServletException | RuntimeException e) {
+            // Erro de entrada ou bug não é sobrecarga: só falta de conexão/vaga ou timeout reduz o limite
+            dropped = isOverload(e);
+            throw e;
+        } finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotGetJdbcConnectionException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof BulkheadFullException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return request.getRequestURI().startsWith("/uploads/") ? RouteClass.IMAGE : RouteClass.READ;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return RouteClass.UPLOAD;
+        }
+        return RouteClass.WRITE;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"Servidor ocupado. Tente novamente em instantes.\"}");
+    }
+}
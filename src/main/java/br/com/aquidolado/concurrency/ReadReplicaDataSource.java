@@ -0,0 +1,89 @@
+package br.com.aquidolado.concurrency;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Envia transações readOnly para a réplica. A conexão só é obtida no primeiro comando SQL (proxy
+ * preguiçoso do Spring), quando o HibernateJpaDialect já marcou a transação como somente leitura; as
+ * demais vão para o destino normal (primário/background). Volta ao primário quando:
+ * - a requisição está marcada por {@link ReadYourWrites} (o usuário acabou de escrever);
+ * - é trabalho em background ({@link BackgroundWork}), que tem pool próprio;
+ * - o atraso da réplica passou do limite ou ela não responde ({@link #setReplicaUsable}).
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /** Atraso de replay em ms; 0 se a réplica está em dia (ou não é réplica, ex.: testes com duas instâncias). */
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private volatile boolean replicaUsable = true;
+
+    public ReadReplicaDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSource(primary);
+        // Padrões do Hikari/PostgreSQL, para não abrir conexão só para descobri-los
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return useReplica() ? "replica" : "primary";
+            }
+        };
+        readOnly.setTargetDataSources(Map.of("replica", replica, "primary", primary));
+        readOnly.setLenientFallback(false);
+        readOnly.afterPropertiesSet();
+        setReadOnlyDataSource(readOnly);
+        afterPropertiesSet();
+    }
+
+    private boolean useReplica() {
+        return replicaUsable && !ReadYourWrites.isPinned() && !BackgroundWork.isActive();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public void setReplicaUsable(boolean replicaUsable) {
+        this.replicaUsable = replicaUsable;
+    }
+
+    /** Consulta o atraso de replay direto no pool da réplica. */
+    public long replicaLagMillis() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** Fecha a réplica e o destino principal ao desligar a aplicação. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (primary instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.aquidolado.concurrency;
+
+/**
+ * Marca a requisição atual como "precisa ler do primário": o usuário acabou de escrever e a réplica
+ * pode ainda não ter o dado. Definida pelo {@link ReadYourWritesFilter} e lida pelo {@link ReadReplicaDataSource}.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.aquidolado.concurrency;
+
+import br.com.aquidolado.security.CurrentUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes com réplica de leitura: depois de uma escrita (POST/PUT/PATCH/DELETE), as leituras do
+ * mesmo usuário vão para o primário por app.replica-datasource.read-your-writes-ms. Duas marcações:
+ * - o header X-Read-Your-Writes (instante limite em epoch ms) devolvido na escrita, que o cliente reenvia
+ *   nas próximas requisições (vale em qualquer nó);
+ * - a última escrita de cada usuário lembrada neste nó, para clientes que não reenviam o header.
+ * Só existe com réplica configurada (app.replica-datasource.url).
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+@ConditionalOnExpression("'${app.replica-datasource.url:}' != ''")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final long windowMs;
+    private final Map<Long, Long> primaryUntilByUser = new ConcurrentHashMap<>();
+    private final Counter pinnedReads;
+
+    public ReadYourWritesFilter(@Value("${app.replica-datasource.read-your-writes-ms:5000}") long windowMs,
+                                MeterRegistry meterRegistry) {
+        this.windowMs = windowMs;
+        this.pinnedReads = Counter.builder("aqui.db.replica.pinned_reads")
+                .description("Leituras enviadas ao primário por read-your-writes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        Long userId = currentUserId();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // Antes da cadeia: depois dela a resposta já pode ter sido enviada
+            long until = now + windowMs;
+            response.setHeader(HEADER, String.valueOf(until));
+            if (userId != null) {
+                remember(userId, until, now);
+            }
+        }
+        boolean pinned = write || markerValid(request.getHeader(HEADER), now)
+                || (userId != null && primaryUntilByUser.getOrDefault(userId, 0L) > now);
+        if (!pinned) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!write) {
+            pinnedReads.increment();
+        }
+        ReadYourWrites.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    /** Aceita só marcações dentro da janela, para o cliente não prender tudo no primário. */
+    private boolean markerValid(String marker, long now) {
+        if (marker == null || marker.isBlank()) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(marker.trim());
+            return until > now && until <= now + windowMs;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void remember(Long userId, long until, long now) {
+        if (primaryUntilByUser.size() >= MAX_TRACKED_USERS) {
+            primaryUntilByUser.values().removeIf(expiresAt -> expiresAt <= now);
+        }
+        primaryUntilByUser.put(userId, until);
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof CurrentUser user ? user.getUserId() : null;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.aquidolado.concurrency;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Escolhe o pool pela carga de trabalho da thread: requisições usam o pool principal e o que roda dentro
+ * de {@link BackgroundWork#run} usa o pool de background. A escolha acontece ao pegar a conexão (início
+ * da transação), então repositórios e TransactionTemplate funcionam sem mudança.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public enum Workload {
+        PRIMARY, BACKGROUND
+    }
+
+    private final DataSource primary;
+    private final DataSource background;
+
+    public WorkloadRoutingDataSource(DataSource primary, DataSource background) {
+        this.primary = primary;
+        this.background = background;
+        setTargetDataSources(Map.of(Workload.PRIMARY, primary, Workload.BACKGROUND, background));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BackgroundWork.isActive() ? Workload.BACKGROUND : Workload.PRIMARY;
+    }
+
+    /** Fecha os dois pools ao desligar a aplicação. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (background instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (primary instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
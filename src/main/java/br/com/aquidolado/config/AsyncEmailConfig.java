@@ -1,26 +1,70 @@
 package br.com.aquidolado.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Executor para envio de e-mails em background.
- * Evita que a requisição HTTP espere o SMTP (que pode levar 10–30s e causar timeout/cancelamento no cliente).
+ * Executor usado pelo worker do outbox para enviar os e-mails de um lote em paralelo.
+ * A fila durável é o outbox no banco; se este executor saturar, o próprio worker envia (CallerRuns),
+ * o que apenas desacelera a drenagem em vez de descartar mensagens.
+ * Com virtual threads, cada envio ganha uma virtual thread e o limite de concorrência faz o worker esperar.
  */
 @Configuration
 public class AsyncEmailConfig {
 
     @Bean(name = "emailExecutor")
-    public Executor emailExecutor() {
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor emailExecutor(MeterRegistry meterRegistry) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(1);
         executor.setMaxPoolSize(3);
         executor.setQueueCapacity(50);
         executor.setThreadNamePrefix("email-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
+        Gauge.builder("aqui.email.executor.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Tarefas aguardando no emailExecutor")
+                .register(meterRegistry);
+        Gauge.builder("aqui.email.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Threads do emailExecutor enviando")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    @Bean(name = "emailExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualEmailExecutor(MeterRegistry meterRegistry) {
+        return virtualExecutor("email-", 3, "aqui.email.executor.active", "Threads do emailExecutor enviando", meterRegistry);
+    }
+
+    /** Virtual thread por tarefa, no máximo {@code limit} simultâneas (quem submete além disso espera). */
+    static Executor virtualExecutor(String threadNamePrefix, int limit, String activeGauge, String description,
+                                    MeterRegistry meterRegistry) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(limit);
+        AtomicInteger active = new AtomicInteger();
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        Gauge.builder(activeGauge, active, AtomicInteger::get)
+                .description(description)
+                .register(meterRegistry);
         return executor;
     }
 }
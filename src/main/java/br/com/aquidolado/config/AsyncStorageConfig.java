@@ -0,0 +1,58 @@
+package br.com.aquidolado.config;
+
+import br.com.aquidolado.concurrency.Bulkhead;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor dos uploads de imagens de um anúncio (compressão + envio ao storage em paralelo).
+ * Saturado, a própria thread da requisição faz o upload (CallerRuns), como era antes.
+ * O bulkhead de upload limita quantas requisições fazem isso ao mesmo tempo.
+ */
+@Configuration
+public class AsyncStorageConfig {
+
+    @Bean(name = "storageExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor storageExecutor(@Value("${app.storage.upload-concurrency:4}") int concurrency,
+                                    MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency * 5);
+        executor.setThreadNamePrefix("storage-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        Gauge.builder("aqui.storage.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Uploads em andamento no storageExecutor")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /** Vagas para requisições com imagens (compressão é CPU pesada); sem vaga em max-wait-ms, 503. */
+    @Bean
+    public Bulkhead uploadBulkhead(@Value("${app.bulkhead.upload.permits:4}") int permits,
+                                   @Value("${app.bulkhead.upload.max-wait-ms:2000}") long maxWaitMs,
+                                   MeterRegistry meterRegistry) {
+        return new Bulkhead("upload", permits, maxWaitMs, meterRegistry);
+    }
+
+    /** Virtual thread por upload; o limite de concorrência faz o chamador esperar em vez de enfileirar. */
+    @Bean(name = "storageExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualStorageExecutor(@Value("${app.storage.upload-concurrency:4}") int concurrency,
+                                           MeterRegistry meterRegistry) {
+        return AsyncEmailConfig.virtualExecutor("storage-", concurrency, "aqui.storage.executor.active",
+                "Uploads em andamento no storageExecutor", meterRegistry);
+    }
+}
@@ -8,21 +8,29 @@ import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sesv2.SesV2Client;
 
+import java.time.Duration;
+
 /**
  * Cliente SES v2 (API HTTPS) quando app.email.aws-ses-region está definida.
  * Usa URLConnection (sem Apache HttpClient) para evitar conflitos de dependência em produção.
+ * O cliente é único para a aplicação: o keep-alive do URLConnection reaproveita as conexões TLS com o SES.
  */
 @Configuration
 public class AwsSesConfig {
 
     @Bean(name = "sesV2Client")
-    public SesV2Client sesV2Client(@Value("${app.email.aws-ses-region:}") String region) {
+    public SesV2Client sesV2Client(@Value("${app.email.aws-ses-region:}") String region,
+                                   @Value("${app.email.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                   @Value("${app.email.http.read-timeout-ms:15000}") long readTimeoutMs) {
         if (!StringUtils.hasText(region)) {
             return null;
         }
         return SesV2Client.builder()
                 .region(Region.of(region.trim()))
-                .httpClient(UrlConnectionHttpClient.builder().build())
+                .httpClient(UrlConnectionHttpClient.builder()
+                        .connectionTimeout(Duration.ofMillis(connectTimeoutMs))
+                        .socketTimeout(Duration.ofMillis(readTimeoutMs))
+                        .build())
                 .build();
     }
 }
@@ -0,0 +1,84 @@
+package br.com.aquidolado.config;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import br.com.aquidolado.concurrency.ConnectionLimitingDataSource;
+import br.com.aquidolado.concurrency.ReadReplicaDataSource;
+import br.com.aquidolado.concurrency.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Pools de conexão (bulkheads do banco):
+ * - primary: requisições HTTP (spring.datasource.hikari.*). Com app.datasource-limiter.enabled (padrão com
+ *   virtual threads) ganha a fila justa do {@link ConnectionLimitingDataSource} na frente;
+ * - background: pool pequeno para jobs e expurgos ({@link BackgroundWork}), configurado em
+ *   app.background-datasource.hikari.*. Um expurgo de conta ou o resumo semanal esgota só este pool.
+ * - replica (opcional, app.replica-datasource.url): transações readOnly, via {@link ReadReplicaDataSource}.
+ * Métricas hikaricp.* com a tag pool=primary/background/replica. Com app.background-datasource.enabled=false
+ * tudo volta a usar o pool principal; sem URL de réplica, as leituras também.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primaryPool = pool(properties, binder, "primary", meterRegistry);
+        DataSource primary = binder.bind("app.datasource-limiter.enabled", Boolean.class).orElse(false)
+                ? limited(primaryPool, binder, meterRegistry)
+                : primaryPool;
+        DataSource writable = primary;
+        if (binder.bind("app.background-datasource.enabled", Boolean.class).orElse(true)) {
+            HikariDataSource background = pool(properties, binder, "background", meterRegistry);
+            // Herda timeouts do principal; tamanho e demais ajustes vêm de app.background-datasource.hikari
+            binder.bind("app.background-datasource.hikari", Bindable.ofInstance(background));
+            writable = new WorkloadRoutingDataSource(primary, background);
+        }
+        String replicaUrl = binder.bind("app.replica-datasource.url", String.class).orElse("");
+        if (replicaUrl.isBlank()) {
+            return writable;
+        }
+        HikariDataSource replica = pool(properties, binder, "replica", meterRegistry);
+        replica.setJdbcUrl(replicaUrl);
+        binder.bind("app.replica-datasource.username", String.class).ifBound(replica::setUsername);
+        binder.bind("app.replica-datasource.password", String.class).ifBound(replica::setPassword);
+        binder.bind("app.replica-datasource.hikari", Bindable.ofInstance(replica));
+        replica.setReadOnly(true);
+        return new ReadReplicaDataSource(writable, replica);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String name,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+
+    private static DataSource limited(HikariDataSource pool, Binder binder, ObjectProvider<MeterRegistry> meterRegistry) {
+        long timeoutMs = binder.bind("app.datasource-limiter.acquire-timeout-ms", Long.class).orElse(30000L);
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), timeoutMs);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("aqui.db.limiter.waiting", limited, ConnectionLimitingDataSource::waiting)
+                    .description("Threads na fila por uma conexão do pool")
+                    .register(registry);
+            Gauge.builder("aqui.db.limiter.available", limited, ConnectionLimitingDataSource::available)
+                    .description("Conexões ainda liberadas pela fila")
+                    .register(registry);
+        });
+        return limited;
+    }
+}
@@ -10,6 +10,7 @@ import br.com.aquidolado.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +21,11 @@ import java.time.Instant;
 /**
  * Seeder de dados APENAS para desenvolvimento local.
  * Cria um usuário, uma comunidade e alguns anúncios para facilitar o teste do frontend.
- * Profile: dev
+ * Profile: dev (e perf, onde roda antes do PerfDataSeeder, que gera o volume de carga)
  */
-@Profile("dev")
+@Profile({"dev", "perf"})
 @Component
+@Order(0)
 @RequiredArgsConstructor
 public class DevDataSeeder implements CommandLineRunner {
 
@@ -65,6 +67,7 @@ public class DevDataSeeder implements CommandLineRunner {
             community = Community.builder()
                     .name("Condomínio Seed (Dev)")
                     .accessCode(SEED_ACCESS_CODE)
+                    .postalCode("01001000")
                     .createdAt(Instant.now())
                     .createdBy(user)
                     .build();
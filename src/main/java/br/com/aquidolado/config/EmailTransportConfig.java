@@ -0,0 +1,35 @@
+package br.com.aquidolado.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP compartilhado pelos envios de email via API. O HttpClient do JDK mantém um pool de
+ * conexões keep-alive (e HTTP/2 quando o provedor suporta), evitando um handshake TLS por email.
+ */
+@Configuration
+public class EmailTransportConfig {
+
+    @Bean(name = "emailHttpClient")
+    public HttpClient emailHttpClient(@Value("${app.email.http.connect-timeout-ms:5000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    @Bean(name = "sendGridRestClient")
+    public RestClient sendGridRestClient(HttpClient emailHttpClient,
+                                         @Value("${app.email.http.read-timeout-ms:15000}") long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(emailHttpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return RestClient.builder()
+                .requestFactory(factory)
+                .build();
+    }
+}
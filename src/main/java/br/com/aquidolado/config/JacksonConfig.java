@@ -0,0 +1,31 @@
+package br.com.aquidolado.config;
+
+import br.com.aquidolado.observability.TimedJacksonCborHttpMessageConverter;
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    /** DTOs com @JsonFilter (sparse fieldsets) saem completos quando a requisição não traz ?fields=. */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilters() {
+        return builder -> builder.filters(FieldSelection.SERIALIZE_ALL);
+    }
+
+    /**
+     * CBOR para quem pede Accept: application/cbor (app em plano pré-pago): mesmos campos do JSON, sem o texto
+     * repetido dos nomes. Substitui o conversor CBOR padrão do Spring, que não passa pelo builder do Boot (datas,
+     * módulos e os filtros acima). JSON continua sendo o padrão: vem antes na lista de conversores.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new TimedJacksonCborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
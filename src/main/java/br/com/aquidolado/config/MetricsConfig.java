@@ -0,0 +1,87 @@
+package br.com.aquidolado.config;
+
+import br.com.aquidolado.observability.TimedJacksonHttpMessageConverter;
+import br.com.aquidolado.observability.TimingDataSource;
+import br.com.aquidolado.storage.StorageService;
+import br.com.aquidolado.storage.TimedStorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Instrumentação própria (prefixo aqui.*). Latência por endpoint e espera do pool Hikari vêm das
+ * métricas automáticas do Spring Boot (http.server.requests, hikaricp.connections.acquire).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Envolve o StorageService ativo (local ou Cloudinary) com medição de latência e os DataSources
+     * com o listener JDBC que alimenta o Server-Timing e a contagem de SQL por requisição.
+     */
+    @Bean
+    public static BeanPostProcessor timingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof StorageService storage && !(bean instanceof TimedStorageService)) {
+                    return new TimedStorageService(storage, meterRegistry.getObject());
+                }
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Acerto/erro do cache L2 por região (cache.gets{result=hit|miss, cache}, cache.puts, cache.evictions), das
+     * estatísticas do próprio JCache/Caffeine (monitoring.statistics em application.conf): um contador por
+     * região, sem o custo das estatísticas do Hibernate por sessão. As regiões de consulta nascem no primeiro
+     * uso, então as configuradas em application.conf são criadas aqui para já entrarem nas métricas.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+                return;
+            }
+            CacheManager cacheManager = jcache.getCacheManager();
+            Set<String> regions = new TreeSet<>(TypesafeConfigurator.cacheNames(ConfigFactory.load()));
+            cacheManager.getCacheNames().forEach(regions::add);
+            for (String region : regions) {
+                javax.cache.Cache<Object, Object> cache = cacheManager.getCache(region);
+                if (cache != null) {
+                    new JCacheMetrics<>(cache, Tags.empty()).bindTo(registry);
+                }
+            }
+        };
+    }
+
+    /** Substitui o conversor JSON padrão pelo que mede o tempo de serialização. */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.aquidolado.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita os jobs em background (@Scheduled), ex.: expurgo de contas excluídas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package br.com.aquidolado.controller;
 
 import br.com.aquidolado.domain.enums.AdType;
 import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.AdSummaryResponse;
 import br.com.aquidolado.dto.CommentResponse;
 import br.com.aquidolado.dto.CreateAdRequest;
 import br.com.aquidolado.dto.CreateCommentRequest;
@@ -10,6 +11,8 @@ import br.com.aquidolado.dto.UpdateAdRequest;
 import br.com.aquidolado.service.AdService;
 import br.com.aquidolado.service.RecommendationCommentService;
 import br.com.aquidolado.service.RecommendationReactionService;
+import br.com.aquidolado.util.ContentETag;
+import br.com.aquidolado.util.FieldSelection;
 import br.com.aquidolado.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -22,6 +25,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -38,6 +42,9 @@ public class AdController {
             "title", "createdAt", "user.name", "type", "serviceType"
     );
 
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
     private final AdService adService;
     private final RecommendationReactionService recommendationReactionService;
     private final RecommendationCommentService recommendationCommentService;
@@ -52,13 +59,18 @@ public class AdController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar anúncios", description = "Lista anúncios de uma comunidade com filtros opcionais (tipo(s), busca, ordenação)")
-    public ResponseEntity<Page<AdResponse>> listByCommunity(
+    @Operation(summary = "Listar anúncios", description = "Lista anúncios de uma comunidade com filtros opcionais (tipo(s), busca, ordenação). " +
+            "view=summary devolve os cards do feed: trecho da descrição e só a imagem de capa, sem contato. " +
+            "fields=id,title,price (por exemplo) traz só esses campos e pula imagens/avaliações não pedidas")
+    public ResponseEntity<Page<?>> listByCommunity(
             @RequestParam Long communityId,
             @RequestParam(required = false) AdType type,
             @RequestParam(required = false) List<AdType> types,
             @RequestParam(required = false) String search,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
         
         // Valida campos de ordenação permitidos
@@ -74,7 +86,22 @@ public class AdController {
         // Se types foi fornecido, usa ele; senão, se type foi fornecido, cria lista com um elemento; senão null
         List<AdType> typesToUse = (types != null && !types.isEmpty()) ? types 
                 : (type != null ? List.of(type) : null);
-        return ResponseEntity.ok(adService.listByCommunity(communityId, userId, typesToUse, search, pageable));
+        boolean summary = VIEW_SUMMARY.equals(view);
+        if (view != null && !summary && !VIEW_FULL.equals(view)) {
+            throw new IllegalArgumentException("Visualização inválida: " + view);
+        }
+        FieldSelection selection = FieldSelection.parse(fields, summary ? AdSummaryResponse.class : AdResponse.class);
+
+        // Versão lida antes do conteúdo: uma escrita no meio só gera um 200 a mais, nunca um 304 errado. Logo
+        // depois de uma mudança a versão vem vazia (caches locais podem estar atrás) e a resposta sai sem ETag
+        String etag = ContentETag.of("c" + communityId, adService.feedVersion(communityId, userId), userId, webRequest);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ContentETag.ok(etag)
+                .body(summary
+                        ? adService.listSummariesByCommunity(communityId, userId, typesToUse, search, pageable, selection)
+                        : adService.listByCommunity(communityId, userId, typesToUse, search, pageable, selection));
     }
 
     @GetMapping("/me")
@@ -87,10 +114,19 @@ public class AdController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Detalhes do anúncio", description = "Retorna os detalhes de um anúncio específico")
-    public ResponseEntity<AdResponse> getById(@PathVariable Long id) {
+    @Operation(summary = "Detalhes do anúncio", description = "Retorna os detalhes de um anúncio específico; " +
+            "fields= limita os campos (e as consultas) da resposta")
+    public ResponseEntity<AdResponse> getById(@PathVariable Long id,
+                                              @RequestParam(required = false) String fields,
+                                              WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        return ResponseEntity.ok(adService.getById(id, userId));
+        FieldSelection selection = FieldSelection.parse(fields, AdResponse.class);
+        String etag = ContentETag.of("a" + id, adService.adVersion(id, userId), userId, webRequest);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ContentETag.ok(etag)
+                .body(adService.getById(id, userId, selection));
     }
 
     @PutMapping(value = "/{id}", consumes = "multipart/form-data")
@@ -7,6 +7,8 @@ import br.com.aquidolado.dto.JoinRequestResponse;
 import br.com.aquidolado.dto.AddAdminRequest;
 import br.com.aquidolado.dto.UpdateCommunityRequest;
 import br.com.aquidolado.service.CommunityService;
+import br.com.aquidolado.util.ContentETag;
+import br.com.aquidolado.util.FieldSelection;
 import br.com.aquidolado.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +17,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -56,10 +59,19 @@ public class CommunityController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Detalhes do condomínio", description = "Retorna os detalhes de um condomínio específico")
-    public ResponseEntity<CommunityResponse> getById(@PathVariable Long id) {
+    @Operation(summary = "Detalhes do condomínio", description = "Retorna os detalhes de um condomínio específico. " +
+            "fields=name,isAdmin (por exemplo) traz só esses campos e dispensa a lista de membros")
+    public ResponseEntity<CommunityResponse> getById(@PathVariable Long id,
+                                                     @RequestParam(required = false) String fields,
+                                                     WebRequest webRequest) {
         Long userId = SecurityUtil.getCurrentUserId();
-        return ResponseEntity.ok(communityService.getById(id, userId));
+        FieldSelection selection = FieldSelection.parse(fields, CommunityResponse.class);
+        String etag = ContentETag.of("community" + id, communityService.contentVersion(id, userId), userId, webRequest);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ContentETag.ok(etag)
+                .body(communityService.getById(id, userId, selection));
     }
 
     @DeleteMapping("/{id}/leave")
@@ -1,15 +1,28 @@
 package br.com.aquidolado.controller;
 
+import br.com.aquidolado.dto.AccountDeletionResponse;
 import br.com.aquidolado.dto.AdOgResponse;
+import br.com.aquidolado.og.AdOgPage;
+import br.com.aquidolado.og.AdPreviewCache;
+import br.com.aquidolado.service.AccountDeletionService;
 import br.com.aquidolado.service.AdService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/public")
@@ -18,11 +31,78 @@ import org.springframework.web.bind.annotation.RestController;
 public class PublicController {
 
     private final AdService adService;
+    private final AccountDeletionService accountDeletionService;
+    private final AdPreviewCache adPreviewCache;
+
+    /** Crawlers e CDN reaproveitam o preview; depois de max-age ainda servem o velho enquanto revalidam. */
+    @Value("${app.og.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @Value("${app.og.stale-while-revalidate-seconds:86400}")
+    private long staleWhileRevalidateSeconds;
+
+    /** Endereço do anúncio no front ({id} é trocado pelo id). */
+    @Value("${app.og.ad-url:http://localhost:5173/ads/{id}}")
+    private String adUrl;
+
+    /** Endereço público desta API (https, atrás do proxy) para o og:image de imagens locais; vazio = o da requisição. */
+    @Value("${app.og.api-url:}")
+    private String apiUrl;
 
     @GetMapping("/ads/{id}/og")
     @Operation(summary = "Dados OG do anúncio", description = "Retorna título e path da primeira imagem para montar preview (WhatsApp, etc.). Público.")
     public ResponseEntity<AdOgResponse> getAdOg(@PathVariable Long id) {
-        return adService.getOgData(id)
+        return adOg(id)
+                .map(og -> ResponseEntity.ok().cacheControl(previewCacheControl()).body(og))
+                .orElseGet(this::notFound);
+    }
+
+    @GetMapping(value = "/ads/{id}/og.html", produces = MediaType.TEXT_HTML_VALUE)
+    @Operation(summary = "Página OG do anúncio", description = "HTML com as meta tags Open Graph (imagem 1200x630 quando gerada) que redireciona para o anúncio no front. Público.")
+    public ResponseEntity<String> getAdOgPage(@PathVariable Long id) {
+        return adOg(id)
+                .map(og -> {
+                    boolean preview = og.getPreviewImagePath() != null;
+                    String image = absolute(preview ? og.getPreviewImagePath() : og.getImagePath());
+                    String html = AdOgPage.render(og, adUrl.replace("{id}", id.toString()), image, preview);
+                    return ResponseEntity.ok().cacheControl(previewCacheControl()).body(html);
+                })
+                .orElseGet(this::notFound);
+    }
+
+    private Optional<AdOgResponse> adOg(Long id) {
+        return adPreviewCache.get(id, adService::getOgData);
+    }
+
+    private CacheControl previewCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidateSeconds));
+    }
+
+    /** 404 também fica em cache, mas curto: o anúncio pode ser restaurado ou o link ter sido digitado errado. */
+    private <T> ResponseEntity<T> notFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic()).build();
+    }
+
+    /**
+     * og:image precisa de URL absoluta; path local (/uploads/...) ganha o endereço público desta API. Sem
+     * app.og.api-url vale o da requisição, com esquema e porta do proxy (server.forward-headers-strategy).
+     */
+    private String absolute(String path) {
+        if (path == null || path.startsWith("http://") || path.startsWith("https://")) {
+            return path;
+        }
+        if (!apiUrl.isBlank()) {
+            return UriComponentsBuilder.fromHttpUrl(apiUrl).path(path).toUriString();
+        }
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(path).toUriString();
+    }
+
+    @GetMapping("/account-deletions/{id}")
+    @Operation(summary = "Andamento da exclusão de conta", description = "Status do expurgo de dados após DELETE /api/users/me. Público: a conta já está desativada.")
+    public ResponseEntity<AccountDeletionResponse> getAccountDeletion(@PathVariable String id) {
+        return accountDeletionService.getStatus(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,31 @@
+package br.com.aquidolado.controller;
+
+import br.com.aquidolado.util.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Com ?fields=, serializa só os campos pedidos dos DTOs marcados com @JsonFilter(FieldSelection.FILTER).
+ * O corte do trabalho (consultas, listas) é feito antes, no serviço; aqui só some o que ficou vazio.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            String fields = servletRequest.getServletRequest().getParameter(FieldSelection.PARAM);
+            if (fields != null && !fields.isBlank()) {
+                bodyContainer.setFilters(FieldSelection.filters(fields));
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.aquidolado.controller;
 
+import br.com.aquidolado.dto.AccountDeletionResponse;
 import br.com.aquidolado.dto.UpdateProfileRequest;
 import br.com.aquidolado.dto.UserProfileResponse;
+import br.com.aquidolado.service.AccountDeletionService;
 import br.com.aquidolado.service.UserService;
 import br.com.aquidolado.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +13,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final AccountDeletionService accountDeletionService;
 
     @GetMapping("/me")
     @Operation(summary = "Obter perfil", description = "Retorna os dados do usuário autenticado")
@@ -34,10 +39,13 @@ public class UserController {
     }
 
     @DeleteMapping("/me")
-    @Operation(summary = "Excluir conta", description = "Exclui a conta do usuário e todos os dados associados (LGPD)")
-    public ResponseEntity<Void> deleteAccount() {
+    @Operation(summary = "Excluir conta", description = "Desativa a conta na hora e agenda a exclusão de todos os dados associados (LGPD). "
+            + "O andamento pode ser consultado em GET /api/public/account-deletions/{id}.")
+    public ResponseEntity<AccountDeletionResponse> deleteAccount() {
         Long userId = SecurityUtil.getCurrentUserId();
-        userService.deleteAccount(userId);
-        return ResponseEntity.noContent().build();
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(userId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/public/account-deletions/" + response.getId()))
+                .body(response);
     }
 }
@@ -0,0 +1,64 @@
+package br.com.aquidolado.domain.entity;
+
+import br.com.aquidolado.domain.enums.AccountDeletionStatus;
+import br.com.aquidolado.domain.enums.AccountDeletionStep;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "account_deletion_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Identificador exposto ao cliente para consultar o andamento (não sequencial). */
+    @Column(name = "public_id", nullable = false, unique = true, length = 36)
+    private String publicId;
+
+    /** Sem FK: o usuário é apagado na última etapa. */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private AccountDeletionStatus status = AccountDeletionStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private AccountDeletionStep step = AccountDeletionStep.REPORTS;
+
+    @Column(name = "deleted_rows", nullable = false)
+    @Builder.Default
+    private Long deletedRows = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** Lease do nó que está processando; expirado = outro nó pode retomar. */
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -8,8 +8,13 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+/**
+ * Autor e comunidade são LAZY: checagens de dono e de comunidade comparam só a FK (o proxy já tem o id, sem
+ * SELECT). O detalhe busca o autor junto pelo grafo {@link #GRAPH_DETAIL}; listagens e preview OG usam projeções.
+ */
 @Entity
 @Table(name = "ads")
+@NamedEntityGraph(name = Ad.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("user"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +22,9 @@ import java.time.Instant;
 @Builder
 public class Ad {
 
+    /** Detalhe do anúncio: autor (nome e WhatsApp na resposta) no mesmo SELECT. */
+    public static final String GRAPH_DETAIL = "Ad.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,11 +46,11 @@ public class Ad {
     @Builder.Default
     private AdStatus status = AdStatus.ACTIVE;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "community_id", nullable = false)
     private Community community;
 
@@ -60,4 +68,13 @@ public class Ad {
     /** Preenchido quando o anúncio foi suspenso automaticamente por denúncias (status = PAUSED). */
     @Column(name = "suspended_by_reports_at")
     private Instant suspendedByReportsAt;
+
+    /** Preview 1200x630 para og:image (gerado no upload, se habilitado); null usa a primeira imagem. */
+    @Column(name = "og_image_url", columnDefinition = "TEXT")
+    private String ogImageUrl;
+
+    /** Compara o dono pela FK, sem carregar o usuário. */
+    public boolean isOwnedBy(Long userId) {
+        return user.getId().equals(userId);
+    }
 }
@@ -2,9 +2,12 @@ package br.com.aquidolado.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "ad_images")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ad-image")
 @Getter
 @Setter
 @NoArgsConstructor
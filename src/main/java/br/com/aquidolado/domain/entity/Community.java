@@ -2,6 +2,8 @@ package br.com.aquidolado.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -9,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "communities")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "community")
 @Getter
 @Setter
 @NoArgsConstructor
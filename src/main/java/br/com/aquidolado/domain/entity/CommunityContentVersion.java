@@ -0,0 +1,25 @@
+package br.com.aquidolado.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contador de mudanças no conteúdo de uma comunidade; a linha nasce na primeira escrita (sem linha = versão 0).
+ * Fica fora do cache L2: muda a cada escrita e é lido a cada GET condicional.
+ */
+@Entity
+@Table(name = "community_content_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommunityContentVersion {
+
+    @Id
+    @Column(name = "community_id")
+    private Long communityId;
+
+    @Column(nullable = false)
+    private Long version;
+}
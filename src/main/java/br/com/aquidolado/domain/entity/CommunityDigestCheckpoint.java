@@ -0,0 +1,41 @@
+package br.com.aquidolado.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progresso do resumo semanal de uma comunidade. Enquanto windowEnd está preenchido há um envio em
+ * andamento; cursorUserId é o último destinatário já enviado (retomada sem reenvio após queda).
+ */
+@Entity
+@Table(name = "community_digest_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommunityDigestCheckpoint {
+
+    @Id
+    @Column(name = "community_id")
+    private Long communityId;
+
+    /** Fim da última janela concluída; os próximos anúncios contam a partir daqui. */
+    @Column(name = "last_sent_until")
+    private Instant lastSentUntil;
+
+    @Column(name = "window_end")
+    private Instant windowEnd;
+
+    @Column(name = "cursor_user_id")
+    private Long cursorUserId;
+
+    @Column(name = "recipients_sent", nullable = false)
+    @Builder.Default
+    private Integer recipientsSent = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -2,6 +2,8 @@ package br.com.aquidolado.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -9,6 +11,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+// Cache L2 só na memória do processo (Caffeine): o hash da senha não sai da JVM
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -53,6 +57,11 @@ public class User {
     @Column(name = "privacy_accepted_at")
     private Instant privacyAcceptedAt;
 
+    /** Não receber o resumo semanal de anúncios das comunidades. */
+    @Column(name = "digest_opt_out", nullable = false)
+    @Builder.Default
+    private Boolean digestOptOut = false;
+
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST})
     @JoinTable(
             name = "user_communities",
@@ -0,0 +1,7 @@
+package br.com.aquidolado.domain.enums;
+
+public enum AccountDeletionStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,21 @@
+package br.com.aquidolado.domain.enums;
+
+/**
+ * Etapas do expurgo de conta, executadas nesta ordem (respeita as FKs).
+ */
+public enum AccountDeletionStep {
+    REPORTS,
+    REACTIONS,
+    COMMENT_LIKES,
+    COMMENTS,
+    ADS,
+    OWNED_COMMUNITIES,
+    MEMBERSHIPS,
+    EVENT_LOGS,
+    USER,
+    DONE;
+
+    public AccountDeletionStep next() {
+        return this == DONE ? DONE : values()[ordinal() + 1];
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.aquidolado.domain.enums;
 
 public enum AdStatus {
+    /** Criado com imagens ainda subindo: fora do feed, visível só ao dono e sem ações até ser ativado. */
+    DRAFT,
     ACTIVE,
     PAUSED,
     CLOSED,
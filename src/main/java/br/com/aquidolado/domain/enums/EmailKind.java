@@ -0,0 +1,7 @@
+package br.com.aquidolado.domain.enums;
+
+public enum EmailKind {
+    VERIFICATION,
+    PASSWORD_RESET,
+    DIGEST
+}
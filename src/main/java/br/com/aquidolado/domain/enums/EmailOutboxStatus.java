@@ -0,0 +1,8 @@
+package br.com.aquidolado.domain.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    /** Esgotou as tentativas; fica para análise manual. */
+    DEAD
+}
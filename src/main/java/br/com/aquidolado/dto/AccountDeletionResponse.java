@@ -0,0 +1,25 @@
+package br.com.aquidolado.dto;
+
+import br.com.aquidolado.domain.enums.AccountDeletionStatus;
+import br.com.aquidolado.domain.enums.AccountDeletionStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDeletionResponse {
+
+    /** Identificador público do job, usado em GET /api/public/account-deletions/{id}. */
+    private String id;
+    private AccountDeletionStatus status;
+    private AccountDeletionStep step;
+    private Long deletedRows;
+    private Instant requestedAt;
+    private Instant completedAt;
+}
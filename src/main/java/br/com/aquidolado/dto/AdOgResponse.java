@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 /**
  * Dados mínimos do anúncio para montar preview (Open Graph) em compartilhamento.
  * imagePath é o path da primeira imagem (ex.: /uploads/ads/1/xxx.jpg) ou null.
+ * previewImagePath é o preview 1200x630 gerado no upload (app.og.preview-image) ou null.
  */
 @Data
 @Builder
@@ -16,4 +17,5 @@ import lombok.NoArgsConstructor;
 public class AdOgResponse {
     private String title;
     private String imagePath;
+    private String previewImagePath;
 }
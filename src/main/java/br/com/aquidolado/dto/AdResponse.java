@@ -2,6 +2,8 @@ package br.com.aquidolado.dto;
 
 import br.com.aquidolado.domain.enums.AdStatus;
 import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +14,7 @@ import java.time.Instant;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSelection.FILTER)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,4 +42,42 @@ public class AdResponse {
 
     /** Preenchido quando o anúncio foi suspenso automaticamente por denúncias (status = PAUSED). */
     private Instant suspendedByReportsAt;
+
+    /**
+     * Linha das listagens (constructor expression em AdRepository.SELECT_LIST_ITEMS): só as colunas da resposta,
+     * sem montar Ad, User e Community. As imagens entram depois, numa consulta para a página toda; avaliações
+     * só valem para indicações.
+     */
+    public AdResponse(Long id, String title, String description, AdType type, BigDecimal price, AdStatus status,
+                      Long userId, String userName, String userWhatsapp, Long communityId, Instant createdAt,
+                      String recommendedContact, String serviceType, Instant suspendedByReportsAt,
+                      Long ratingCount, Double averageRating, Integer currentUserRating) {
+        this(id, title, description, type, price, status, userId, userName, userWhatsapp, communityId, createdAt,
+                recommendedContact, serviceType, suspendedByReportsAt);
+        if (type == AdType.RECOMMENDATION) {
+            this.ratingCount = ratingCount != null ? ratingCount : 0L;
+            this.averageRating = this.ratingCount > 0 ? averageRating : null;
+            this.currentUserRating = currentUserRating;
+        }
+    }
+
+    /** Linha sem avaliações (AdRepository.SELECT_LIST_ITEMS_WITHOUT_RATINGS), para ?fields= sem elas. */
+    public AdResponse(Long id, String title, String description, AdType type, BigDecimal price, AdStatus status,
+                      Long userId, String userName, String userWhatsapp, Long communityId, Instant createdAt,
+                      String recommendedContact, String serviceType, Instant suspendedByReportsAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.type = type;
+        this.price = price;
+        this.status = status;
+        this.userId = userId;
+        this.userName = userName;
+        this.userWhatsapp = userWhatsapp;
+        this.communityId = communityId;
+        this.createdAt = createdAt;
+        this.recommendedContact = recommendedContact;
+        this.serviceType = serviceType;
+        this.suspendedByReportsAt = suspendedByReportsAt;
+    }
 }
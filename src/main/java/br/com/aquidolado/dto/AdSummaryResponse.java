@@ -0,0 +1,69 @@
+package br.com.aquidolado.dto;
+
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Card do feed (GET /api/ads?view=summary): trecho da descrição e só a foto de capa. Contato, descrição
+ * completa e demais imagens ficam no detalhe (GET /api/ads/{id}).
+ */
+@Data
+@JsonFilter(FieldSelection.FILTER)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdSummaryResponse {
+
+    private Long id;
+    private String title;
+    /** Início da descrição, cortado no banco (app.feed-summary.snippet-chars). */
+    private String descriptionSnippet;
+    private AdType type;
+    private BigDecimal price;
+    private AdStatus status;
+    private Long userId;
+    private String userName;
+    private Long communityId;
+    private Instant createdAt;
+    /** Imagem de sort_order 0; null em indicações e anúncios sem foto. */
+    private String coverImageUrl;
+
+    /** Apenas quando type == RECOMMENDATION. */
+    private String serviceType;
+    private Double averageRating;
+    private Long ratingCount;
+    private Integer currentUserRating;
+
+    /** Linha do feed resumido (constructor expression em AdRepository.SELECT_SUMMARY_ITEMS). */
+    public AdSummaryResponse(Long id, String title, String descriptionSnippet, AdType type, BigDecimal price,
+                             AdStatus status, Long userId, String userName, Long communityId, Instant createdAt,
+                             String coverImageUrl, String serviceType,
+                             Long ratingCount, Double averageRating, Integer currentUserRating) {
+        this.id = id;
+        this.title = title;
+        this.descriptionSnippet = descriptionSnippet;
+        this.type = type;
+        this.price = price;
+        this.status = status;
+        this.userId = userId;
+        this.userName = userName;
+        this.communityId = communityId;
+        this.createdAt = createdAt;
+        this.coverImageUrl = coverImageUrl;
+        this.serviceType = serviceType;
+        if (type == AdType.RECOMMENDATION) {
+            this.ratingCount = ratingCount != null ? ratingCount : 0L;
+            this.averageRating = this.ratingCount > 0 ? averageRating : null;
+            this.currentUserRating = currentUserRating;
+        }
+    }
+}
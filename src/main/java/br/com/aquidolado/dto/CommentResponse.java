@@ -21,4 +21,14 @@ public class CommentResponse {
     private Instant createdAt;
     private long likeCount;
     private boolean currentUserLiked;
+
+    /** Linha da listagem (constructor expression); curtidas entram depois, em lote para a página. */
+    public CommentResponse(Long id, Long adId, Long userId, String userName, String text, Instant createdAt) {
+        this.id = id;
+        this.adId = adId;
+        this.userId = userId;
+        this.userName = userName;
+        this.text = text;
+        this.createdAt = createdAt;
+    }
 }
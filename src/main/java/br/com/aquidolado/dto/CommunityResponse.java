@@ -1,5 +1,7 @@
 package br.com.aquidolado.dto;
 
+import br.com.aquidolado.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +11,7 @@ import java.time.Instant;
 import java.util.List;
 
 @Data
+@JsonFilter(FieldSelection.FILTER)
 @Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,20 @@
+package br.com.aquidolado.dto;
+
+import br.com.aquidolado.domain.enums.AdType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** Linha do resumo semanal: só o necessário para o email (sem carregar autor, comunidade ou imagens). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DigestAdItem {
+
+    private Long id;
+    private String title;
+    private AdType type;
+    private BigDecimal price;
+}
@@ -17,4 +17,7 @@ public class UpdateProfileRequest {
 
     @Size(max = 500)
     private String address;
+
+    /** Opcional: quando informado, liga/desliga o recebimento do resumo semanal. */
+    private Boolean digestOptOut;
 }
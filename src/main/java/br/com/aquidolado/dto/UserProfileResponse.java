@@ -17,4 +17,5 @@ public class UserProfileResponse {
     private String whatsapp;
     private String address;
     private Boolean emailVerified;
+    private Boolean digestOptOut;
 }
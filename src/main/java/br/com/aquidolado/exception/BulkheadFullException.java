@@ -0,0 +1,11 @@
+package br.com.aquidolado.exception;
+
+/**
+ * Lançada quando um bulkhead (ex.: uploads de imagens) não tem vaga livre dentro do tempo de espera.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead '" + bulkhead + "' sem vagas livres");
+    }
+}
@@ -2,8 +2,11 @@ package br.com.aquidolado.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +51,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Credenciais inválidas"));
     }
 
+    /**
+     * Sem conexão livre no pool (timeout do Hikari ou da fila do ConnectionLimitingDataSource): 503 com Retry-After,
+     * que o ConcurrencyLimitFilter também conta como sobrecarga para reduzir o limite.
+     */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<Map<String, String>> handlePoolExhausted(Exception ex) {
+        log.warn("Sem conexão com o banco: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Servidor ocupado. Tente novamente em instantes."));
+    }
+
+    /** Sem vaga no bulkhead (ex.: muitos uploads de imagens ao mesmo tempo): 503 com Retry-After. */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, String>> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn("Requisição recusada: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Servidor ocupado. Tente novamente em instantes."));
+    }
+
     /**
      * Trata exceções quando o cliente fecha a conexão antes do servidor terminar de responder.
      * Isso é comum quando o usuário navega para outra página ou cancela a requisição.
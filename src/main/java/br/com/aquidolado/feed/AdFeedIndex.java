@@ -0,0 +1,318 @@
+package br.com.aquidolado.feed;
+
+import br.com.aquidolado.cache.CacheInvalidation;
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.repository.AdRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice em memória do feed: um {@link CommunityAdSnapshot} por comunidade quente, carregado na primeira
+ * listagem e descartado por LRU acima de app.feed-index.max-communities. O feed filtra, busca, ordena e
+ * pagina aqui, e o SQL só hidrata os anúncios da página. As mudanças (criação, edição, status, exclusão)
+ * entram no snapshot depois do commit, então uma transação desfeita não aparece no feed.
+ * Com várias instâncias, cada mudança local vai aos outros nós pelo {@link CacheInvalidationBus}, que descartam
+ * a comunidade (ou as que têm anúncios do autor) e recarregam na próxima listagem. Sem a escuta do barramento,
+ * snapshots mais velhos que app.feed-index.degraded-ttl-ms são recarregados.
+ * Métricas: aqui.feed_index.requests (tag result: hit/load/bypass), aqui.feed_index.load e aqui.feed_index.communities.
+ */
+@Slf4j
+@Component
+public class AdFeedIndex {
+
+    /** Comunidade com anúncios demais para o índice; o feed dela segue no SQL. */
+    private static final CommunityAdSnapshot OVERSIZED = CommunityAdSnapshot.of(List.of());
+
+    private final AdRepository adRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final int maxAdsPerCommunity;
+    private final long degradedTtlNanos;
+    private final Map<Long, CommunityAdSnapshot> snapshots;
+    /**
+     * Cargas em andamento por comunidade. Uma carga que cruzou com mudança na própria comunidade não é guardada
+     * (poderia estar velha); mudanças em outras comunidades não a afetam.
+     */
+    private final Map<Long, Loading> loading = new HashMap<>();
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter bypasses;
+    private final Timer loadTimer;
+
+    public AdFeedIndex(AdRepository adRepository, CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry,
+                       @Value("${app.feed-index.enabled:false}") boolean enabled,
+                       @Value("${app.feed-index.max-communities:500}") int maxCommunities,
+                       @Value("${app.feed-index.max-ads-per-community:20000}") int maxAdsPerCommunity,
+                       @Value("${app.feed-index.degraded-ttl-ms:30000}") long degradedTtlMs) {
+        this.adRepository = adRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.maxAdsPerCommunity = maxAdsPerCommunity;
+        this.degradedTtlNanos = TimeUnit.MILLISECONDS.toNanos(degradedTtlMs);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CommunityAdSnapshot> eldest) {
+                return size() > maxCommunities;
+            }
+        };
+        this.hits = requests(meterRegistry, "hit");
+        this.loads = requests(meterRegistry, "load");
+        this.bypasses = requests(meterRegistry, "bypass");
+        this.loadTimer = Timer.builder("aqui.feed_index.load")
+                .description("Carga do snapshot de uma comunidade no índice do feed")
+                .register(meterRegistry);
+        Gauge.builder("aqui.feed_index.communities", this, AdFeedIndex::communityCount)
+                .description("Comunidades carregadas no índice do feed")
+                .register(meterRegistry);
+        if (enabled) {
+            invalidationBus.subscribe(CacheInvalidation.Type.FEED_COMMUNITY, this::dropCommunity);
+            invalidationBus.subscribe(CacheInvalidation.Type.FEED_AUTHOR, this::dropCommunitiesOfAuthor);
+            invalidationBus.onResync(this::clear);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("aqui.feed_index.requests")
+                .description("Listagens do feed pelo índice em memória")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** true se esta listagem vai precisar carregar a comunidade (para o chamador fixar a leitura no primário). */
+    public boolean needsLoad(Long communityId, Pageable pageable) {
+        return enabled && CommunityAdSnapshot.supports(pageable) && snapshot(communityId) == null;
+    }
+
+    /**
+     * Ids da página pedida, na ordem do feed. Vazio quando o índice está desligado, a ordenação não é
+     * suportada ou a comunidade é grande demais; nesses casos o chamador usa o SQL.
+     * A carga de uma comunidade fria roda na transação do chamador.
+     */
+    public Optional<Page<Long>> search(Long communityId, List<AdType> types, String search, Pageable pageable) {
+        if (!enabled || !CommunityAdSnapshot.supports(pageable)) {
+            bypasses.increment();
+            return Optional.empty();
+        }
+        CommunityAdSnapshot snapshot = snapshot(communityId);
+        boolean cold = snapshot == null;
+        if (cold) {
+            snapshot = load(communityId);
+        }
+        if (snapshot == OVERSIZED) {
+            bypasses.increment();
+            return Optional.empty();
+        }
+        (cold ? loads : hits).increment();
+        return Optional.of(snapshot.search(types, search, pageable));
+    }
+
+    /** Anúncio criado, editado ou com status novo: entra (ACTIVE) ou sai do feed da comunidade. */
+    public void adChanged(Ad ad) {
+        if (!enabled) {
+            return;
+        }
+        long adId = ad.getId();
+        // Captura agora: depois do commit a sessão pode estar fechada
+        CommunityAdSnapshot.Entry entry = ad.getStatus() == AdStatus.ACTIVE ? CommunityAdSnapshot.Entry.of(ad) : null;
+        afterCommit(ad.getCommunity().getId(), snapshot -> entry != null ? snapshot.with(entry) : snapshot.without(adId));
+        invalidationBus.publish(CacheInvalidation.Type.FEED_COMMUNITY, ad.getCommunity().getId());
+    }
+
+    public void adDeleted(Long communityId, Long adId) {
+        if (enabled) {
+            afterCommit(communityId, snapshot -> snapshot.without(adId));
+            invalidationBus.publish(CacheInvalidation.Type.FEED_COMMUNITY, communityId);
+        }
+    }
+
+    /** Nome novo do autor nos anúncios dele, em todas as comunidades carregadas. */
+    public void authorRenamed(Long userId, String name) {
+        if (enabled) {
+            afterCommit(null, snapshot -> snapshot.withAuthorName(userId, name));
+            invalidationBus.publish(CacheInvalidation.Type.FEED_AUTHOR, userId);
+        }
+    }
+
+    /** Anúncios do autor saem de todas as comunidades carregadas (exclusão de conta). */
+    public void authorRemoved(Long userId) {
+        if (enabled) {
+            afterCommit(null, snapshot -> snapshot.withoutAuthor(userId));
+            invalidationBus.publish(CacheInvalidation.Type.FEED_AUTHOR, userId);
+        }
+    }
+
+    /** Comunidade excluída ou mexida em massa: a próxima listagem recarrega do banco. */
+    public void evictCommunity(Long communityId) {
+        if (enabled) {
+            afterCommit(() -> dropCommunity(communityId));
+            invalidationBus.publish(CacheInvalidation.Type.FEED_COMMUNITY, communityId);
+        }
+    }
+
+    private void dropCommunity(long communityId) {
+        synchronized (snapshots) {
+            changed(communityId);
+            snapshots.remove(communityId);
+        }
+    }
+
+    /** Mudança de autor vinda de outro nó: sem o dado novo, descarta as comunidades onde ele anuncia. */
+    private void dropCommunitiesOfAuthor(long userId) {
+        synchronized (snapshots) {
+            changedAllLoading();
+            snapshots.values().removeIf(snapshot -> snapshot.hasAuthor(userId));
+        }
+    }
+
+    /** Esvazia o índice (ex.: carga direta no banco pelo PerfDataSeeder). */
+    public void clear() {
+        synchronized (snapshots) {
+            changedAllLoading();
+            snapshots.clear();
+        }
+    }
+
+    /** Chamado com o lock de snapshots. */
+    private void changed(Long communityId) {
+        Loading inFlight = loading.get(communityId);
+        if (inFlight != null) {
+            inFlight.changes++;
+        }
+    }
+
+    /**
+     * Mudanças de autor: não dá para saber se ele anuncia numa comunidade que ainda está carregando, então
+     * invalida as cargas em andamento (só as que cruzaram com a mudança). Chamado com o lock de snapshots.
+     */
+    private void changedAllLoading() {
+        loading.values().forEach(inFlight -> inFlight.changes++);
+    }
+
+    /** Snapshot carregado; null se ausente ou, sem a escuta de invalidações, mais velho que o TTL de contingência. */
+    private CommunityAdSnapshot snapshot(Long communityId) {
+        CommunityAdSnapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(communityId);
+        }
+        if (snapshot != null && snapshot != OVERSIZED && invalidationBus.isDegraded()
+                && System.nanoTime() - snapshot.getLoadedAtNanos() > degradedTtlNanos) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    private int communityCount() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    private CommunityAdSnapshot load(Long communityId) {
+        Loading inFlight;
+        long seen;
+        synchronized (snapshots) {
+            inFlight = loading.computeIfAbsent(communityId, id -> new Loading());
+            inFlight.loaders++;
+            seen = inFlight.changes;
+        }
+        boolean current = false;
+        CommunityAdSnapshot snapshot;
+        try {
+            long start = System.nanoTime();
+            List<Object[]> rows = adRepository.findFeedIndexRows(communityId, AdStatus.ACTIVE,
+                    PageRequest.of(0, maxAdsPerCommunity + 1));
+            snapshot = rows.size() > maxAdsPerCommunity
+                    ? OVERSIZED
+                    : CommunityAdSnapshot.of(rows.stream().map(CommunityAdSnapshot.Entry::ofRow).toList());
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            current = true;
+        } finally {
+            synchronized (snapshots) {
+                current = current && inFlight.changes == seen;
+                if (--inFlight.loaders == 0) {
+                    loading.remove(communityId);
+                }
+            }
+        }
+        if (snapshot == OVERSIZED) {
+            log.info("📇 [FEED-INDEX] Comunidade {} com mais de {} anúncios ativos; feed dela fica no SQL",
+                    communityId, maxAdsPerCommunity);
+        }
+        if (current) {
+            synchronized (snapshots) {
+                snapshots.put(communityId, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /** Mudança só em comunidades carregadas; communityId null aplica em todas. */
+    private void afterCommit(Long communityId, UnaryOperator<CommunityAdSnapshot> change) {
+        afterCommit(() -> apply(communityId, change));
+    }
+
+    /** Roda depois do commit da transação atual (na hora, fora de transação). */
+    private void afterCommit(Runnable apply) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void apply(Long communityId, UnaryOperator<CommunityAdSnapshot> change) {
+        synchronized (snapshots) {
+            if (communityId != null) {
+                changed(communityId);
+                update(communityId, snapshots.get(communityId), change);
+            } else {
+                changedAllLoading();
+                for (Map.Entry<Long, CommunityAdSnapshot> entry : List.copyOf(snapshots.entrySet())) {
+                    update(entry.getKey(), entry.getValue(), change);
+                }
+            }
+        }
+    }
+
+    private void update(Long communityId, CommunityAdSnapshot current, UnaryOperator<CommunityAdSnapshot> change) {
+        if (current == null || current == OVERSIZED) {
+            return;
+        }
+        CommunityAdSnapshot next = change.apply(current);
+        if (next != current) {
+            snapshots.put(communityId, next);
+        }
+    }
+
+    /** Carga de uma comunidade em andamento (várias requisições podem carregar a mesma ao mesmo tempo). */
+    private static final class Loading {
+        private int loaders;
+        private long changes;
+    }
+}
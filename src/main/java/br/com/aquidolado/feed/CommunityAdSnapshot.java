@@ -0,0 +1,291 @@
+package br.com.aquidolado.feed;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.enums.AdType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Anúncios ACTIVE de uma comunidade em arrays paralelos, ordenados por createdAt desc (id desc no empate).
+ * Imutável: cada mudança gera um snapshot novo (cópia de poucos milhares de posições), então a busca
+ * lê sem trava. O texto pesquisável junta título, descrição e tipo de serviço em minúsculas; o nome do
+ * autor fica à parte para poder mudar sem recarregar a comunidade.
+ */
+public final class CommunityAdSnapshot {
+
+    /** Campos de ordenação que a busca em memória sabe reproduzir; os demais caem no SQL. */
+    private static final Set<String> SORTABLE = Set.of("createdAt", "type");
+
+    /** Posição de cada tipo na ordenação do banco (enum gravado como texto, logo ordem alfabética). */
+    private static final int[] TYPE_RANK = new int[AdType.values().length];
+
+    static {
+        AdType[] byName = AdType.values().clone();
+        Arrays.sort(byName, Comparator.comparing(AdType::name));
+        for (int rank = 0; rank < byName.length; rank++) {
+            TYPE_RANK[byName[rank].ordinal()] = rank;
+        }
+    }
+
+    private final long[] ids;
+    private final byte[] types;
+    private final long[] createdAt;
+    private final long[] authorIds;
+    private final String[] texts;
+    private final String[] authors;
+    /** Quando os dados vieram do banco (System.nanoTime); mudanças incrementais mantêm o valor. */
+    private final long loadedAtNanos;
+
+    private CommunityAdSnapshot(long[] ids, byte[] types, long[] createdAt, long[] authorIds,
+                                String[] texts, String[] authors, long loadedAtNanos) {
+        this.ids = ids;
+        this.types = types;
+        this.createdAt = createdAt;
+        this.authorIds = authorIds;
+        this.texts = texts;
+        this.authors = authors;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    /** Uma linha do índice, já em minúsculas. */
+    public static final class Entry {
+
+        final long id;
+        final byte type;
+        final long createdAt;
+        final long authorId;
+        final String text;
+        final String author;
+
+        public Entry(long id, AdType type, Instant createdAt, long authorId,
+                     String title, String description, String serviceType, String authorName) {
+            this.id = id;
+            this.type = (byte) type.ordinal();
+            this.createdAt = epochNanos(createdAt);
+            this.authorId = authorId;
+            this.text = lower(title) + '\u0000' + lower(description) + '\u0000' + lower(serviceType);
+            this.author = lower(authorName);
+        }
+
+        public static Entry of(Ad ad) {
+            return new Entry(ad.getId(), ad.getType(), ad.getCreatedAt(), ad.getUser().getId(),
+                    ad.getTitle(), ad.getDescription(), ad.getServiceType(), ad.getUser().getName());
+        }
+
+        /** Linha de AdRepository.findFeedIndexRows: [id, type, createdAt, title, description, serviceType, userId, userName]. */
+        public static Entry ofRow(Object[] row) {
+            return new Entry((Long) row[0], (AdType) row[1], (Instant) row[2], (Long) row[6],
+                    (String) row[3], (String) row[4], (String) row[5], (String) row[7]);
+        }
+    }
+
+    public static CommunityAdSnapshot of(List<Entry> entries) {
+        Entry[] sorted = entries.toArray(Entry[]::new);
+        Arrays.sort(sorted, Comparator.<Entry>comparingLong(e -> e.createdAt).thenComparingLong(e -> e.id).reversed());
+        int n = sorted.length;
+        CommunityAdSnapshot snapshot = new CommunityAdSnapshot(new long[n], new byte[n], new long[n], new long[n],
+                new String[n], new String[n], System.nanoTime());
+        for (int i = 0; i < n; i++) {
+            snapshot.set(i, sorted[i]);
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    public boolean hasAuthor(long userId) {
+        for (long authorId : authorIds) {
+            if (authorId == userId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Insere ou substitui o anúncio, mantendo a ordem por createdAt desc. */
+    public CommunityAdSnapshot with(Entry entry) {
+        CommunityAdSnapshot base = without(entry.id);
+        int n = base.ids.length;
+        int at = 0;
+        while (at < n && before(base.createdAt[at], base.ids[at], entry.createdAt, entry.id)) {
+            at++;
+        }
+        CommunityAdSnapshot next = base.copy(n + 1, at, at + 1);
+        next.set(at, entry);
+        return next;
+    }
+
+    public CommunityAdSnapshot without(long adId) {
+        int at = indexOf(adId);
+        return at < 0 ? this : copy(ids.length - 1, at + 1, at);
+    }
+
+    /** Troca o nome do autor em todos os anúncios dele (edição de perfil). */
+    public CommunityAdSnapshot withAuthorName(long userId, String name) {
+        String lowered = lower(name);
+        CommunityAdSnapshot next = null;
+        for (int i = 0; i < ids.length; i++) {
+            if (authorIds[i] == userId) {
+                if (next == null) {
+                    next = copy(ids.length, ids.length, ids.length);
+                }
+                next.authors[i] = lowered;
+            }
+        }
+        return next != null ? next : this;
+    }
+
+    /** Tira todos os anúncios do autor (conta em exclusão). */
+    public CommunityAdSnapshot withoutAuthor(long userId) {
+        CommunityAdSnapshot next = this;
+        for (int i = ids.length - 1; i >= 0; i--) {
+            if (authorIds[i] == userId) {
+                next = next.copy(next.ids.length - 1, i + 1, i);
+            }
+        }
+        return next;
+    }
+
+    public static boolean supports(Pageable pageable) {
+        return pageable.isPaged() && pageable.getSort().stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+
+    /**
+     * Filtra por tipos e termo (mesma regra do COMMUNITY_FILTERS: termo contido no título, descrição,
+     * tipo de serviço ou nome do autor), ordena e devolve só os ids da página pedida.
+     * Sem ordenação explícita, usa createdAt desc.
+     */
+    public Page<Long> search(List<AdType> typeFilter, String search, Pageable pageable) {
+        int typeMask = -1;
+        if (typeFilter != null && !typeFilter.isEmpty()) {
+            typeMask = 0;
+            for (AdType type : typeFilter) {
+                typeMask |= 1 << type.ordinal();
+            }
+        }
+        String term = search != null && !search.isBlank() ? search.trim().toLowerCase(Locale.ROOT) : null;
+
+        int[] matches = new int[ids.length];
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if ((typeMask & (1 << types[i])) != 0
+                    && (term == null || texts[i].contains(term) || authors[i].contains(term))) {
+                matches[count++] = i;
+            }
+        }
+        order(matches, count, pageable.getSort());
+
+        long offset = pageable.getOffset();
+        int from = (int) Math.min(offset, count);
+        int to = (int) Math.min(offset + pageable.getPageSize(), count);
+        Long[] page = new Long[to - from];
+        for (int i = from; i < to; i++) {
+            page[i - from] = ids[matches[i]];
+        }
+        return new PageImpl<>(Arrays.asList(page), pageable, count);
+    }
+
+    /** Os matches já vêm em createdAt desc; inverte para asc e agrupa por tipo (estável) quando pedido. */
+    private void order(int[] matches, int count, Sort sort) {
+        Sort.Order byCreatedAt = sort.getOrderFor("createdAt");
+        if (byCreatedAt != null && byCreatedAt.isAscending()) {
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int tmp = matches[i];
+                matches[i] = matches[j];
+                matches[j] = tmp;
+            }
+        }
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        if (first == null || !"type".equals(first.getProperty())) {
+            return;
+        }
+        // Counting sort pelos poucos tipos, preservando a ordem de createdAt dentro de cada um
+        int buckets = TYPE_RANK.length;
+        int[] starts = new int[buckets + 1];
+        for (int i = 0; i < count; i++) {
+            starts[bucket(matches[i], first) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] sorted = new int[count];
+        for (int i = 0; i < count; i++) {
+            sorted[starts[bucket(matches[i], first)]++] = matches[i];
+        }
+        System.arraycopy(sorted, 0, matches, 0, count);
+    }
+
+    private int bucket(int index, Sort.Order byType) {
+        int rank = TYPE_RANK[types[index]];
+        return byType.isAscending() ? rank : TYPE_RANK.length - 1 - rank;
+    }
+
+    private int indexOf(long adId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == adId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cópia com {@code size} posições: [0, split) vem igual e o resto do original, a partir de
+     * {@code srcFrom}, vai para a posição {@code dstFrom} (abre ou fecha uma vaga).
+     */
+    private CommunityAdSnapshot copy(int size, int srcFrom, int dstFrom) {
+        int split = Math.min(srcFrom, dstFrom);
+        CommunityAdSnapshot next = new CommunityAdSnapshot(new long[size], new byte[size], new long[size],
+                new long[size], new String[size], new String[size], loadedAtNanos);
+        int tail = ids.length - srcFrom;
+        copy(ids, next.ids, split, srcFrom, dstFrom, tail);
+        copy(types, next.types, split, srcFrom, dstFrom, tail);
+        copy(createdAt, next.createdAt, split, srcFrom, dstFrom, tail);
+        copy(authorIds, next.authorIds, split, srcFrom, dstFrom, tail);
+        copy(texts, next.texts, split, srcFrom, dstFrom, tail);
+        copy(authors, next.authors, split, srcFrom, dstFrom, tail);
+        return next;
+    }
+
+    private static void copy(Object src, Object dst, int split, int srcFrom, int dstFrom, int tail) {
+        System.arraycopy(src, 0, dst, 0, split);
+        System.arraycopy(src, srcFrom, dst, dstFrom, tail);
+    }
+
+    private void set(int i, Entry entry) {
+        ids[i] = entry.id;
+        types[i] = entry.type;
+        createdAt[i] = entry.createdAt;
+        authorIds[i] = entry.authorId;
+        texts[i] = entry.text;
+        authors[i] = entry.author;
+    }
+
+    /** true se (createdAt, id) vem antes na ordem desc. */
+    private static boolean before(long createdAtA, long idA, long createdAtB, long idB) {
+        return createdAtA != createdAtB ? createdAtA > createdAtB : idA > idB;
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+}
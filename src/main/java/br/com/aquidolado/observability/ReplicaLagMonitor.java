@@ -0,0 +1,63 @@
+package br.com.aquidolado.observability;
+
+import br.com.aquidolado.concurrency.ReadReplicaDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o atraso da réplica de leitura periodicamente. Acima de app.replica-datasource.max-lag-ms (ou sem
+ * resposta) as leituras voltam ao primário até a réplica se recuperar.
+ * Métricas: aqui.db.replica.lag (ms) e aqui.db.replica.usable (1/0).
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${app.replica-datasource.url:}' != ''")
+public class ReplicaLagMonitor {
+
+    private final ReadReplicaDataSource replica;
+    private final long maxLagMs;
+    private final AtomicLong lagMs = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource dataSource, MeterRegistry meterRegistry,
+                             @Value("${app.replica-datasource.max-lag-ms:5000}") long maxLagMs) throws SQLException {
+        this.replica = dataSource.unwrap(ReadReplicaDataSource.class);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("aqui.db.replica.lag", lagMs, AtomicLong::get)
+                .description("Atraso de replay da réplica de leitura (ms)")
+                .register(meterRegistry);
+        Gauge.builder("aqui.db.replica.usable", replica, r -> r.isReplicaUsable() ? 1 : 0)
+                .description("1 se as leituras estão indo para a réplica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica-datasource.lag-check-ms:5000}")
+    public void check() {
+        boolean usable;
+        try {
+            long lag = replica.replicaLagMillis();
+            lagMs.set(lag);
+            usable = lag <= maxLagMs;
+        } catch (SQLException e) {
+            log.warn("🗄️ [REPLICA] Réplica sem resposta: {}", e.getMessage());
+            usable = false;
+        }
+        if (usable != replica.isReplicaUsable()) {
+            if (usable) {
+                log.info("🗄️ [REPLICA] Réplica de volta (atraso {}ms); leituras readOnly voltam para ela", lagMs.get());
+            } else {
+                log.warn("🗄️ [REPLICA] Réplica atrasada ou fora (atraso {}ms, limite {}ms); leituras no primário",
+                        lagMs.get(), maxLagMs);
+            }
+            replica.setReplicaUsable(usable);
+        }
+    }
+}
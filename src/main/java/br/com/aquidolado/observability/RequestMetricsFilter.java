@@ -0,0 +1,91 @@
+package br.com.aquidolado.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+/**
+ * Abre os {@link RequestTimings} da requisição e, ao final, registra quantos comandos SQL ela executou
+ * (aqui.http.db.statements) e quanto alocou no heap (aqui.http.allocated), e loga em uma linha estruturada as requisições acima do limite de lentidão.
+ * A tag uri é o template da rota (ex.: /api/ads/{id}), nunca o path bruto, para manter a cardinalidade baixa.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.server-timing.slow-request-ms:1000}")
+    private long slowRequestMs;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            String uri = routeTemplate(request);
+            DistributionSummary.builder("aqui.http.db.statements")
+                    .description("Comandos SQL executados por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(timings.getStatementCount());
+            long allocated = timings.getAllocatedBytes();
+            if (allocated >= 0) {
+                DistributionSummary.builder("aqui.http.allocated")
+                        .description("Bytes alocados no heap pela thread da requisição")
+                        .baseUnit("bytes")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry)
+                        .record(allocated);
+            }
+            if (timings.getElapsedMillis() >= slowRequestMs) {
+                logSlowRequest(request, response, uri, timings);
+            }
+        }
+    }
+
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, String uri, RequestTimings timings) {
+        String slowest = timings.getSlowest().stream()
+                .map(s -> String.format("%.1fms %s", s.getNanos() / 1e6, s.getSql()))
+                .collect(Collectors.joining(" | "));
+        log.warn("⏱️ [SLOW] method={} uri={} status={} total_ms={} db_count={} db_ms={} storage_ms={} ser_ms={} alloc_kb={} slowest=[{}]",
+                request.getMethod(), uri, response.getStatus(),
+                String.format("%.1f", timings.getElapsedMillis()),
+                timings.getStatementCount(),
+                String.format("%.1f", timings.getStatementMillis()),
+                String.format("%.1f", timings.getStorageMillis()),
+                String.format("%.1f", timings.getSerializationMillis()),
+                timings.getAllocatedBytes() / 1024,
+                slowest);
+    }
+
+    static String routeTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.aquidolado.observability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Acumuladores da requisição atual (thread da requisição): SQL (quantidade, tempo e os mais lentos),
+ * armazenamento, serialização e bytes alocados no heap pela thread. Aberto/fechado pelo RequestMetricsFilter;
+ * fora dele as chamadas são ignoradas.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final int SLOWEST_KEPT = 5;
+    private static final int MAX_SQL_LENGTH = 300;
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final long startNanos = System.nanoTime();
+    private final long startAllocatedBytes = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    private int statementCount;
+    private long statementNanos;
+    private long storageNanos;
+    private long serializationNanos;
+    private final List<SlowStatement> slowest = new ArrayList<>(SLOWEST_KEPT + 1);
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlowStatement {
+        private final String sql;
+        private final long nanos;
+    }
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /** Timings da requisição em andamento, ou null fora de uma requisição. */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordStatement(String sql, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return;
+        }
+        timings.statementCount++;
+        timings.statementNanos += nanos;
+        List<SlowStatement> slowest = timings.slowest;
+        if (slowest.size() < SLOWEST_KEPT || nanos > slowest.get(slowest.size() - 1).getNanos()) {
+            String text = sql == null ? "?" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "…" : sql;
+            slowest.add(new SlowStatement(text.replaceAll("\\s+", " "), nanos));
+            slowest.sort(Comparator.comparingLong(SlowStatement::getNanos).reversed());
+            if (slowest.size() > SLOWEST_KEPT) {
+                slowest.remove(SLOWEST_KEPT);
+            }
+        }
+    }
+
+    public static void recordStorage(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.storageNanos += nanos;
+        }
+    }
+
+    public static void recordSerialization(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.serializationNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public double getStatementMillis() {
+        return statementNanos / 1e6;
+    }
+
+    public double getStorageMillis() {
+        return storageNanos / 1e6;
+    }
+
+    public double getSerializationMillis() {
+        return serializationNanos / 1e6;
+    }
+
+    public double getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1e6;
+    }
+
+    /**
+     * Bytes alocados pela thread da requisição desde o início (trabalho feito em outras threads não entra),
+     * ou -1 quando a JVM não mede (ex.: virtual threads no JDK 21).
+     */
+    public long getAllocatedBytes() {
+        if (startAllocatedBytes < 0) {
+            return -1;
+        }
+        long now = THREADS.getCurrentThreadAllocatedBytes();
+        return now < 0 ? -1 : now - startAllocatedBytes;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    /** Comandos mais lentos, do mais lento para o mais rápido. */
+    public List<SlowStatement> getSlowest() {
+        return List.copyOf(slowest);
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.aquidolado.observability;
+
+import br.com.aquidolado.security.CurrentUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adiciona o header Server-Timing (db, storage, ser, total) com os {@link RequestTimings} da requisição.
+ * Ativo para todos quando app.server-timing.enabled=true (dev/homolog) ou só para os emails em
+ * app.server-timing.admin-emails. Roda depois do filtro de segurança para saber quem é o usuário; o
+ * corpo vai para buffer porque o header só pode ser escrito depois da serialização.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final Set<String> adminEmails;
+
+    public ServerTimingFilter(@Value("${app.server-timing.enabled:false}") boolean enabled,
+                              @Value("${app.server-timing.admin-emails:}") String adminEmails) {
+        this.enabled = enabled;
+        this.adminEmails = Arrays.stream(adminEmails.split(","))
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null || !isEnabledFor()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            buffered.setHeader("Server-Timing", String.format(Locale.ROOT,
+                    "db;dur=%.1f;desc=\"%d queries\", storage;dur=%.1f, ser;dur=%.1f, total;dur=%.1f",
+                    timings.getStatementMillis(), timings.getStatementCount(),
+                    timings.getStorageMillis(), timings.getSerializationMillis(), timings.getElapsedMillis()));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private boolean isEnabledFor() {
+        if (enabled) {
+            return true;
+        }
+        if (adminEmails.isEmpty()) {
+            return false;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof CurrentUser user
+                && adminEmails.contains(user.getUsername().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.aquidolado.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/** Conversor CBOR (Accept: application/cbor) com a mesma medição de {@link TimedJacksonHttpMessageConverter}. */
+public class TimedJacksonCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public TimedJacksonCborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTimings.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
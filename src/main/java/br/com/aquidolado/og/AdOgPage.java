@@ -0,0 +1,44 @@
+package br.com.aquidolado.og;
+
+import br.com.aquidolado.dto.AdOgResponse;
+import br.com.aquidolado.storage.ImageCompressionService;
+
+import static org.springframework.web.util.HtmlUtils.htmlEscape;
+
+/**
+ * Página HTML mínima com as meta tags Open Graph do anúncio, para o link compartilhado apontar direto para a API:
+ * o crawler lê as tags e quem abre no navegador é levado ao anúncio no front.
+ */
+public final class AdOgPage {
+
+    private AdOgPage() {
+    }
+
+    /**
+     * @param adUrl    endereço do anúncio no front (og:url e redirecionamento)
+     * @param imageUrl URL absoluta da imagem ou null
+     * @param preview  true se a imagem é o preview 1200x630 (declara as dimensões para o cartão grande)
+     */
+    public static String render(AdOgResponse og, String adUrl, String imageUrl, boolean preview) {
+        String title = htmlEscape(og.getTitle(), "UTF-8");
+        String url = htmlEscape(adUrl, "UTF-8");
+        StringBuilder html = new StringBuilder(768)
+                .append("<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<title>").append(title).append("</title>\n")
+                .append("<meta property=\"og:type\" content=\"website\">\n")
+                .append("<meta property=\"og:site_name\" content=\"Aquidolado\">\n")
+                .append("<meta property=\"og:title\" content=\"").append(title).append("\">\n")
+                .append("<meta property=\"og:url\" content=\"").append(url).append("\">\n");
+        if (imageUrl != null) {
+            html.append("<meta property=\"og:image\" content=\"").append(htmlEscape(imageUrl, "UTF-8")).append("\">\n");
+            if (preview) {
+                html.append("<meta property=\"og:image:width\" content=\"").append(ImageCompressionService.OG_WIDTH).append("\">\n")
+                        .append("<meta property=\"og:image:height\" content=\"").append(ImageCompressionService.OG_HEIGHT).append("\">\n");
+            }
+            html.append("<meta name=\"twitter:card\" content=\"summary_large_image\">\n");
+        }
+        return html.append("<meta http-equiv=\"refresh\" content=\"0;url=").append(url).append("\">\n")
+                .append("</head>\n<body><a href=\"").append(url).append("\">").append(title).append("</a></body>\n</html>\n")
+                .toString();
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.aquidolado.og;
+
+import br.com.aquidolado.cache.CacheInvalidation;
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.concurrency.ReadYourWrites;
+import br.com.aquidolado.dto.AdOgResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache do preview público (Open Graph) dos anúncios, o endpoint batido por todo crawler de WhatsApp/Telegram
+ * quando um link é compartilhado. Guarda também o "não encontrado", e misses simultâneos do mesmo anúncio
+ * esperam uma única carga (single-flight) em vez de repetir as consultas.
+ * Edição, mudança de status e exclusão descartam a entrada depois do commit, aqui e nos outros nós
+ * ({@link CacheInvalidationBus}); uma carga que cruzou com a invalidação não é guardada, e a carga lê do
+ * primário (uma réplica atrasada logo depois da edição deixaria o preview velho pelo TTL inteiro). O TTL
+ * (app.og.cache-ttl-seconds, ou app.og.degraded-ttl-ms sem a escuta do barramento) só cobre o que escapar disso.
+ * Métricas: aqui.og_cache.requests (tag result: hit/load/coalesced) e aqui.og_cache.size.
+ */
+@Component
+public class AdPreviewCache {
+
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long degradedTtlNanos;
+    private final Map<Long, Cached> entries;
+    /** Cargas em andamento; a invalidação tira a do anúncio daqui e a carga deixa de ser guardada. */
+    private final Map<Long, CompletableFuture<Optional<AdOgResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter coalesced;
+
+    private static final class Cached {
+        private final Optional<AdOgResponse> data;
+        private final long loadedAtNanos;
+
+        private Cached(Optional<AdOgResponse> data, long loadedAtNanos) {
+            this.data = data;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    public AdPreviewCache(CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry,
+                          @Value("${app.og.cache-enabled:true}") boolean enabled,
+                          @Value("${app.og.cache-max-ads:10000}") int maxAds,
+                          @Value("${app.og.cache-ttl-seconds:600}") long ttlSeconds,
+                          @Value("${app.og.degraded-ttl-ms:30000}") long degradedTtlMs) {
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.degradedTtlNanos = TimeUnit.MILLISECONDS.toNanos(degradedTtlMs);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                return size() > maxAds;
+            }
+        };
+        this.hits = requests(meterRegistry, "hit");
+        this.loads = requests(meterRegistry, "load");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        Gauge.builder("aqui.og_cache.size", this, AdPreviewCache::size)
+                .description("Anúncios no cache do preview Open Graph")
+                .register(meterRegistry);
+        if (enabled) {
+            invalidationBus.subscribe(CacheInvalidation.Type.AD_PREVIEW, this::drop);
+            invalidationBus.onResync(this::clear);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("aqui.og_cache.requests")
+                .description("Consultas ao preview Open Graph dos anúncios")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Preview do anúncio (vazio = não existe ou foi removido). No miss, só a primeira requisição chama o
+     * loader (na thread dela, com a transação dele, presa ao primário); as simultâneas esperam o mesmo resultado.
+     */
+    public Optional<AdOgResponse> get(Long adId, Function<Long, Optional<AdOgResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(adId);
+        }
+        Cached cached;
+        synchronized (entries) {
+            cached = entries.get(adId);
+        }
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos <= ttlNanos()) {
+            hits.increment();
+            return cached.data;
+        }
+        CompletableFuture<Optional<AdOgResponse>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<AdOgResponse>> running = inFlight.putIfAbsent(adId, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        loads.increment();
+        // O que é guardado vale até a próxima invalidação: nada de réplica atrasada. A conexão só é obtida
+        // no primeiro SQL do loader, então a marcação vale para a transação toda
+        boolean pinned = !ReadYourWrites.isPinned();
+        if (pinned) {
+            ReadYourWrites.pinToPrimary();
+        }
+        try {
+            long start = System.nanoTime();
+            Optional<AdOgResponse> data = loader.apply(adId);
+            synchronized (entries) {
+                if (inFlight.get(adId) == mine) {
+                    entries.put(adId, new Cached(data, start));
+                }
+            }
+            mine.complete(data);
+            return data;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(adId, mine);
+            if (pinned) {
+                ReadYourWrites.clear();
+            }
+        }
+    }
+
+    /** Anúncio criado, editado, com status novo ou excluído: descarta depois do commit, aqui e nos outros nós. */
+    public void invalidate(Long adId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(adId);
+                }
+            });
+        } else {
+            drop(adId);
+        }
+        invalidationBus.publish(CacheInvalidation.Type.AD_PREVIEW, adId);
+    }
+
+    private void drop(long adId) {
+        synchronized (entries) {
+            inFlight.remove(adId);
+            entries.remove(adId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            inFlight.clear();
+            entries.clear();
+        }
+    }
+
+    private long ttlNanos() {
+        return invalidationBus.isDegraded() ? Math.min(ttlNanos, degradedTtlNanos) : ttlNanos;
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Espera a carga de outra requisição; falha dela vira falha desta, com a exceção original (400/500 iguais). */
+    private static Optional<AdOgResponse> await(CompletableFuture<Optional<AdOgResponse>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.aquidolado.perf;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+
+/**
+ * Linhas CSV acumuladas em memória para um {@code COPY tabela (colunas) FROM STDIN} da tabela.
+ * Campo null vira vazio sem aspas (NULL no COPY csv); string vazia vai entre aspas.
+ */
+final class CopyBuffer {
+
+    private final String sql;
+    private final StringBuilder rows = new StringBuilder(1 << 20);
+    private int pending;
+    private long total;
+
+    CopyBuffer(String table, String columns) {
+        this.sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    CopyBuffer row(Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            append(values[i]);
+        }
+        rows.append('\n');
+        pending++;
+        return this;
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!(value instanceof String text)) {
+            rows.append(value);
+            return;
+        }
+        if (!text.isEmpty() && text.chars().noneMatch(ch -> ch == ',' || ch == '"' || ch == '\n' || ch == '\r')) {
+            rows.append(text);
+            return;
+        }
+        rows.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    long total() {
+        return total;
+    }
+
+    void flush(CopyManager copyManager) throws SQLException, IOException {
+        if (pending == 0) {
+            return;
+        }
+        copyManager.copyIn(sql, new StringReader(rows.toString()));
+        total += pending;
+        pending = 0;
+        rows.setLength(0);
+    }
+}
@@ -0,0 +1,544 @@
+package br.com.aquidolado.perf;
+
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.domain.enums.EventType;
+import br.com.aquidolado.domain.enums.ReportReason;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.og.AdPreviewCache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Gera volume realista para testes de carga e benchmarks (profile perf): milhares de comunidades,
+ * ~100k usuários com várias comunidades cada e milhões de anúncios com imagens, avaliações,
+ * comentários, curtidas, denúncias e eventos. Complementa o DevDataSeeder (que roda antes e cria o
+ * usuário seed@aqui.local, colocado aqui como membro e administrador do maior condomínio).
+ *
+ * Distribuições assimétricas: tamanho das comunidades e volume de anúncios seguem Zipf (poucos
+ * mega-condomínios concentram a maior parte), autores e engajamento seguem lei de potência.
+ * Mesma semente + mesmos parâmetros = mesmos dados. Carga via COPY em lotes, na ordem das FKs,
+ * com ids explícitos a partir do maior id existente; as sequences são ajustadas no final.
+ *
+ * Não roda de novo se já encontrar usuários perf-*; para regenerar, use um banco vazio.
+ */
+@Slf4j
+@Profile("perf")
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class PerfDataSeeder implements CommandLineRunner {
+
+    static final String EMAIL_DOMAIN = "@perf.aqui.local";
+    static final String PASSWORD = "123456";
+    private static final String SEED_EMAIL = "seed@aqui.local";
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Karina", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela",
+            "Samuel", "Tatiana", "Vinícius"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+            "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Araújo", "Ribeiro", "Gomes", "Martins"};
+    private static final String[] COMMUNITY_PREFIXES = {"Residencial", "Condomínio", "Edifício", "Parque", "Vila"};
+    private static final String[] COMMUNITY_NAMES = {"das Flores", "Jardim Europa", "Bela Vista", "Ipês",
+            "Solar", "Morumbi", "Águas Claras", "Primavera", "Horizonte", "Boa Vista", "Laranjeiras", "Pinheiros"};
+    private static final String[] SALE_ITEMS = {"Bicicleta aro 29", "Sofá 3 lugares", "Geladeira frost free",
+            "Carrinho de bebê", "Mesa de jantar", "Notebook", "Guarda-roupa", "Air fryer", "Patinete elétrico",
+            "Estante de livros"};
+    private static final String[] RENT_ITEMS = {"Furadeira", "Vaga de garagem", "Escada", "Lavadora de alta pressão",
+            "Barraca de camping", "Projetor"};
+    private static final String[] SERVICES = {"Montagem de móveis", "Aulas de inglês", "Manicure", "Passeio com cães",
+            "Bolos sob encomenda", "Conserto de celular", "Personal trainer"};
+    private static final String[] DONATIONS = {"Livros infantis", "Roupas de bebê", "Brinquedos", "Vasos de plantas",
+            "Revistas", "Cobertores"};
+    private static final String[] RECOMMENDED = {"Eletricista", "Encanador", "Diarista", "Pintor", "Chaveiro",
+            "Marceneiro", "Técnico de ar-condicionado", "Jardineiro"};
+    private static final String[] COMMENTS = {"Recomendo muito!", "Fez um ótimo serviço aqui em casa.",
+            "Pontual e caprichoso.", "Preço justo, voltarei a chamar.", "Atendeu no mesmo dia.",
+            "Bom, mas demorou um pouco."};
+
+    /** Tipos e pesos (venda/troca domina, indicações ~15%). */
+    private static final AdType[] TYPES = {AdType.SALE_TRADE, AdType.SERVICE, AdType.RENT, AdType.DONATION, AdType.RECOMMENDATION};
+    private static final double[] TYPE_WEIGHTS = {0.45, 0.20, 0.10, 0.10, 0.15};
+    private static final AdStatus[] STATUSES = {AdStatus.ACTIVE, AdStatus.PAUSED, AdStatus.CLOSED};
+    private static final double[] STATUS_WEIGHTS = {0.80, 0.05, 0.15};
+    private static final double[] IMAGE_COUNT_WEIGHTS = {0.10, 0.30, 0.30, 0.15, 0.10, 0.05};
+    /** Notas concentradas no alto (1..5). */
+    private static final double[] RATING_WEIGHTS = {0.04, 0.06, 0.15, 0.30, 0.45};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AdFeedIndex adFeedIndex;
+    private final AdPreviewCache adPreviewCache;
+
+    @Value("${app.perf-data.seed:42}")
+    private long seed;
+
+    @Value("${app.perf-data.communities:2000}")
+    private int communityCount;
+
+    @Value("${app.perf-data.users:100000}")
+    private int userCount;
+
+    @Value("${app.perf-data.ads:2000000}")
+    private int adCount;
+
+    /** Expoente Zipf do tamanho das comunidades (maior = mega-condomínios mais concentrados). */
+    @Value("${app.perf-data.community-skew:1.1}")
+    private double communitySkew;
+
+    /** Média de comunidades extras por usuário, além da principal. */
+    @Value("${app.perf-data.extra-memberships:0.6}")
+    private double extraMemberships;
+
+    @Value("${app.perf-data.events-per-user:12}")
+    private int eventsPerUser;
+
+    @Value("${app.perf-data.history-days:365}")
+    private int historyDays;
+
+    /** Linhas por tabela antes de descarregar um COPY (e commitar). */
+    @Value("${app.perf-data.batch-size:50000}")
+    private int batchSize;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Instant now = Instant.now();
+
+    @Override
+    public void run(String... args) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (alreadySeeded(connection)) {
+                log.info("🌱 [PERF] Dados de performance já existem (usuários *{}); nada a fazer", EMAIL_DOMAIN);
+                return;
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            new Generation(connection).run();
+            // COPY não passa pelo Hibernate: nada do que o DevDataSeeder deixou no cache L2 vale mais
+            entityManagerFactory.getCache().evictAll();
+            adFeedIndex.clear();
+            adPreviewCache.clear();
+            log.info("🌱 [PERF] Geração concluída em {}s", Duration.ofNanos(System.nanoTime() - start).toSeconds());
+        }
+    }
+
+    private boolean alreadySeeded(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT 1 FROM users WHERE email = ?")) {
+            ps.setString(1, "perf-0" + EMAIL_DOMAIN);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /** Estado de uma execução: ids base, pertencimentos em memória e os buffers de COPY. */
+    private final class Generation {
+
+        private final Connection connection;
+        private final CopyManager copyManager;
+        private final SplittableRandom random = new SplittableRandom(seed);
+
+        private final CopyBuffer users = new CopyBuffer("users",
+                "id, name, email, password_hash, whatsapp, address, email_verified, digest_opt_out, terms_accepted_at, privacy_accepted_at");
+        private final CopyBuffer communities = new CopyBuffer("communities",
+                "id, name, access_code, is_private, postal_code, created_at, created_by");
+        private final CopyBuffer communityAdmins = new CopyBuffer("community_admins", "community_id, user_id");
+        private final CopyBuffer memberships = new CopyBuffer("user_communities", "user_id, community_id");
+        private final CopyBuffer ads = new CopyBuffer("ads",
+                "id, title, description, type, price, status, user_id, community_id, created_at, recommended_contact, service_type");
+        private final CopyBuffer images = new CopyBuffer("ad_images", "id, ad_id, url, sort_order");
+        private final CopyBuffer reactions = new CopyBuffer("recommendation_reactions", "id, ad_id, user_id, rating, created_at");
+        private final CopyBuffer comments = new CopyBuffer("recommendation_comments", "id, ad_id, user_id, text, created_at");
+        private final CopyBuffer likes = new CopyBuffer("comment_likes", "id, comment_id, user_id, created_at");
+        private final CopyBuffer reports = new CopyBuffer("reports", "id, ad_id, reason, reporter_user_id, created_at");
+        private final CopyBuffer events = new CopyBuffer("event_logs", "id, event_type, user_id, community_id, created_at");
+        /** Ordem de descarga: pais antes dos filhos (FKs checadas a cada COPY). */
+        private final List<CopyBuffer> adGraph = List.of(ads, images, reactions, comments, likes, reports);
+
+        private long userBase;
+        private long communityBase;
+        private long adBase;
+        private long imageId;
+        private long reactionId;
+        private long commentId;
+        private long likeId;
+        private long reportId;
+        private long eventId;
+
+        /** members[c] = índices (0-based) dos usuários da comunidade c; homeCommunity[u] = comunidade principal. */
+        private int[][] members;
+        private int[] homeCommunity;
+        private ZipfSampler communitySampler;
+
+        Generation(Connection connection) throws SQLException {
+            this.connection = connection;
+            this.copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+        }
+
+        void run() throws SQLException, IOException {
+            userBase = maxId("users");
+            communityBase = maxId("communities");
+            adBase = maxId("ads");
+            imageId = maxId("ad_images");
+            reactionId = maxId("recommendation_reactions");
+            commentId = maxId("recommendation_comments");
+            likeId = maxId("comment_likes");
+            reportId = maxId("reports");
+            eventId = maxId("event_logs");
+            communitySampler = new ZipfSampler(communityCount, communitySkew);
+            log.info("🌱 [PERF] Gerando seed={} comunidades={} usuários={} anúncios={} (maior comunidade ~{}% dos membros)",
+                    seed, communityCount, userCount, adCount, Math.round(communitySampler.share(0) * 100));
+
+            generateUsers();
+            int[] creators = generateCommunities();
+            generateMemberships(creators);
+            generateAds();
+            generateEvents();
+            linkSeedUser();
+            finish();
+        }
+
+        private void generateUsers() throws SQLException, IOException {
+            String passwordHash = passwordEncoder.encode(PASSWORD);
+            for (int u = 0; u < userCount; u++) {
+                LocalDateTime accepted = timestamp(random.nextDouble());
+                users.row(userId(u),
+                        pick(FIRST_NAMES) + " " + pick(LAST_NAMES),
+                        "perf-" + u + EMAIL_DOMAIN,
+                        passwordHash,
+                        random.nextDouble() < 0.85 ? "55119" + String.format("%08d", random.nextInt(100_000_000)) : null,
+                        "Bloco " + (char) ('A' + random.nextInt(8)) + ", apto " + (random.nextInt(30) + 1) + "0" + (random.nextInt(8) + 1),
+                        random.nextDouble() < 0.95,
+                        random.nextDouble() < 0.10,
+                        accepted,
+                        accepted);
+                flushIfFull(users);
+            }
+            flush(users);
+        }
+
+        private int[] generateCommunities() throws SQLException, IOException {
+            int[] creators = new int[communityCount];
+            for (int c = 0; c < communityCount; c++) {
+                creators[c] = random.nextInt(userCount);
+                communities.row(communityId(c),
+                        pick(COMMUNITY_PREFIXES) + " " + pick(COMMUNITY_NAMES) + " " + (c + 1),
+                        "PF" + Long.toString(c, 36).toUpperCase(),
+                        random.nextDouble() < 0.2,
+                        String.format("%08d", random.nextInt(100_000_000)),
+                        timestamp(1.0),
+                        userId(creators[c]));
+                communityAdmins.row(communityId(c), userId(creators[c]));
+                flushIfFull(communities);
+            }
+            flush(communities);
+            flush(communityAdmins);
+            return creators;
+        }
+
+        /** Cada usuário: uma comunidade principal (Zipf) + extras; o criador é sempre membro. */
+        private void generateMemberships(int[] creators) throws SQLException, IOException {
+            homeCommunity = new int[userCount];
+            int[] sizes = new int[communityCount];
+            int[][] userCommunities = new int[userCount][];
+            for (int u = 0; u < userCount; u++) {
+                int extra = geometric(extraMemberships / (1 + extraMemberships), 4);
+                int[] chosen = new int[1 + extra];
+                int n = 0;
+                for (int attempt = 0; n < chosen.length && attempt < chosen.length * 4; attempt++) {
+                    int c = communitySampler.next(random);
+                    if (!contains(chosen, n, c)) {
+                        chosen[n++] = c;
+                    }
+                }
+                userCommunities[u] = Arrays.copyOf(chosen, n);
+                homeCommunity[u] = chosen[0];
+            }
+            for (int c = 0; c < communityCount; c++) {
+                int creator = creators[c];
+                if (!contains(userCommunities[creator], userCommunities[creator].length, c)) {
+                    userCommunities[creator] = Arrays.copyOf(userCommunities[creator], userCommunities[creator].length + 1);
+                    userCommunities[creator][userCommunities[creator].length - 1] = c;
+                }
+            }
+            for (int u = 0; u < userCount; u++) {
+                for (int c : userCommunities[u]) {
+                    sizes[c]++;
+                    memberships.row(userId(u), communityId(c));
+                }
+                flushIfFull(memberships);
+            }
+            flush(memberships);
+
+            members = new int[communityCount][];
+            int[] filled = new int[communityCount];
+            for (int c = 0; c < communityCount; c++) {
+                members[c] = new int[sizes[c]];
+            }
+            for (int u = 0; u < userCount; u++) {
+                for (int c : userCommunities[u]) {
+                    members[c][filled[c]++] = u;
+                }
+            }
+            log.info("🌱 [PERF] Pertencimentos: {} (maior comunidade: {} membros)",
+                    memberships.total(), Arrays.stream(sizes).max().orElse(0));
+        }
+
+        private void generateAds() throws SQLException, IOException {
+            for (int a = 0; a < adCount; a++) {
+                int c = communitySampler.next(random);
+                int[] communityMembers = members[c];
+                // Poucos moradores publicam muito: índice puxado para o começo da lista
+                int author = communityMembers[(int) (communityMembers.length * Math.pow(random.nextDouble(), 3))];
+                long adId = adBase + 1 + a;
+                AdType type = TYPES[weighted(TYPE_WEIGHTS)];
+                double age = Math.pow(random.nextDouble(), 2);
+                LocalDateTime createdAt = timestamp(age);
+                writeAd(adId, type, author, c, createdAt);
+                if (type == AdType.RECOMMENDATION) {
+                    writeEngagement(adId, author, communityMembers, age);
+                } else {
+                    int imageCount = weighted(IMAGE_COUNT_WEIGHTS);
+                    for (int i = 0; i < imageCount; i++) {
+                        images.row(++imageId, adId, "/uploads/ads/" + adId + "/" + i + ".jpg", i);
+                    }
+                }
+                if (random.nextDouble() < 0.005 && communityMembers.length > 1) {
+                    for (int reporter : distinctMembers(communityMembers, author, 1 + random.nextInt(3))) {
+                        reports.row(++reportId, adId, ReportReason.values()[random.nextInt(ReportReason.values().length)].name(),
+                                userId(reporter), timestamp(age * random.nextDouble()));
+                    }
+                }
+                if (ads.pending() >= batchSize) {
+                    flushAdGraph();
+                    if ((a + 1) % (batchSize * 10) == 0) {
+                        log.info("🌱 [PERF] Anúncios: {}/{}", a + 1, adCount);
+                    }
+                }
+            }
+            flushAdGraph();
+            log.info("🌱 [PERF] Anúncios {} | imagens {} | avaliações {} | comentários {} | curtidas {} | denúncias {}",
+                    ads.total(), images.total(), reactions.total(), comments.total(), likes.total(), reports.total());
+        }
+
+        private void writeAd(long adId, AdType type, int author, int community, LocalDateTime createdAt) {
+            String title;
+            String description;
+            BigDecimal price = null;
+            String recommendedContact = null;
+            String serviceType = null;
+            switch (type) {
+                case SALE_TRADE -> {
+                    title = pick(SALE_ITEMS) + (random.nextBoolean() ? " seminovo" : " em ótimo estado");
+                    description = "Retirar no bloco " + (char) ('A' + random.nextInt(8)) + ". Aceito Pix.";
+                    price = BigDecimal.valueOf(20 + (long) (Math.pow(random.nextDouble(), 2) * 3000));
+                }
+                case RENT -> {
+                    title = "Aluguel: " + pick(RENT_ITEMS);
+                    description = "Diária com devolução no mesmo dia.";
+                    price = BigDecimal.valueOf(10 + random.nextInt(90));
+                }
+                case SERVICE -> {
+                    title = pick(SERVICES);
+                    description = "Atendo moradores do condomínio. Valor a combinar.";
+                }
+                case DONATION -> {
+                    title = pick(DONATIONS) + " (doação)";
+                    description = "Quem quiser pode buscar.";
+                }
+                default -> {
+                    serviceType = pick(RECOMMENDED);
+                    title = serviceType + " de confiança";
+                    description = "Indico para quem precisar, já fez vários serviços no prédio.";
+                    recommendedContact = "55119" + String.format("%08d", random.nextInt(100_000_000));
+                }
+            }
+            AdStatus status = STATUSES[weighted(STATUS_WEIGHTS)];
+            ads.row(adId, title, description, type.name(), price, status.name(), userId(author), communityId(community),
+                    createdAt, recommendedContact, serviceType);
+        }
+
+        /** Avaliações, comentários e curtidas de uma indicação: a maioria tem pouco, algumas têm muito. */
+        private void writeEngagement(long adId, int author, int[] communityMembers, double age) {
+            int maxOthers = communityMembers.length - 1;
+            if (maxOthers <= 0) {
+                return;
+            }
+            int reactionCount = Math.min(maxOthers, (int) (Math.pow(random.nextDouble(), 4) * 60));
+            for (int rater : distinctMembers(communityMembers, author, reactionCount)) {
+                reactions.row(++reactionId, adId, userId(rater), weighted(RATING_WEIGHTS) + 1, timestamp(age * random.nextDouble()));
+            }
+            int commentCount = (int) (Math.pow(random.nextDouble(), 3) * 15);
+            for (int i = 0; i < commentCount; i++) {
+                int commenter = communityMembers[random.nextInt(communityMembers.length)];
+                long id = ++commentId;
+                comments.row(id, adId, userId(commenter), pick(COMMENTS), timestamp(age * random.nextDouble()));
+                int likeCount = Math.min(maxOthers, (int) (Math.pow(random.nextDouble(), 3) * 10));
+                for (int liker : distinctMembers(communityMembers, commenter, likeCount)) {
+                    likes.row(++likeId, id, userId(liker), timestamp(age * random.nextDouble()));
+                }
+            }
+        }
+
+        /** Eventos por usuário (média configurável), concentrados nos mais ativos e nos dias recentes. */
+        private void generateEvents() throws SQLException, IOException {
+            EventType[] types = {EventType.LOGIN, EventType.LOGIN, EventType.LOGIN, EventType.CONTACT_CLICK, EventType.CREATE_AD};
+            for (int u = 0; u < userCount; u++) {
+                int count = (int) (eventsPerUser * 3 * Math.pow(random.nextDouble(), 2));
+                for (int i = 0; i < count; i++) {
+                    EventType type = types[random.nextInt(types.length)];
+                    events.row(++eventId, type.name(), userId(u),
+                            type == EventType.LOGIN ? null : communityId(homeCommunity[u]),
+                            timestamp(Math.pow(random.nextDouble(), 2)));
+                }
+                flushIfFull(events);
+            }
+            flush(events);
+            log.info("🌱 [PERF] Eventos: {}", events.total());
+        }
+
+        /** Coloca o usuário do DevDataSeeder no maior condomínio, como administrador, para testes manuais. */
+        private void linkSeedUser() throws SQLException {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO user_communities (user_id, community_id) SELECT id, ? FROM users WHERE email = ? ON CONFLICT DO NOTHING");
+                 PreparedStatement admin = connection.prepareStatement(
+                         "INSERT INTO community_admins (community_id, user_id) SELECT ?, id FROM users WHERE email = ? ON CONFLICT DO NOTHING")) {
+                ps.setLong(1, communityId(0));
+                ps.setString(2, SEED_EMAIL);
+                ps.executeUpdate();
+                admin.setLong(1, communityId(0));
+                admin.setString(2, SEED_EMAIL);
+                admin.executeUpdate();
+            }
+            connection.commit();
+        }
+
+        private void finish() throws SQLException {
+            try (Statement st = connection.createStatement()) {
+                for (String table : List.of("users", "communities", "ads", "ad_images", "recommendation_reactions",
+                        "recommendation_comments", "comment_likes", "reports", "event_logs")) {
+                    st.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement st = connection.createStatement()) {
+                st.execute("ANALYZE");
+            }
+        }
+
+        private void flushAdGraph() throws SQLException, IOException {
+            for (CopyBuffer buffer : adGraph) {
+                buffer.flush(copyManager);
+            }
+            connection.commit();
+        }
+
+        private void flushIfFull(CopyBuffer buffer) throws SQLException, IOException {
+            if (buffer.pending() >= batchSize) {
+                flush(buffer);
+            }
+        }
+
+        private void flush(CopyBuffer buffer) throws SQLException, IOException {
+            buffer.flush(copyManager);
+            connection.commit();
+        }
+
+        private long maxId(String table) throws SQLException {
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private long userId(int index) {
+            return userBase + 1 + index;
+        }
+
+        private long communityId(int index) {
+            return communityBase + 1 + index;
+        }
+
+        /** {@code age} 0 = agora, 1 = início do histórico. */
+        private LocalDateTime timestamp(double age) {
+            long seconds = (long) (age * historyDays * 86_400L);
+            return LocalDateTime.ofInstant(now.minusSeconds(seconds), zone);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private int weighted(double[] weights) {
+            double r = random.nextDouble();
+            for (int i = 0; i < weights.length; i++) {
+                r -= weights[i];
+                if (r < 0) {
+                    return i;
+                }
+            }
+            return weights.length - 1;
+        }
+
+        /** Número de sucessos seguidos com probabilidade p, limitado a max. */
+        private int geometric(double p, int max) {
+            int n = 0;
+            while (n < max && random.nextDouble() < p) {
+                n++;
+            }
+            return n;
+        }
+
+        /** Até {@code count} membros distintos, sem o {@code excluded}. */
+        private Set<Integer> distinctMembers(int[] communityMembers, int excluded, int count) {
+            Set<Integer> chosen = new HashSet<>();
+            int attempts = 0;
+            while (chosen.size() < count && attempts++ < count * 4) {
+                int candidate = communityMembers[random.nextInt(communityMembers.length)];
+                if (candidate != excluded) {
+                    chosen.add(candidate);
+                }
+            }
+            return chosen;
+        }
+
+        private static boolean contains(int[] values, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
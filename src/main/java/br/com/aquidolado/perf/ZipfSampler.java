@@ -0,0 +1,36 @@
+package br.com.aquidolado.perf;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia posições 0..n-1 com probabilidade proporcional a 1/(posição+1)^expoente: a posição 0 é o
+ * "mega-condomínio", e a cauda longa são os prédios pequenos.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int position = index >= 0 ? index : -index - 1;
+        return Math.min(position, cumulative.length - 1);
+    }
+
+    /** Fração esperada das amostras que cai na posição {@code i}. */
+    double share(int i) {
+        return i == 0 ? cumulative[0] : cumulative[i] - cumulative[i - 1];
+    }
+}
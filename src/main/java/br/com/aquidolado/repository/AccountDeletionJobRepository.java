@@ -0,0 +1,26 @@
+package br.com.aquidolado.repository;
+
+import br.com.aquidolado.domain.entity.AccountDeletionJob;
+import br.com.aquidolado.domain.enums.AccountDeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, Long> {
+
+    Optional<AccountDeletionJob> findByPublicId(String publicId);
+
+    Optional<AccountDeletionJob> findFirstByUserIdAndStatusNot(Long userId, AccountDeletionStatus status);
+
+    /**
+     * Próximo job pendente ou com lease expirado (nó caiu no meio do expurgo).
+     * SKIP LOCKED evita que dois nós reivindiquem o mesmo job.
+     */
+    @Query(value = "SELECT * FROM account_deletion_jobs " +
+                   "WHERE status <> 'COMPLETED' AND (locked_until IS NULL OR locked_until < :now) " +
+                   "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<AccountDeletionJob> findNextClaimable(@Param("now") Instant now);
+}
@@ -1,12 +1,39 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.AdImage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AdImageRepository extends org.springframework.data.jpa.repository.JpaRepository<AdImage, Long> {
 
+    /**
+     * Cache de consulta por anúncio (região ad-images-by-ad); qualquer escrita em ad_images pelo Hibernate
+     * invalida o resultado, e as imagens em si vêm da região ad-image.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "ad-images-by-ad")
+    })
     List<AdImage> findByAdIdOrderBySortOrder(Long adId);
 
+    /** URLs das imagens de uma página inteira de anúncios numa consulta só: linhas [adId, url], sem montar AdImage. */
+    @Query("SELECT i.ad.id, i.url FROM AdImage i WHERE i.ad.id IN :adIds ORDER BY i.ad.id, i.sortOrder")
+    List<Object[]> findUrlsByAdIdIn(@Param("adIds") Collection<Long> adIds);
+
     void deleteByAdId(Long adId);
+
+    /**
+     * Apaga as imagens antes dos anúncios em lote: o ON DELETE CASCADE do banco não passaria pelo Hibernate
+     * e deixaria imagens apagadas no cache.
+     */
+    @Modifying
+    @Query("DELETE FROM AdImage i WHERE i.ad.id IN :adIds")
+    int deleteByAdIdIn(@Param("adIds") Collection<Long> adIds);
 }
@@ -3,48 +3,182 @@ package br.com.aquidolado.repository;
 import br.com.aquidolado.domain.entity.Ad;
 import br.com.aquidolado.domain.enums.AdStatus;
 import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.AdSummaryResponse;
+import br.com.aquidolado.dto.DigestAdItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface AdRepository extends JpaRepository<Ad, Long> {
 
     long countByUserIdAndCommunityId(Long userId, Long communityId);
 
-    @Query("SELECT a FROM Ad a " +
-           "JOIN FETCH a.user JOIN FETCH a.community " +
-           "WHERE a.user.id = :userId")
-    Page<Ad> findByUserIdWithUser(@Param("userId") Long userId, Pageable pageable);
+    /** ratingCount, averageRating e currentUserRating da indicação, em subconsultas na própria linha. */
+    String RATING_COLUMNS = "(SELECT COUNT(r) FROM RecommendationReaction r WHERE r.ad = a), " +
+            "(SELECT AVG(r.rating) FROM RecommendationReaction r WHERE r.ad = a), " +
+            "(SELECT r.rating FROM RecommendationReaction r WHERE r.ad = a AND r.user.id = :currentUserId)";
+
+    /**
+     * Prefixo das listagens paginadas: só as colunas do AdResponse (constructor expression), com autor pelo join
+     * e as estatísticas de avaliação da indicação na mesma linha. Nada vira entidade gerenciada: sem User completo
+     * (hash de senha, endereço...), sem Community e sem cópia no contexto de persistência.
+     */
+    String SELECT_LIST_ITEMS = "SELECT new br.com.aquidolado.dto.AdResponse(a.id, a.title, a.description, a.type, " +
+            "a.price, a.status, u.id, u.name, u.whatsapp, a.community.id, a.createdAt, a.recommendedContact, " +
+            "a.serviceType, a.suspendedByReportsAt, " + RATING_COLUMNS + ") FROM Ad a JOIN a.user u ";
+
+    /** Mesmas colunas sem as subconsultas de avaliação (?fields= sem ratingCount/averageRating/currentUserRating). */
+    String SELECT_LIST_ITEMS_WITHOUT_RATINGS = "SELECT new br.com.aquidolado.dto.AdResponse(a.id, a.title, " +
+            "a.description, a.type, a.price, a.status, u.id, u.name, u.whatsapp, a.community.id, a.createdAt, " +
+            "a.recommendedContact, a.serviceType, a.suspendedByReportsAt) FROM Ad a JOIN a.user u ";
+
+    /**
+     * Prefixo do feed resumido (view=summary): a descrição já vem cortada pelo banco e só a imagem de capa
+     * (sort_order 0; MIN cobre anúncios antigos com mais de uma imagem nessa posição). Capa e avaliações só
+     * quando pedidas (?fields=): com :withCover/:withRatings false o CASE não executa a subconsulta.
+     */
+    String SELECT_SUMMARY_ITEMS = "SELECT new br.com.aquidolado.dto.AdSummaryResponse(a.id, a.title, " +
+            "SUBSTRING(a.description, 1, :snippetChars), a.type, a.price, a.status, u.id, u.name, a.community.id, " +
+            "a.createdAt, CASE WHEN :withCover = TRUE " +
+            "THEN (SELECT MIN(i.url) FROM AdImage i WHERE i.ad = a AND i.sortOrder = 0) END, a.serviceType, " +
+            "CASE WHEN :withRatings = TRUE THEN (SELECT COUNT(r) FROM RecommendationReaction r WHERE r.ad = a) END, " +
+            "CASE WHEN :withRatings = TRUE THEN (SELECT AVG(r.rating) FROM RecommendationReaction r WHERE r.ad = a) END, " +
+            "CASE WHEN :withRatings = TRUE THEN (SELECT r.rating FROM RecommendationReaction r " +
+            "WHERE r.ad = a AND r.user.id = :currentUserId) END) FROM Ad a JOIN a.user u ";
+
+    /** searchPattern: termo em minúsculas (Locale.ROOT) com %, _ e ! escapados, entre % (AdService). */
+    String COMMUNITY_FILTERS = "WHERE a.community.id = :communityId AND a.status = :status " +
+            "AND (:types IS NULL OR a.type IN :types) " +
+            "AND (:searchPattern IS NULL OR LOWER(a.title) LIKE :searchPattern ESCAPE '!' " +
+            "OR LOWER(COALESCE(a.description, '')) LIKE :searchPattern ESCAPE '!' " +
+            "OR LOWER(a.user.name) LIKE :searchPattern ESCAPE '!' " +
+            "OR LOWER(COALESCE(a.serviceType, '')) LIKE :searchPattern ESCAPE '!')";
+
+    @Query(value = SELECT_LIST_ITEMS + "WHERE a.user.id = :userId",
+           countQuery = "SELECT COUNT(a) FROM Ad a WHERE a.user.id = :userId")
+    Page<AdResponse> findByUserIdWithRatings(@Param("userId") Long userId,
+                                           @Param("currentUserId") Long currentUserId,
+                                           Pageable pageable);
 
     java.util.List<Ad> findByUser_Id(Long userId);
 
     java.util.List<Ad> findByCommunity_Id(Long communityId);
 
-    @Query("SELECT a FROM Ad a " +
-           "JOIN FETCH a.user JOIN FETCH a.community " +
-           "WHERE a.user.id = :userId AND a.community.id = :communityId")
-    Page<Ad> findByUserIdAndCommunityIdWithUser(
+    @Query(value = SELECT_LIST_ITEMS + "WHERE a.user.id = :userId AND a.community.id = :communityId",
+           countQuery = "SELECT COUNT(a) FROM Ad a WHERE a.user.id = :userId AND a.community.id = :communityId")
+    Page<AdResponse> findByUserIdAndCommunityIdWithRatings(
             @Param("userId") Long userId,
             @Param("communityId") Long communityId,
+            @Param("currentUserId") Long currentUserId,
             Pageable pageable);
 
-    @Query("SELECT a FROM Ad a " +
-           "JOIN FETCH a.user JOIN FETCH a.community " +
-           "WHERE a.community.id = :communityId AND a.status = :status " +
-           "AND (:types IS NULL OR a.type IN :types) " +
-           "AND (:searchPattern IS NULL OR LOWER(a.title) LIKE :searchPattern " +
-           "OR LOWER(COALESCE(a.description, '')) LIKE :searchPattern " +
-           "OR LOWER(a.user.name) LIKE :searchPattern " +
-           "OR LOWER(COALESCE(a.serviceType, '')) LIKE :searchPattern)")
-    Page<Ad> findByCommunityWithFilters(
+    @Query(value = SELECT_LIST_ITEMS + COMMUNITY_FILTERS,
+           countQuery = "SELECT COUNT(a) FROM Ad a " + COMMUNITY_FILTERS)
+    Page<AdResponse> findByCommunityWithFiltersAndRatings(
             @Param("communityId") Long communityId,
             @Param("status") AdStatus status,
             @Param("types") List<AdType> types,
             @Param("searchPattern") String searchPattern,
+            @Param("currentUserId") Long currentUserId,
             Pageable pageable);
 
+    /** Página já escolhida pelo índice do feed (AdFeedIndex); a ordem é refeita pelo chamador. */
+    @Query(SELECT_LIST_ITEMS + "WHERE a.id IN :ids")
+    List<AdResponse> findByIdInWithRatings(@Param("ids") List<Long> ids,
+                                           @Param("currentUserId") Long currentUserId);
+
+    @Query(value = SELECT_LIST_ITEMS_WITHOUT_RATINGS + COMMUNITY_FILTERS,
+           countQuery = "SELECT COUNT(a) FROM Ad a " + COMMUNITY_FILTERS)
+    Page<AdResponse> findByCommunityWithFilters(
+            @Param("communityId") Long communityId,
+            @Param("status") AdStatus status,
+            @Param("types") List<AdType> types,
+            @Param("searchPattern") String searchPattern,
+            Pageable pageable);
+
+    @Query(SELECT_LIST_ITEMS_WITHOUT_RATINGS + "WHERE a.id IN :ids")
+    List<AdResponse> findByIdIn(@Param("ids") List<Long> ids);
+
+    @Query(value = SELECT_SUMMARY_ITEMS + COMMUNITY_FILTERS,
+           countQuery = "SELECT COUNT(a) FROM Ad a " + COMMUNITY_FILTERS)
+    Page<AdSummaryResponse> findSummariesByCommunityWithFilters(
+            @Param("communityId") Long communityId,
+            @Param("status") AdStatus status,
+            @Param("types") List<AdType> types,
+            @Param("searchPattern") String searchPattern,
+            @Param("currentUserId") Long currentUserId,
+            @Param("snippetChars") int snippetChars,
+            @Param("withCover") boolean withCover,
+            @Param("withRatings") boolean withRatings,
+            Pageable pageable);
+
+    /** Feed resumido da página escolhida pelo índice; a ordem é refeita pelo chamador. */
+    @Query(SELECT_SUMMARY_ITEMS + "WHERE a.id IN :ids")
+    List<AdSummaryResponse> findSummariesByIdIn(@Param("ids") List<Long> ids,
+                                                @Param("currentUserId") Long currentUserId,
+                                                @Param("snippetChars") int snippetChars,
+                                                @Param("withCover") boolean withCover,
+                                                @Param("withRatings") boolean withRatings);
+
+    /**
+     * Campos do índice do feed de uma comunidade, sem montar entidades.
+     * Linha: [id, type, createdAt, title, description, serviceType, userId, userName].
+     */
+    @Query("SELECT a.id, a.type, a.createdAt, a.title, a.description, a.serviceType, u.id, u.name " +
+           "FROM Ad a JOIN a.user u WHERE a.community.id = :communityId AND a.status = :status")
+    List<Object[]> findFeedIndexRows(@Param("communityId") Long communityId,
+                                     @Param("status") AdStatus status,
+                                     Pageable pageable);
+
+    /** Só o que o preview Open Graph usa: [title, type, status, ogImageUrl], sem autor e comunidade. */
+    @Query("SELECT a.title, a.type, a.status, a.ogImageUrl FROM Ad a WHERE a.id = :adId")
+    List<Object[]> findOgRow(@Param("adId") Long adId);
+
+    @Query("SELECT a.community.id FROM Ad a WHERE a.id = :adId")
+    Optional<Long> findCommunityIdById(@Param("adId") Long adId);
+
+    /** Detalhe: anúncio com o autor no mesmo SELECT (grafo Ad.detail); a comunidade fica só no id. */
+    @EntityGraph(Ad.GRAPH_DETAIL)
+    @Query("SELECT a FROM Ad a WHERE a.id = :adId")
+    Optional<Ad> findDetailById(@Param("adId") Long adId);
+
+    @Query("SELECT a.id FROM Ad a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT a.id FROM Ad a WHERE a.community.id = :communityId ORDER BY a.id")
+    List<Long> findIdsByCommunityId(@Param("communityId") Long communityId, Pageable pageable);
+
+    /** Anúncios ativos criados na janela do resumo semanal, mais recentes primeiro (uma consulta por comunidade). */
+    @Query("SELECT new br.com.aquidolado.dto.DigestAdItem(a.id, a.title, a.type, a.price) FROM Ad a " +
+           "WHERE a.community.id = :communityId AND a.status = br.com.aquidolado.domain.enums.AdStatus.ACTIVE " +
+           "AND a.createdAt >= :from AND a.createdAt < :to " +
+           "ORDER BY a.createdAt DESC")
+    List<DigestAdItem> findDigestItems(@Param("communityId") Long communityId,
+                                       @Param("from") Instant from,
+                                       @Param("to") Instant to,
+                                       Pageable pageable);
+
+    /** Rascunhos que nunca foram ativados: a criação caiu entre o INSERT e a ativação (DraftCleanupScheduler). */
+    @Query("SELECT a.id FROM Ad a WHERE a.status = br.com.aquidolado.domain.enums.AdStatus.DRAFT " +
+           "AND a.createdAt < :createdBefore ORDER BY a.id")
+    List<Long> findDraftIdsCreatedBefore(@Param("createdBefore") Instant createdBefore, Pageable pageable);
+
+    /** Apaga só os que continuam DRAFT; imagens, avaliações e denúncias caem por ON DELETE CASCADE. */
+    @Modifying
+    @Query("DELETE FROM Ad a WHERE a.id IN :ids AND a.status = br.com.aquidolado.domain.enums.AdStatus.DRAFT")
+    int deleteDraftsByIdIn(@Param("ids") List<Long> ids);
+
+    /** Tira do ar todos os anúncios do usuário de uma vez (exclusão de conta em andamento). */
+    @Modifying
+    @Query("UPDATE Ad a SET a.status = :status WHERE a.user.id = :userId AND a.status <> :status")
+    int updateStatusByUserId(@Param("userId") Long userId, @Param("status") AdStatus status);
 }
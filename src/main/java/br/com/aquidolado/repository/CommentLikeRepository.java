@@ -1,12 +1,28 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.CommentLike;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
 
     long countByCommentId(Long commentId);
 
+    /** Curtidas por comentário de uma página inteira. Linha: [Long commentId, Long count]. */
+    @Query("SELECT l.comment.id, COUNT(l) FROM CommentLike l WHERE l.comment.id IN :commentIds GROUP BY l.comment.id")
+    List<Object[]> countByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Query("SELECT l.comment.id FROM CommentLike l WHERE l.user.id = :userId AND l.comment.id IN :commentIds")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
     boolean existsByCommentIdAndUserId(Long commentId, Long userId);
 
     void deleteByCommentIdAndUserId(Long commentId, Long userId);
@@ -14,4 +30,18 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
     void deleteByCommentId(Long commentId);
 
     void deleteByUser_Id(Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "DELETE FROM comment_likes WHERE id IN " +
+                   "(SELECT id FROM comment_likes WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /** Curtidas de terceiros nos comentários do usuário (apagadas antes dos comentários). */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "DELETE FROM comment_likes WHERE id IN " +
+                   "(SELECT cl.id FROM comment_likes cl JOIN recommendation_comments c ON c.id = cl.comment_id " +
+                   "WHERE c.user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchOnCommentsOfUser(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -14,8 +14,11 @@ public interface CommunityAdminRepository extends JpaRepository<CommunityAdmin,
     @Query("SELECT ca FROM CommunityAdmin ca JOIN FETCH ca.community c LEFT JOIN FETCH c.createdBy WHERE ca.user.id = :userId")
     List<CommunityAdmin> findByUser_IdWithCommunityAndCreatedBy(@Param("userId") Long userId);
 
-    @Query("SELECT ca FROM CommunityAdmin ca WHERE ca.community.id = :communityId")
-    List<CommunityAdmin> findByCommunity_Id(@Param("communityId") Long communityId);
+    @Query("SELECT ca.user.id FROM CommunityAdmin ca WHERE ca.community.id = :communityId ORDER BY ca.user.id")
+    List<Long> findUserIdsByCommunityId(@Param("communityId") Long communityId);
+
+    @Query("SELECT ca.community.id FROM CommunityAdmin ca WHERE ca.user.id = :userId")
+    List<Long> findCommunityIdsByUserId(@Param("userId") Long userId);
 
     void deleteByCommunity_IdAndUser_Id(Long communityId, Long userId);
 
@@ -0,0 +1,40 @@
+package br.com.aquidolado.repository;
+
+import br.com.aquidolado.domain.entity.CommunityContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CommunityContentVersionRepository extends JpaRepository<CommunityContentVersion, Long> {
+
+    @Query("SELECT v.version FROM CommunityContentVersion v WHERE v.communityId = :communityId")
+    Optional<Long> findVersion(@Param("communityId") Long communityId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_content_versions"))
+    @Query(value = "INSERT INTO community_content_versions (community_id, version) VALUES (:communityId, 1) " +
+            "ON CONFLICT (community_id) DO UPDATE SET version = community_content_versions.version + 1",
+            nativeQuery = true)
+    int bump(@Param("communityId") Long communityId);
+
+    /**
+     * Comunidades onde o usuário é membro ou tem anúncios (nome/WhatsApp dele aparecem nas respostas). Trava as
+     * linhas em ordem de community_id: duas transações com comunidades em comum (ex.: renomes de membros do
+     * mesmo condomínio) esperam uma pela outra em vez de entrar em deadlock.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_content_versions"))
+    @Query(value = "INSERT INTO community_content_versions (community_id, version) " +
+            "SELECT community_id, 1 FROM user_communities WHERE user_id = :userId " +
+            "UNION SELECT community_id, 1 FROM ads WHERE user_id = :userId " +
+            "ORDER BY community_id " +
+            "ON CONFLICT (community_id) DO UPDATE SET version = community_content_versions.version + 1",
+            nativeQuery = true)
+    int bumpForUser(@Param("userId") Long userId);
+}
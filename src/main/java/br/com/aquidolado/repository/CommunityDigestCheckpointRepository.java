@@ -0,0 +1,13 @@
+package br.com.aquidolado.repository;
+
+import br.com.aquidolado.domain.entity.CommunityDigestCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CommunityDigestCheckpointRepository extends JpaRepository<CommunityDigestCheckpoint, Long> {
+
+    @Query("SELECT c.communityId FROM CommunityDigestCheckpoint c WHERE c.windowEnd IS NOT NULL ORDER BY c.communityId")
+    List<Long> findCommunityIdsInProgress();
+}
@@ -2,14 +2,21 @@ package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.CommunityJoinRequest;
 import br.com.aquidolado.domain.enums.JoinRequestStatus;
+import br.com.aquidolado.dto.JoinRequestResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface CommunityJoinRequestRepository extends JpaRepository<CommunityJoinRequest, Long> {
 
-    List<CommunityJoinRequest> findByCommunityIdAndStatus(Long communityId, JoinRequestStatus status);
+    /** Solicitações já no formato da resposta: só id e nome do solicitante, sem carregar User e Community. */
+    @Query("SELECT new br.com.aquidolado.dto.JoinRequestResponse(r.id, u.id, u.name, r.status, r.createdAt) " +
+           "FROM CommunityJoinRequest r JOIN r.user u WHERE r.community.id = :communityId AND r.status = :status")
+    List<JoinRequestResponse> findResponsesByCommunityIdAndStatus(@Param("communityId") Long communityId,
+                                                                  @Param("status") JoinRequestStatus status);
 
     Optional<CommunityJoinRequest> findByCommunityIdAndUserId(Long communityId, Long userId);
 
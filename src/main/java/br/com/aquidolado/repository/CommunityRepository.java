@@ -1,10 +1,16 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.Community;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CommunityRepository extends JpaRepository<Community, Long> {
@@ -16,5 +22,25 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
     @Query("SELECT DISTINCT c FROM Community c LEFT JOIN FETCH c.createdBy LEFT JOIN FETCH c.members WHERE c.id = :id")
     Optional<Community> findByIdWithCreatedByAndMembers(@Param("id") Long id);
 
+    @Query("SELECT c FROM Community c LEFT JOIN FETCH c.createdBy WHERE c.id = :id")
+    Optional<Community> findByIdWithCreatedBy(@Param("id") Long id);
+
+    /** Comunidades do usuário com o criador já carregado (listagem sem consulta por comunidade). */
+    @Query("SELECT c FROM Community c JOIN c.members m LEFT JOIN FETCH c.createdBy WHERE m.id = :userId ORDER BY c.id")
+    List<Community> findByMemberIdWithCreatedBy(@Param("userId") Long userId);
+
     java.util.List<Community> findByCreatedBy_Id(Long createdById);
+
+    @Query("SELECT c.id FROM Community c WHERE c.createdBy.id = :userId ORDER BY c.id")
+    List<Long> findIdsByCreatedById(@Param("userId") Long userId);
+
+    @Query("SELECT c.id FROM Community c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_communities"))
+    @Query(value = "DELETE FROM user_communities WHERE (user_id, community_id) IN " +
+                   "(SELECT user_id, community_id FROM user_communities WHERE community_id = :communityId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteMembershipBatch(@Param("communityId") Long communityId, @Param("limit") int limit);
 }
@@ -0,0 +1,32 @@
+package br.com.aquidolado.repository;
+
+import br.com.aquidolado.domain.entity.EmailOutboxMessage;
+import br.com.aquidolado.domain.enums.EmailOutboxStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Mensagens vencidas para envio. SKIP LOCKED permite vários workers (e nós) sem disputa.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> findDueForUpdate(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "email_outbox"))
+    @Query(value = "DELETE FROM email_outbox WHERE id IN " +
+                   "(SELECT id FROM email_outbox WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteSentBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
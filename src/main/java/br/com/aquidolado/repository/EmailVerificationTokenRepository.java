@@ -1,7 +1,13 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.EmailVerificationToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -12,5 +18,12 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
 
     void deleteByUser_Id(Long userId);
 
-    void deleteByExpiresAtBefore(Instant instant);
+    /**
+     * Apaga um lote de tokens expirados direto no banco (sem carregar entidades).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "email_verification_tokens"))
+    @Query(value = "DELETE FROM email_verification_tokens WHERE id IN " +
+                   "(SELECT id FROM email_verification_tokens WHERE expires_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
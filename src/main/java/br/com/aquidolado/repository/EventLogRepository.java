@@ -1,9 +1,28 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.EventLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface EventLogRepository extends JpaRepository<EventLog, Long> {
 
     void deleteByUser_Id(Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_logs"))
+    @Query(value = "DELETE FROM event_logs WHERE id IN " +
+                   "(SELECT id FROM event_logs WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /** Mantém as métricas de outros usuários ao apagar a comunidade: só desvincula. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_logs"))
+    @Query(value = "UPDATE event_logs SET community_id = NULL WHERE id IN " +
+                   "(SELECT id FROM event_logs WHERE community_id = :communityId LIMIT :limit)", nativeQuery = true)
+    int detachBatchFromCommunity(@Param("communityId") Long communityId, @Param("limit") int limit);
 }
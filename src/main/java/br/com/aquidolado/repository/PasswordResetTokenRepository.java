@@ -1,7 +1,13 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.PasswordResetToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -14,5 +20,12 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
 
     void deleteByUser_Id(Long userId);
 
-    void deleteByExpiresAtBefore(Instant instant);
+    /**
+     * Apaga um lote de tokens expirados direto no banco (sem carregar entidades).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_tokens"))
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN " +
+                   "(SELECT id FROM password_reset_tokens WHERE expires_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
@@ -1,19 +1,36 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.RecommendationComment;
+import br.com.aquidolado.dto.CommentResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface RecommendationCommentRepository extends JpaRepository<RecommendationComment, Long> {
 
-    Page<RecommendationComment> findByAdIdOrderByCreatedAtAsc(Long adId, Pageable pageable);
+    /** Página de comentários já no formato da resposta (só id/nome do autor); curtidas entram depois, em lote. */
+    @Query(value = "SELECT new br.com.aquidolado.dto.CommentResponse(c.id, c.ad.id, u.id, u.name, c.text, c.createdAt) " +
+                   "FROM RecommendationComment c JOIN c.user u WHERE c.ad.id = :adId ORDER BY c.createdAt ASC",
+           countQuery = "SELECT COUNT(c) FROM RecommendationComment c WHERE c.ad.id = :adId")
+    Page<CommentResponse> findResponsesByAdId(@Param("adId") Long adId, Pageable pageable);
 
     List<RecommendationComment> findByAd_Id(Long adId);
 
     void deleteByUser_Id(Long userId);
 
     void deleteByAd_Id(Long adId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "recommendation_comments"))
+    @Query(value = "DELETE FROM recommendation_comments WHERE id IN " +
+                   "(SELECT id FROM recommendation_comments WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -1,8 +1,12 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.RecommendationReaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
@@ -21,4 +25,10 @@ public interface RecommendationReactionRepository extends JpaRepository<Recommen
     void deleteByUser_Id(Long userId);
 
     void deleteByAd_Id(Long adId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "recommendation_reactions"))
+    @Query(value = "DELETE FROM recommendation_reactions WHERE id IN " +
+                   "(SELECT id FROM recommendation_reactions WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
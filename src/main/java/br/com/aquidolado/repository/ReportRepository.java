@@ -1,8 +1,12 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.Report;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
@@ -15,4 +19,10 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
 
     @Query("SELECT COUNT(DISTINCT r.reporterUser.id) FROM Report r WHERE r.ad.id = :adId")
     long countDistinctReporterUserIdsByAdId(@Param("adId") Long adId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reports"))
+    @Query(value = "DELETE FROM reports WHERE id IN " +
+                   "(SELECT id FROM reports WHERE reporter_user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByReporterUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
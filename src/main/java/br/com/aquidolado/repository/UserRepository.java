@@ -1,8 +1,16 @@
 package br.com.aquidolado.repository;
 
 import br.com.aquidolado.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,4 +22,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmailAndCommunitiesId(String email, Long communityId);
 
     boolean existsByIdAndCommunitiesId(Long id, Long communityId);
+
+    /** Próxima página (keyset por id) de membros que recebem o resumo semanal da comunidade. */
+    @Query("SELECT u FROM User u JOIN u.communities c " +
+           "WHERE c.id = :communityId AND u.id > :afterUserId " +
+           "AND u.active = true AND u.emailVerified = true AND u.digestOptOut = false " +
+           "ORDER BY u.id")
+    List<User> findDigestRecipients(@Param("communityId") Long communityId,
+                                    @Param("afterUserId") Long afterUserId,
+                                    Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_communities"))
+    @Query(value = "DELETE FROM user_communities WHERE user_id = :userId", nativeQuery = true)
+    int deleteMemberships(@Param("userId") Long userId);
 }
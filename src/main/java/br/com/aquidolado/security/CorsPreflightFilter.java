@@ -26,8 +26,11 @@ public class CorsPreflightFilter extends OncePerRequestFilter {
     private static final String ACCESS_CONTROL_ALLOW_METHODS = "Access-Control-Allow-Methods";
     private static final String ACCESS_CONTROL_ALLOW_HEADERS = "Access-Control-Allow-Headers";
     private static final String ACCESS_CONTROL_MAX_AGE = "Access-Control-Max-Age";
+    private static final String ACCESS_CONTROL_EXPOSE_HEADERS = "Access-Control-Expose-Headers";
     private static final String ALLOWED_METHODS = "GET, POST, PUT, PATCH, DELETE, OPTIONS";
-    private static final String ALLOWED_HEADERS = "Authorization, Content-Type, Accept, Origin, X-Requested-With, Access-Control-Request-Method, Access-Control-Request-Headers";
+    private static final String ALLOWED_HEADERS = "Authorization, Content-Type, Accept, Origin, X-Requested-With, Access-Control-Request-Method, Access-Control-Request-Headers, X-Read-Your-Writes, If-None-Match";
+    /** Headers que o front pode ler (marcação de read-your-writes, ver ReadYourWritesFilter; ETag para GET condicional). */
+    private static final String EXPOSED_HEADERS = "X-Read-Your-Writes, Retry-After, ETag";
     private static final long MAX_AGE = 3600L;
 
     private final Set<String> allowedOrigins;
@@ -80,6 +83,7 @@ public class CorsPreflightFilter extends OncePerRequestFilter {
 
         if (originAllowed) {
             response.setHeader(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+            response.setHeader(ACCESS_CONTROL_EXPOSE_HEADERS, EXPOSED_HEADERS);
         }
         filterChain.doFilter(request, response);
     }
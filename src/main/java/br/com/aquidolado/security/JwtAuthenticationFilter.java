@@ -1,5 +1,7 @@
 package br.com.aquidolado.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +13,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -18,6 +21,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -27,6 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
     private final Environment environment;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -40,6 +45,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        long start = System.nanoTime();
+        String outcome;
         String token = extractToken(request);
 
         if (isDevProfile()) {
@@ -64,8 +71,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(token)) {
             if (jwtService.isValid(token)) {
                 String email = jwtService.getEmailFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails;
+                try {
+                    userDetails = userDetailsService.loadUserByUsername(email);
+                } catch (UsernameNotFoundException e) {
+                    // Conta excluída/desativada com token ainda válido: segue sem autenticação
+                    log.debug("🔐 [JWT] Token de usuário inexistente ou inativo - Endpoint: {} {}",
+                            request.getMethod(), request.getRequestURI());
+                    userDetails = null;
+                }
 
+                outcome = userDetails != null ? "authenticated" : "unknown_user";
                 if (userDetails != null) {
                     var auth = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -80,12 +96,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     }
                 }
             } else {
+                outcome = "invalid";
                 if (isDevProfile()) {
                     log.warn("🔐 [JWT] Token inválido ou expirado - Endpoint: {} {}", 
                             request.getMethod(), request.getRequestURI());
                 }
             }
         } else {
+            outcome = "no_token";
             // Não loga endpoints públicos para evitar poluição de logs
             String uri = request.getRequestURI();
             if (isDevProfile() && !uri.startsWith("/api/auth") && !uri.startsWith("/swagger") 
@@ -95,6 +113,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
+        Timer.builder("aqui.security.jwt.filter")
+                .description("Tempo de validação do JWT e carga do usuário")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         filterChain.doFilter(request, response);
     }
     
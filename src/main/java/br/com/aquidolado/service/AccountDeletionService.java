@@ -0,0 +1,287 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.cache.SecondLevelCacheInvalidation;
+import br.com.aquidolado.domain.entity.AccountDeletionJob;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AccountDeletionStatus;
+import br.com.aquidolado.domain.enums.AccountDeletionStep;
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.dto.AccountDeletionResponse;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.og.AdPreviewCache;
+import br.com.aquidolado.repository.*;
+import br.com.aquidolado.storage.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Exclusão de conta (LGPD, Art. 18, VI) em duas fases:
+ * 1) na requisição: desativa a conta, anonimiza os dados pessoais, apaga tokens e tira os anúncios do ar;
+ * 2) em background: apaga o restante em lotes, cada lote em sua própria transação,
+ *    registrando a etapa no job para retomar após reinício do nó.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountDeletionService {
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final AccountDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final TokenService tokenService;
+    private final CommunityService communityService;
+    private final AdRepository adRepository;
+    private final AdImageRepository adImageRepository;
+    private final ReportRepository reportRepository;
+    private final RecommendationReactionRepository recommendationReactionRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final RecommendationCommentRepository recommendationCommentRepository;
+    private final CommunityRepository communityRepository;
+    private final CommunityAdminRepository communityAdminRepository;
+    private final CommunityJoinRequestRepository communityJoinRequestRepository;
+    private final EventLogRepository eventLogRepository;
+    private final StorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+    private final AdFeedIndex adFeedIndex;
+    private final AdPreviewCache adPreviewCache;
+    private final ContentVersionService contentVersionService;
+    private final SecondLevelCacheInvalidation secondLevelCacheInvalidation;
+
+    @Value("${app.account-deletion.batch-size:500}")
+    private int batchSize;
+
+    /** Anúncios por lote (cada um apaga imagens no storage e filhos em cascata). */
+    @Value("${app.account-deletion.ad-batch-size:50}")
+    private int adBatchSize;
+
+    @Value("${app.account-deletion.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * Desativa a conta imediatamente e agenda o expurgo. Idempotente: se já houver job em andamento, devolve-o.
+     */
+    @Transactional
+    public AccountDeletionResponse requestDeletion(Long userId) {
+        Optional<AccountDeletionJob> existing = jobRepository.findFirstByUserIdAndStatusNot(userId, AccountDeletionStatus.COMPLETED);
+        if (existing.isPresent()) {
+            return toResponse(existing.get());
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        // UserDetailsServiceImpl rejeita a conta a partir daqui; o email antigo fica livre para novo cadastro
+        user.setActive(false);
+        user.setEmail("excluido-" + userId + "@conta.invalid");
+        user.setName("Conta excluída");
+        user.setWhatsapp(null);
+        user.setAddress(null);
+        user.setPasswordHash(UUID.randomUUID().toString());
+        userRepository.save(user);
+
+        tokenService.deleteAllTokensForUser(userId);
+        adRepository.findIdsByUserId(userId, Pageable.unpaged()).forEach(adPreviewCache::invalidate);
+        adRepository.updateStatusByUserId(userId, AdStatus.REMOVED);
+        adFeedIndex.authorRemoved(userId);
+        contentVersionService.bumpForUser(userId);
+
+        Instant now = Instant.now();
+        AccountDeletionJob job = jobRepository.save(AccountDeletionJob.builder()
+                .publicId(UUID.randomUUID().toString())
+                .userId(userId)
+                .status(AccountDeletionStatus.PENDING)
+                .step(AccountDeletionStep.REPORTS)
+                .requestedAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("Exclusão de conta agendada - UserId: {}, Job: {}", userId, job.getPublicId());
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AccountDeletionResponse> getStatus(String publicId) {
+        return jobRepository.findByPublicId(publicId).map(this::toResponse);
+    }
+
+    /**
+     * Reivindica o próximo job pendente (ou abandonado por outro nó) com um lease.
+     */
+    @Transactional
+    public Optional<Long> claimNextJob() {
+        Instant now = Instant.now();
+        return jobRepository.findNextClaimable(now).map(job -> {
+            job.setStatus(AccountDeletionStatus.RUNNING);
+            job.setLockedUntil(now.plusSeconds(leaseSeconds));
+            job.setUpdatedAt(now);
+            return job.getId();
+        });
+    }
+
+    /**
+     * Executa um lote da etapa atual e grava o progresso na mesma transação.
+     *
+     * @return true se ainda há trabalho para este job
+     */
+    public boolean processNextChunk(Long jobId) {
+        Boolean hasMore = transactionTemplate.execute(status -> {
+            AccountDeletionJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() == AccountDeletionStatus.COMPLETED) {
+                return false;
+            }
+            int affected = runStep(job.getStep(), job.getUserId());
+            Instant now = Instant.now();
+            job.setDeletedRows(job.getDeletedRows() + affected);
+            if (affected == 0) {
+                job.setStep(job.getStep().next());
+            }
+            job.setUpdatedAt(now);
+            job.setLastError(null);
+            if (job.getStep() == AccountDeletionStep.DONE) {
+                job.setStatus(AccountDeletionStatus.COMPLETED);
+                job.setCompletedAt(now);
+                job.setLockedUntil(null);
+                log.info("Conta excluída - UserId: {}, Job: {}, Registros: {}", job.getUserId(), job.getPublicId(), job.getDeletedRows());
+                return false;
+            }
+            job.setLockedUntil(now.plusSeconds(leaseSeconds));
+            return true;
+        });
+        return Boolean.TRUE.equals(hasMore);
+    }
+
+    /**
+     * Libera o lease para que o próximo ciclo (em qualquer nó) continue de onde parou.
+     */
+    @Transactional
+    public void releaseLease(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> job.setLockedUntil(null));
+    }
+
+    /**
+     * Registra a falha e adia a próxima tentativa (backoff exponencial). O job nunca é abandonado:
+     * o dado precisa ser apagado de qualquer forma.
+     */
+    @Transactional
+    public void recordFailure(Long jobId, Exception e) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            int attempts = job.getAttempts() + 1;
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, 30L << Math.min(attempts, 10));
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            Instant now = Instant.now();
+            job.setAttempts(attempts);
+            job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+            job.setLockedUntil(now.plusSeconds(backoff));
+            job.setUpdatedAt(now);
+        });
+    }
+
+    private int runStep(AccountDeletionStep step, Long userId) {
+        return switch (step) {
+            case REPORTS -> reportRepository.deleteBatchByReporterUserId(userId, batchSize);
+            case REACTIONS -> recommendationReactionRepository.deleteBatchByUserId(userId, batchSize);
+            case COMMENT_LIKES -> commentLikeRepository.deleteBatchByUserId(userId, batchSize)
+                    + commentLikeRepository.deleteBatchOnCommentsOfUser(userId, batchSize);
+            case COMMENTS -> recommendationCommentRepository.deleteBatchByUserId(userId, batchSize);
+            case ADS -> deleteAds(adRepository.findIdsByUserId(userId, PageRequest.of(0, adBatchSize)));
+            case OWNED_COMMUNITIES -> deleteNextOwnedCommunityBatch(userId);
+            case MEMBERSHIPS -> deleteMemberships(userId);
+            case EVENT_LOGS -> eventLogRepository.deleteBatchByUserId(userId, batchSize);
+            case USER -> deleteUser(userId);
+            case DONE -> 0;
+        };
+    }
+
+    /**
+     * Remove imagens do storage e os anúncios; reports, imagens, avaliações e comentários caem por ON DELETE CASCADE.
+     * O DELETE em lote das imagens não gera eventos do Hibernate, então o cache L2 é avisado à parte.
+     */
+    private int deleteAds(List<Long> adIds) {
+        if (adIds.isEmpty()) {
+            return 0;
+        }
+        for (Long adId : adIds) {
+            storageService.deleteByPrefix("ads/" + adId);
+            adPreviewCache.invalidate(adId);
+        }
+        adImageRepository.deleteByAdIdIn(adIds);
+        secondLevelCacheInvalidation.adImagesDeleted(adIds);
+        adRepository.deleteAllByIdInBatch(adIds);
+        return adIds.size();
+    }
+
+    /**
+     * Comunidades criadas pelo usuário são apagadas com todo o conteúdo, uma de cada vez e em lotes.
+     */
+    private int deleteNextOwnedCommunityBatch(Long userId) {
+        List<Long> owned = communityRepository.findIdsByCreatedById(userId);
+        if (owned.isEmpty()) {
+            return 0;
+        }
+        Long communityId = owned.getFirst();
+        adFeedIndex.evictCommunity(communityId);
+        int affected = deleteAds(adRepository.findIdsByCommunityId(communityId, PageRequest.of(0, adBatchSize)));
+        if (affected > 0) {
+            return affected;
+        }
+        affected = communityRepository.deleteMembershipBatch(communityId, batchSize);
+        if (affected > 0) {
+            return affected;
+        }
+        affected = eventLogRepository.detachBatchFromCommunity(communityId, batchSize);
+        if (affected > 0) {
+            return affected;
+        }
+        communityAdminRepository.deleteByCommunity_Id(communityId);
+        communityJoinRequestRepository.deleteByCommunity_Id(communityId);
+        communityRepository.deleteById(communityId);
+        return 1;
+    }
+
+    /**
+     * Sai das comunidades restantes; onde era o único admin, promove outro membro.
+     */
+    private int deleteMemberships(Long userId) {
+        List<Long> adminOf = communityAdminRepository.findByUser_IdWithCommunityAndCreatedBy(userId).stream()
+                .map(ca -> ca.getCommunity().getId())
+                .toList();
+        communityAdminRepository.deleteByUser_Id(userId);
+        communityJoinRequestRepository.deleteByUser_Id(userId);
+        // Antes de sair: a consulta acha as comunidades pelas associações
+        contentVersionService.bumpForUser(userId);
+        int affected = userRepository.deleteMemberships(userId);
+        for (Long communityId : adminOf) {
+            communityService.ensureCommunityHasAdmin(communityId, userId, true);
+        }
+        return affected + adminOf.size();
+    }
+
+    private int deleteUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return 0;
+        }
+        userRepository.deleteById(userId);
+        return 1;
+    }
+
+    private AccountDeletionResponse toResponse(AccountDeletionJob job) {
+        return AccountDeletionResponse.builder()
+                .id(job.getPublicId())
+                .status(job.getStatus())
+                .step(job.getStep())
+                .deletedRows(job.getDeletedRows())
+                .requestedAt(job.getRequestedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Processa os jobs de exclusão de conta em background. Cada ciclo tem um tempo máximo;
+ * o que faltar é retomado no próximo ciclo (neste ou em outro nó).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountDeletionWorker {
+
+    private final AccountDeletionService accountDeletionService;
+
+    @Value("${app.account-deletion.max-run-ms:20000}")
+    private long maxRunMs;
+
+    @Scheduled(fixedDelayString = "${app.account-deletion.poll-delay-ms:10000}",
+            initialDelayString = "${app.account-deletion.initial-delay-ms:15000}")
+    public void purgePendingAccounts() {
+        BackgroundWork.run(this::purgeUntilDeadline);
+    }
+
+    private void purgeUntilDeadline() {
+        long deadline = System.currentTimeMillis() + maxRunMs;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<Long> claimed = accountDeletionService.claimNextJob();
+            if (claimed.isEmpty()) {
+                return;
+            }
+            Long jobId = claimed.get();
+            try {
+                while (accountDeletionService.processNextChunk(jobId)) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        accountDeletionService.releaseLease(jobId);
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Falha no expurgo de conta - Job: {}: {}", jobId, e.getMessage(), e);
+                accountDeletionService.recordFailure(jobId, e);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.aquidolado.service;
 
+import br.com.aquidolado.concurrency.Bulkhead;
+import br.com.aquidolado.concurrency.ReadYourWrites;
 import br.com.aquidolado.domain.entity.Ad;
 import br.com.aquidolado.domain.entity.AdImage;
 import br.com.aquidolado.domain.entity.Community;
@@ -10,26 +12,49 @@ import br.com.aquidolado.domain.enums.AdType;
 import br.com.aquidolado.domain.enums.EventType;
 import br.com.aquidolado.dto.AdOgResponse;
 import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.AdSummaryResponse;
 import br.com.aquidolado.dto.CreateAdRequest;
 import br.com.aquidolado.dto.UpdateAdRequest;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.observability.RequestTimings;
+import br.com.aquidolado.og.AdPreviewCache;
 import br.com.aquidolado.repository.AdImageRepository;
 import br.com.aquidolado.repository.AdRepository;
 import br.com.aquidolado.repository.CommunityRepository;
 import br.com.aquidolado.repository.RecommendationReactionRepository;
 import br.com.aquidolado.repository.UserRepository;
+import br.com.aquidolado.storage.ImageCompressionService;
 import br.com.aquidolado.storage.StorageService;
+import br.com.aquidolado.util.FieldSelection;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdService {
@@ -43,9 +68,101 @@ public class AdService {
     private final RecommendationReactionRepository recommendationReactionRepository;
     private final EventLogService eventLogService;
     private final StorageService storageService;
+    /** Uploads das imagens de um anúncio em paralelo (AsyncStorageConfig). */
+    private final Executor storageExecutor;
+    private final Bulkhead uploadBulkhead;
+    private final TransactionTemplate transactionTemplate;
+    private final AdFeedIndex adFeedIndex;
+    private final ContentVersionService contentVersionService;
+    private final ImageCompressionService imageCompressionService;
+    private final AdPreviewCache adPreviewCache;
+
+    /** Gera no upload um preview 1200x630 para og:image (um arquivo a mais por anúncio no storage). */
+    @Value("${app.og.preview-image:false}")
+    private boolean ogPreviewImage;
+
+    private static final String DRAFT_IN_PROGRESS = "Anúncio ainda sendo publicado. Tente novamente em instantes.";
+    private static final String[] RATING_FIELDS = {"ratingCount", "averageRating", "currentUserRating"};
+
+    /** Tamanho do trecho da descrição no feed resumido (duas linhas do card). */
+    @Value("${app.feed-summary.snippet-chars:160}")
+    private int snippetChars;
 
-    @Transactional
+    /**
+     * Com imagens, o anúncio nasce como rascunho (DRAFT: fora do feed e das ações do dono), as imagens sobem sem
+     * conexão do banco presa e só então ele é ativado; se o upload ou a ativação falhar, as imagens enviadas e o
+     * rascunho são apagados. Tudo isso dentro do bulkhead de upload.
+     */
     public AdResponse create(Long userId, CreateAdRequest request, List<MultipartFile> images) {
+        List<MultipartFile> toUpload = request.getType() == AdType.RECOMMENDATION ? List.of() : imagesToSave(images);
+        if (toUpload.isEmpty()) {
+            return transactionTemplate.execute(status -> {
+                Ad ad = insertAd(userId, request, images, AdStatus.ACTIVE);
+                adFeedIndex.adChanged(ad);
+                adPreviewCache.invalidate(ad.getId());
+                contentVersionService.bump(ad.getCommunity().getId());
+                eventLogService.log(EventType.CREATE_AD, userId, ad.getCommunity().getId());
+                return toResponse(ad, userId);
+            });
+        }
+        return uploadBulkhead.call(() -> {
+            Ad draft = transactionTemplate.execute(status -> insertAd(userId, request, images, AdStatus.DRAFT));
+            List<String> urls;
+            try {
+                urls = uploadAll(withOgPreview(toUpload), "ads/" + draft.getId());
+            } catch (RuntimeException e) {
+                deleteDraft(draft.getId());
+                throw e;
+            }
+            try {
+                return transactionTemplate.execute(status -> {
+                    Ad ad = adRepository.findById(draft.getId())
+                            .filter(found -> found.getStatus() == AdStatus.DRAFT)
+                            .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
+                    ad.setStatus(AdStatus.ACTIVE);
+                    saveImageRows(ad, urls.subList(0, toUpload.size()));
+                    ad.setOgImageUrl(urls.size() > toUpload.size() ? urls.getLast() : null);
+                    adFeedIndex.adChanged(ad);
+                    adPreviewCache.invalidate(ad.getId());
+                    contentVersionService.bump(ad.getCommunity().getId());
+                    eventLogService.log(EventType.CREATE_AD, userId, ad.getCommunity().getId());
+                    return toResponse(ad, userId);
+                });
+            } catch (RuntimeException e) {
+                discard(urls);
+                deleteDraft(draft.getId());
+                throw e;
+            }
+        });
+    }
+
+    /** Limpeza de uma criação que falhou; um erro aqui só é registrado para não esconder o original. */
+    private void deleteDraft(Long adId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> adRepository.deleteById(adId));
+        } catch (RuntimeException e) {
+            log.warn("Rascunho {} não foi apagado: {}", adId, e.getMessage());
+        }
+    }
+
+    /**
+     * Rascunhos esquecidos porque o processo caiu entre o INSERT e a ativação (create): apaga as imagens já
+     * enviadas (prefixo ads/{id}) e as linhas, um lote por chamada. A busca vai ao primário (transação de escrita),
+     * e o storage é limpo antes do banco: se falhar no meio, a linha fica para o próximo ciclo.
+     *
+     * @return quantos rascunhos foram apagados
+     */
+    public int purgeStaleDrafts(Instant createdBefore, int batchSize) {
+        List<Long> draftIds = transactionTemplate.execute(status ->
+                adRepository.findDraftIdsCreatedBefore(createdBefore, PageRequest.of(0, batchSize)));
+        if (draftIds.isEmpty()) {
+            return 0;
+        }
+        draftIds.forEach(adId -> storageService.deleteByPrefix("ads/" + adId));
+        return transactionTemplate.execute(status -> adRepository.deleteDraftsByIdIn(draftIds));
+    }
+
+    private Ad insertAd(Long userId, CreateAdRequest request, List<MultipartFile> images, AdStatus status) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
@@ -75,7 +192,7 @@ public class AdService {
                 .description(request.getDescription())
                 .type(request.getType())
                 .price(priceToSave)
-                .status(AdStatus.ACTIVE)
+                .status(status)
                 .user(user)
                 .community(community)
                 .createdAt(Instant.now())
@@ -83,56 +200,177 @@ public class AdService {
                 .serviceType(request.getType() == AdType.RECOMMENDATION ? request.getServiceType().trim() : null)
                 .build();
 
-        ad = adRepository.save(ad);
+        return adRepository.save(ad);
+    }
 
-        if (request.getType() != AdType.RECOMMENDATION) {
-            saveImages(ad, images);
-        }
+    /**
+     * Com o índice do feed ligado, filtro, busca, ordenação e paginação saem da memória e o SQL só hidrata a
+     * página; sem ele (ou com ordenação que o índice não cobre), a consulta com filtros de sempre.
+     */
+    @Transactional(readOnly = true)
+    public Page<AdResponse> listByCommunity(Long communityId, Long userId, List<AdType> types, String search, Pageable pageable) {
+        return listByCommunity(communityId, userId, types, search, pageable, FieldSelection.ALL);
+    }
 
-        eventLogService.log(EventType.CREATE_AD, userId, community.getId());
+    /** Com ?fields=, sem avaliações pedidas as subconsultas de avaliação saem do SQL; sem imageUrls, a consulta de imagens. */
+    @Transactional(readOnly = true)
+    public Page<AdResponse> listByCommunity(Long communityId, Long userId, List<AdType> types, String search,
+                                            Pageable pageable, FieldSelection fields) {
+        boolean ratings = fields.includesAny(RATING_FIELDS);
+        return feed(communityId, userId, types, search, pageable,
+                ids -> toResponses(inIndexOrder(ids, ratings
+                                ? adRepository.findByIdInWithRatings(ids.getContent(), userId)
+                                : adRepository.findByIdIn(ids.getContent()),
+                        AdResponse::getId, AdResponse::getStatus), fields),
+                (typesToUse, searchPattern) -> toResponses(ratings
+                        ? adRepository.findByCommunityWithFiltersAndRatings(
+                                communityId, AdStatus.ACTIVE, typesToUse, searchPattern, userId, pageable)
+                        : adRepository.findByCommunityWithFilters(
+                                communityId, AdStatus.ACTIVE, typesToUse, searchPattern, pageable), fields));
+    }
 
-        return toResponse(ad, userId);
+    /**
+     * Feed resumido (view=summary), com os mesmos filtros e o mesmo índice: o banco corta a descrição e devolve
+     * só a imagem de capa, sem a consulta de imagens da página.
+     */
+    @Transactional(readOnly = true)
+    public Page<AdSummaryResponse> listSummariesByCommunity(Long communityId, Long userId, List<AdType> types,
+                                                            String search, Pageable pageable) {
+        return listSummariesByCommunity(communityId, userId, types, search, pageable, FieldSelection.ALL);
     }
 
+    /** Com ?fields=, capa, avaliações e trecho da descrição que não foram pedidos nem são lidos no banco. */
     @Transactional(readOnly = true)
-    public Page<AdResponse> listByCommunity(Long communityId, Long userId, List<AdType> types, String search, Pageable pageable) {
-        validateUserInCommunity(userId, communityId);
+    public Page<AdSummaryResponse> listSummariesByCommunity(Long communityId, Long userId, List<AdType> types,
+                                                            String search, Pageable pageable, FieldSelection fields) {
+        boolean cover = fields.includes("coverImageUrl");
+        boolean ratings = fields.includesAny(RATING_FIELDS);
+        int chars = fields.includes("descriptionSnippet") ? snippetChars : 0;
+        return feed(communityId, userId, types, search, pageable,
+                ids -> inIndexOrder(ids,
+                        adRepository.findSummariesByIdIn(ids.getContent(), userId, chars, cover, ratings),
+                        AdSummaryResponse::getId, AdSummaryResponse::getStatus),
+                (typesToUse, searchPattern) -> adRepository.findSummariesByCommunityWithFilters(communityId,
+                        AdStatus.ACTIVE, typesToUse, searchPattern, userId, chars, cover, ratings, pageable));
+    }
 
-        // Monta o padrão em Java para evitar LOWER(bytea) no PostgreSQL
-        String searchPattern = (search != null && !search.isBlank())
-                ? "%" + search.trim().toLowerCase() + "%"
-                : null;
+    private <T> Page<T> feed(Long communityId, Long userId, List<AdType> types, String search, Pageable pageable,
+                             Function<Page<Long>, Page<T>> fromIndex,
+                             BiFunction<List<AdType>, String, Page<T>> fromQuery) {
+        // A carga de uma comunidade fria vai ao primário: numa réplica atrasada o snapshot nasceria sem os
+        // anúncios recentes. Vale para a transação toda porque a conexão só é obtida no primeiro SQL.
+        boolean pinned = adFeedIndex.needsLoad(communityId, pageable) && !ReadYourWrites.isPinned();
+        if (pinned) {
+            ReadYourWrites.pinToPrimary();
+        }
+        try {
+            validateUserInCommunity(userId, communityId);
 
-        // Se a lista estiver vazia, passa null para retornar todos os tipos
-        List<AdType> typesToUse = (types != null && !types.isEmpty()) ? types : null;
+            // Se a lista estiver vazia, passa null para retornar todos os tipos
+            List<AdType> typesToUse = (types != null && !types.isEmpty()) ? types : null;
 
-        Page<Ad> ads = adRepository.findByCommunityWithFilters(
-                communityId, AdStatus.ACTIVE, typesToUse, searchPattern, pageable);
+            Optional<Page<Long>> ids = adFeedIndex.search(communityId, typesToUse, search, pageable);
+            if (ids.isPresent()) {
+                return ids.get().getContent().isEmpty()
+                        ? new PageImpl<>(List.of(), ids.get().getPageable(), ids.get().getTotalElements())
+                        : fromIndex.apply(ids.get());
+            }
 
-        return ads.map(ad -> toResponse(ad, userId));
+            // Monta o padrão em Java para evitar LOWER(bytea) no PostgreSQL. Termo literal e minúsculas em
+            // Locale.ROOT, como no índice: "50%" ou "a_b" não viram curinga
+            String searchPattern = (search != null && !search.isBlank())
+                    ? "%" + escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%"
+                    : null;
+
+            return fromQuery.apply(typesToUse, searchPattern);
+        } finally {
+            if (pinned) {
+                ReadYourWrites.clear();
+            }
+        }
+    }
+
+    /**
+     * Refaz a ordem da página escolhida pelo índice sobre as linhas carregadas numa consulta. Um anúncio que
+     * saiu do ar entre o índice e a consulta fica de fora, como ficaria no SQL.
+     */
+    private static <T> Page<T> inIndexOrder(Page<Long> ids, List<T> rows, Function<T, Long> idOf,
+                                            Function<T, AdStatus> statusOf) {
+        Map<Long, T> rowsById = rows.stream()
+                .filter(row -> statusOf.apply(row) == AdStatus.ACTIVE)
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = ids.getContent().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /** Escapa os curingas do LIKE (ESCAPE '!' em AdRepository.COMMUNITY_FILTERS). */
+    private static String escapeLike(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 
     @Transactional(readOnly = true)
     public Page<AdResponse> listMyAds(Long userId, Long communityId, Pageable pageable) {
         if (communityId != null) {
-            return adRepository.findByUserIdAndCommunityIdWithUser(userId, communityId, pageable)
-                    .map(ad -> toResponse(ad, userId));
+            return toResponses(adRepository.findByUserIdAndCommunityIdWithRatings(userId, communityId, userId, pageable),
+                    FieldSelection.ALL);
         }
-        return adRepository.findByUserIdWithUser(userId, pageable).map(ad -> toResponse(ad, userId));
+        return toResponses(adRepository.findByUserIdWithRatings(userId, userId, pageable), FieldSelection.ALL);
     }
 
-    @Transactional
+    /**
+     * Imagens novas substituem todas as antigas. Elas sobem entre duas transações curtas (validação e troca),
+     * dentro do bulkhead de upload; as antigas só saem do storage depois da troca confirmada.
+     */
     public AdResponse update(Long adId, Long userId, UpdateAdRequest request, List<MultipartFile> newImages) {
+        boolean replaceImages = request.getType() != AdType.RECOMMENDATION && newImages != null && !newImages.isEmpty();
+        if (!replaceImages) {
+            return transactionTemplate.execute(status -> toResponse(applyUpdate(adId, userId, request, newImages), userId));
+        }
+        List<MultipartFile> toUpload = imagesToSave(newImages);
+        return uploadBulkhead.call(() -> {
+            // Valida antes de enviar qualquer imagem
+            transactionTemplate.executeWithoutResult(status -> findEditable(adId, userId, request, newImages));
+            List<String> urls = toUpload.isEmpty() ? List.of() : uploadAll(withOgPreview(toUpload), "ads/" + adId);
+            List<String> replaced = new ArrayList<>();
+            AdResponse response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    Ad ad = applyUpdate(adId, userId, request, newImages);
+                    adImageRepository.findByAdIdOrderBySortOrder(adId).forEach(img -> replaced.add(img.getUrl()));
+                    if (ad.getOgImageUrl() != null) {
+                        replaced.add(ad.getOgImageUrl());
+                    }
+                    adImageRepository.deleteByAdId(adId);
+                    saveImageRows(ad, urls.subList(0, toUpload.size()));
+                    ad.setOgImageUrl(urls.size() > toUpload.size() ? urls.getLast() : null);
+                    return toResponse(ad, userId);
+                });
+            } catch (RuntimeException e) {
+                discard(urls);
+                throw e;
+            }
+            discard(replaced);
+            return response;
+        });
+    }
+
+    private Ad findEditable(Long adId, Long userId, UpdateAdRequest request, List<MultipartFile> newImages) {
         Ad ad = adRepository.findById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
-        if (!ad.getUser().getId().equals(userId)) {
+        if (!ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Você não pode editar este anúncio");
         }
 
         if (ad.getStatus() == AdStatus.CLOSED) {
             throw new IllegalArgumentException("Não é possível editar anúncios encerrados");
         }
+        if (ad.getStatus() == AdStatus.DRAFT) {
+            throw new IllegalArgumentException(DRAFT_IN_PROGRESS);
+        }
         if (ad.getStatus() == AdStatus.REMOVED) {
             throw new IllegalArgumentException("Anúncio removido por denúncias");
         }
@@ -148,7 +386,11 @@ public class AdService {
                 throw new IllegalArgumentException("Tipo de serviço é obrigatório para indicações");
             }
         }
+        return ad;
+    }
 
+    private Ad applyUpdate(Long adId, Long userId, UpdateAdRequest request, List<MultipartFile> newImages) {
+        Ad ad = findEditable(adId, userId, request, newImages);
         ad.setTitle(request.getTitle());
         ad.setDescription(request.getDescription());
         ad.setType(request.getType());
@@ -156,17 +398,10 @@ public class AdService {
         ad.setRecommendedContact(request.getType() == AdType.RECOMMENDATION ? request.getRecommendedContact().trim() : null);
         ad.setServiceType(request.getType() == AdType.RECOMMENDATION ? request.getServiceType().trim() : null);
         ad = adRepository.save(ad);
-
-        if (ad.getType() != AdType.RECOMMENDATION && newImages != null && !newImages.isEmpty()) {
-            List<AdImage> existing = adImageRepository.findByAdIdOrderBySortOrder(adId);
-            for (AdImage img : existing) {
-                storageService.delete(img.getUrl());
-            }
-            adImageRepository.deleteByAdId(adId);
-            saveImages(ad, newImages);
-        }
-
-        return toResponse(ad, userId);
+        adFeedIndex.adChanged(ad);
+        adPreviewCache.invalidate(ad.getId());
+        contentVersionService.bump(ad.getCommunity().getId());
+        return ad;
     }
 
     @Transactional
@@ -174,7 +409,7 @@ public class AdService {
         Ad ad = adRepository.findById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
-        if (!ad.getUser().getId().equals(userId)) {
+        if (!ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Você não pode pausar este anúncio");
         }
 
@@ -184,6 +419,9 @@ public class AdService {
 
         ad.setStatus(AdStatus.PAUSED);
         ad = adRepository.save(ad);
+        adFeedIndex.adChanged(ad);
+        adPreviewCache.invalidate(ad.getId());
+        contentVersionService.bump(ad.getCommunity().getId());
 
         return toResponse(ad, userId);
     }
@@ -193,7 +431,7 @@ public class AdService {
         Ad ad = adRepository.findById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
-        if (!ad.getUser().getId().equals(userId)) {
+        if (!ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Você não pode reativar este anúncio");
         }
 
@@ -207,6 +445,9 @@ public class AdService {
 
         ad.setStatus(AdStatus.ACTIVE);
         ad = adRepository.save(ad);
+        adFeedIndex.adChanged(ad);
+        adPreviewCache.invalidate(ad.getId());
+        contentVersionService.bump(ad.getCommunity().getId());
 
         return toResponse(ad, userId);
     }
@@ -216,15 +457,21 @@ public class AdService {
         Ad ad = adRepository.findById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
-        if (!ad.getUser().getId().equals(userId)) {
+        if (!ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Você não pode encerrar este anúncio");
         }
         if (ad.getStatus() == AdStatus.REMOVED) {
             throw new IllegalArgumentException("Anúncio removido por denúncias");
         }
+        if (ad.getStatus() == AdStatus.DRAFT) {
+            throw new IllegalArgumentException(DRAFT_IN_PROGRESS);
+        }
 
         ad.setStatus(AdStatus.CLOSED);
         ad = adRepository.save(ad);
+        adFeedIndex.adChanged(ad);
+        adPreviewCache.invalidate(ad.getId());
+        contentVersionService.bump(ad.getCommunity().getId());
 
         return toResponse(ad, userId);
     }
@@ -234,7 +481,7 @@ public class AdService {
         Ad ad = adRepository.findById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
-        if (!ad.getUser().getId().equals(userId)) {
+        if (!ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Você não pode remover este anúncio");
         }
 
@@ -243,37 +490,73 @@ public class AdService {
         }
 
         storageService.deleteByPrefix("ads/" + adId);
+        adImageRepository.deleteByAdId(adId);
         adRepository.delete(ad);
+        adFeedIndex.adDeleted(ad.getCommunity().getId(), adId);
+        adPreviewCache.invalidate(adId);
+        contentVersionService.bump(ad.getCommunity().getId());
     }
 
+    /**
+     * Versão do feed da comunidade (ETag), já validando o acesso: o 304 não pula a checagem de membro.
+     * Vazia logo depois de uma mudança (ver {@link ContentVersionService#settled}).
+     */
     @Transactional(readOnly = true)
-    public AdResponse getById(Long adId, Long userId) {
-        Ad ad = adRepository.findById(adId)
+    public OptionalLong feedVersion(Long communityId, Long userId) {
+        validateUserInCommunity(userId, communityId);
+        return contentVersionService.settled(communityId);
+    }
+
+    /** Versão da comunidade do anúncio (ETag do detalhe), sem carregar o anúncio. */
+    @Transactional(readOnly = true)
+    public OptionalLong adVersion(Long adId, Long userId) {
+        Long communityId = adRepository.findCommunityIdById(adId)
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
+        validateUserInCommunity(userId, communityId);
+        return contentVersionService.settled(communityId);
+    }
+
+    @Transactional(readOnly = true)
+    public AdResponse getById(Long adId, Long userId) {
+        return getById(adId, userId, FieldSelection.ALL);
+    }
+
+    /** Com ?fields=, pula o autor, as imagens e as avaliações que não foram pedidos. */
+    @Transactional(readOnly = true)
+    public AdResponse getById(Long adId, Long userId, FieldSelection fields) {
+        Optional<Ad> found = fields.includesAny("userName", "userWhatsapp")
+                ? adRepository.findDetailById(adId)
+                : adRepository.findById(adId);
+        Ad ad = found.orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
         validateUserInCommunity(userId, ad.getCommunity().getId());
 
-        if (ad.getStatus() == AdStatus.REMOVED && !ad.getUser().getId().equals(userId)) {
+        if ((ad.getStatus() == AdStatus.REMOVED || ad.getStatus() == AdStatus.DRAFT) && !ad.isOwnedBy(userId)) {
             throw new IllegalArgumentException("Anúncio não encontrado");
         }
 
-        return toResponse(ad, userId);
+        return toResponse(ad, userId, fields);
     }
 
+    /**
+     * Uma consulta no caminho feliz; as verificações de existência só rodam quando o usuário não é
+     * membro, para manter a mensagem de erro específica.
+     */
     private void validateUserInCommunity(Long userId, Long communityId) {
+        if (userRepository.existsByIdAndCommunitiesId(userId, communityId)) {
+            return;
+        }
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("Usuário não encontrado");
         }
         if (!communityRepository.existsById(communityId)) {
             throw new IllegalArgumentException("Comunidade não encontrada");
         }
-        if (!userRepository.existsByIdAndCommunitiesId(userId, communityId)) {
-            throw new IllegalArgumentException("Você não tem acesso a esta comunidade");
-        }
+        throw new IllegalArgumentException("Você não tem acesso a esta comunidade");
     }
 
-    private void saveImages(Ad ad, List<MultipartFile> images) {
-        if (images == null || images.isEmpty()) return;
+    private static List<MultipartFile> imagesToSave(List<MultipartFile> images) {
+        if (images == null || images.isEmpty()) return List.of();
         List<MultipartFile> toSave = images.stream()
                 .filter(f -> f != null && !f.isEmpty())
                 .limit(MAX_IMAGES)
@@ -281,12 +564,31 @@ public class AdService {
         if (toSave.size() > MAX_IMAGES) {
             throw new IllegalArgumentException("Máximo de " + MAX_IMAGES + " imagens por anúncio");
         }
-        String prefix = "ads/" + ad.getId();
-        for (int i = 0; i < toSave.size(); i++) {
-            String url = storageService.save(toSave.get(i), prefix);
+        return toSave;
+    }
+
+    /**
+     * Com app.og.preview-image, acrescenta ao upload o preview 1200x630 da primeira imagem (sobe junto, em paralelo,
+     * e fica como a última URL). Se o preview não puder ser gerado, o anúncio segue só com as imagens.
+     */
+    private List<MultipartFile> withOgPreview(List<MultipartFile> toUpload) {
+        if (!ogPreviewImage || toUpload.isEmpty()) {
+            return toUpload;
+        }
+        return imageCompressionService.ogPreview(toUpload.getFirst())
+                .map(preview -> {
+                    List<MultipartFile> files = new ArrayList<>(toUpload);
+                    files.add(preview);
+                    return files;
+                })
+                .orElse(toUpload);
+    }
+
+    private void saveImageRows(Ad ad, List<String> urls) {
+        for (int i = 0; i < urls.size(); i++) {
             AdImage img = AdImage.builder()
                     .ad(ad)
-                    .url(url)
+                    .url(urls.get(i))
                     .sortOrder(i)
                     .build();
             adImageRepository.save(img);
@@ -294,40 +596,134 @@ public class AdService {
     }
 
     /**
-     * Dados mínimos do anúncio para preview (Open Graph). Público, sem auth.
-     * Retorna vazio se o anúncio não existir ou estiver REMOVED.
+     * Comprime e envia as imagens em paralelo no storageExecutor, mantendo a ordem. Com mais de uma imagem,
+     * o tempo de storage do Server-Timing passa a ser o tempo de parede da espera (os uploads rodam em outras threads).
+     * Se alguma falhar, espera as demais terminarem e apaga as que subiram, para não deixar arquivo órfão.
+     */
+    private List<String> uploadAll(List<MultipartFile> files, String prefix) {
+        if (files.size() == 1) {
+            return List.of(storageService.save(files.getFirst(), prefix));
+        }
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> uploads = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> storageService.save(file, prefix), storageExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        } finally {
+            RequestTimings.recordStorage(System.nanoTime() - start);
+        }
+        List<String> urls = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<String> upload : uploads) {
+            try {
+                urls.add(upload.join());
+            } catch (CompletionException e) {
+                // Mantém o tipo original (IllegalArgumentException vira 400)
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            discard(urls);
+            throw failure;
+        }
+        return urls;
+    }
+
+    private void discard(List<String> urls) {
+        urls.forEach(storageService::delete);
+    }
+
+    /**
+     * Dados mínimos do anúncio para preview (Open Graph). Público, sem auth; o controller passa pelo AdPreviewCache.
+     * Retorna vazio se o anúncio não existir, estiver REMOVED ou ainda for rascunho. Lê só as colunas do preview
+     * (sem autor e comunidade).
      */
     @Transactional(readOnly = true)
     public Optional<AdOgResponse> getOgData(Long adId) {
-        return adRepository.findById(adId)
-                .filter(ad -> ad.getStatus() != AdStatus.REMOVED)
-                .map(ad -> {
+        return adRepository.findOgRow(adId).stream()
+                .findFirst()
+                .filter(row -> row[2] != AdStatus.REMOVED && row[2] != AdStatus.DRAFT)
+                .map(row -> {
                     String imagePath = null;
-                    if (ad.getType() != AdType.RECOMMENDATION) {
-                        List<AdImage> images = adImageRepository.findByAdIdOrderBySortOrder(ad.getId());
+                    if (row[1] != AdType.RECOMMENDATION) {
+                        List<AdImage> images = adImageRepository.findByAdIdOrderBySortOrder(adId);
                         if (!images.isEmpty()) {
-                            imagePath = images.getFirst().getUrl();
-                            // Só adiciona "/" para path relativo (ex.: /uploads/...). URL absoluta (Cloudinary) deve ser retornada como está.
-                            if (imagePath != null && !imagePath.startsWith("/") && !imagePath.startsWith("http://") && !imagePath.startsWith("https://")) {
-                                imagePath = "/" + imagePath;
-                            }
+                            imagePath = ogPath(images.getFirst().getUrl());
                         }
                     }
                     return AdOgResponse.builder()
-                            .title(ad.getTitle())
+                            .title((String) row[0])
                             .imagePath(imagePath)
+                            .previewImagePath(ogPath((String) row[3]))
                             .build();
                 });
     }
 
+    /** Só adiciona "/" para path relativo (ex.: /uploads/...). URL absoluta (Cloudinary) deve ser retornada como está. */
+    private static String ogPath(String url) {
+        if (url != null && !url.startsWith("/") && !url.startsWith("http://") && !url.startsWith("https://")) {
+            return "/" + url;
+        }
+        return url;
+    }
+
+    /**
+     * Completa as linhas da listagem (já projetadas no AdResponse pela consulta) com as URLs das imagens,
+     * numa única consulta para a página toda, independente do tamanho da página.
+     */
+    private Page<AdResponse> toResponses(Page<AdResponse> rows, FieldSelection fields) {
+        if (!fields.includes("imageUrls")) {
+            return rows;
+        }
+        List<Long> adIdsWithImages = rows.getContent().stream()
+                .filter(row -> row.getType() != AdType.RECOMMENDATION)
+                .map(AdResponse::getId)
+                .toList();
+        Map<Long, List<String>> urlsByAdId = adIdsWithImages.isEmpty()
+                ? Map.of()
+                : adImageRepository.findUrlsByAdIdIn(adIdsWithImages).stream()
+                        .collect(Collectors.groupingBy(img -> (Long) img[0],
+                                Collectors.mapping(img -> (String) img[1], Collectors.toList())));
+        rows.forEach(row -> row.setImageUrls(urlsByAdId.getOrDefault(row.getId(), List.of())));
+        return rows;
+    }
+
     private AdResponse toResponse(Ad ad, Long currentUserId) {
-        List<String> urls = ad.getType() == AdType.RECOMMENDATION
+        return toResponse(ad, currentUserId, FieldSelection.ALL);
+    }
+
+    private AdResponse toResponse(Ad ad, Long currentUserId, FieldSelection fields) {
+        List<String> urls = ad.getType() == AdType.RECOMMENDATION || !fields.includes("imageUrls")
                 ? List.of()
                 : adImageRepository.findByAdIdOrderBySortOrder(ad.getId())
                         .stream()
                         .map(AdImage::getUrl)
                         .toList();
-        AdResponse.AdResponseBuilder builder = AdResponse.builder()
+        AdResponse.AdResponseBuilder builder = baseResponse(ad, urls, fields);
+        if (ad.getType() == AdType.RECOMMENDATION) {
+            // Sem a contagem pedida, a média vem direto (AVG sem avaliações já é null)
+            Long ratingCount = fields.includes("ratingCount") ? recommendationReactionRepository.countByAdId(ad.getId()) : null;
+            builder.ratingCount(ratingCount);
+            if (fields.includes("averageRating") && (ratingCount == null || ratingCount > 0)) {
+                builder.averageRating(recommendationReactionRepository.getAverageRatingByAdId(ad.getId()));
+            }
+            if (currentUserId != null && fields.includes("currentUserRating")) {
+                builder.currentUserRating(
+                        recommendationReactionRepository.findByAdIdAndUserId(ad.getId(), currentUserId)
+                                .map(RecommendationReaction::getRating)
+                                .orElse(null));
+            }
+        }
+        return builder.build();
+    }
+
+    /** Autor só quando pedido: no detalhe sem userName/userWhatsapp o usuário nem foi carregado. */
+    private static AdResponse.AdResponseBuilder baseResponse(Ad ad, List<String> imageUrls, FieldSelection fields) {
+        boolean author = fields.includesAny("userName", "userWhatsapp");
+        return AdResponse.builder()
                 .id(ad.getId())
                 .title(ad.getTitle())
                 .description(ad.getDescription())
@@ -335,25 +731,13 @@ public class AdService {
                 .price(ad.getPrice())
                 .status(ad.getStatus())
                 .userId(ad.getUser().getId())
-                .userName(ad.getUser().getName())
-                .userWhatsapp(ad.getUser().getWhatsapp())
+                .userName(author ? ad.getUser().getName() : null)
+                .userWhatsapp(author ? ad.getUser().getWhatsapp() : null)
                 .communityId(ad.getCommunity().getId())
                 .createdAt(ad.getCreatedAt())
-                .imageUrls(urls)
+                .imageUrls(imageUrls)
                 .recommendedContact(ad.getRecommendedContact())
                 .serviceType(ad.getServiceType())
                 .suspendedByReportsAt(ad.getSuspendedByReportsAt());
-        if (ad.getType() == AdType.RECOMMENDATION) {
-            long ratingCount = recommendationReactionRepository.countByAdId(ad.getId());
-            builder.ratingCount(ratingCount);
-            builder.averageRating(ratingCount > 0 ? recommendationReactionRepository.getAverageRatingByAdId(ad.getId()) : null);
-            if (currentUserId != null) {
-                builder.currentUserRating(
-                        recommendationReactionRepository.findByAdIdAndUserId(ad.getId(), currentUserId)
-                                .map(RecommendationReaction::getRating)
-                                .orElse(null));
-            }
-        }
-        return builder.build();
     }
 }
@@ -13,9 +13,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -29,6 +35,7 @@ public class AuthService {
     private final TokenService tokenService;
     private final EmailService emailService;
     private final Environment environment;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -61,11 +68,9 @@ public class AuthService {
         eventLogService.log(EventType.REGISTER, user.getId(), null);
 
         String verificationToken = tokenService.generateVerificationToken(user);
-        try {
-            emailService.sendVerificationEmail(user, verificationToken);
-        } catch (Exception e) {
-            log.warn("🔐 [AUTH] Falha ao enviar email de verificação (conta criada): {}", e.getMessage());
-        }
+        User created = user;
+        enqueueAfterCommit(() -> emailService.sendVerificationEmail(created, verificationToken),
+                e -> log.warn("🔐 [AUTH] Falha ao enviar email de verificação (conta criada): {}", e.getMessage()));
 
         String token = jwtService.generateToken(user.getEmail(), user.getId());
 
@@ -144,15 +149,17 @@ public class AuthService {
         log.info("🔐 [AUTH] Solicitação de reset de senha - Email: {}", email);
         userRepository.findByEmail(email).ifPresent(user -> {
             String resetToken = tokenService.generatePasswordResetToken(user);
-            try {
+            enqueueAfterCommit(() -> {
                 emailService.sendPasswordResetEmail(user, resetToken);
                 log.info("🔐 [AUTH] Email de reset enviado - UserId: {}, Email: {}", user.getId(), user.getEmail());
-            } catch (IllegalStateException e) {
-                // Erro de configuração de email (EMAIL_FROM inválido) - loga mas não quebra o fluxo
-                log.error("🔐 [AUTH] Configuração de email inválida. Verifique EMAIL_FROM. Erro: {}", e.getMessage());
-            } catch (Exception e) {
-                log.warn("🔐 [AUTH] Falha ao enviar email de reset para {}: {}", user.getEmail(), e.getMessage());
-            }
+            }, e -> {
+                if (e instanceof IllegalStateException) {
+                    // Erro de configuração de email (EMAIL_FROM inválido) - loga mas não quebra o fluxo
+                    log.error("🔐 [AUTH] Configuração de email inválida. Verifique EMAIL_FROM. Erro: {}", e.getMessage());
+                } else {
+                    log.warn("🔐 [AUTH] Falha ao enviar email de reset para {}: {}", user.getEmail(), e.getMessage());
+                }
+            });
         });
         log.debug("🔐 [AUTH] Processamento de forgot-password concluído");
     }
@@ -166,4 +173,31 @@ public class AuthService {
         log.info("🔐 [AUTH] Senha redefinida com sucesso - UserId: {}, Email: {}", user.getId(), user.getEmail());
     }
 
+    /**
+     * Enfileira o email no outbox depois do commit, numa transação própria. Dentro da transação do cadastro, uma
+     * falha no outbox a marcaria como rollback-only e o commit viraria UnexpectedRollbackException mesmo com a
+     * exceção tratada; assim a conta e o token ficam, a falha só é registrada e o usuário pode pedir o reenvio.
+     */
+    private void enqueueAfterCommit(Runnable enqueue, Consumer<Exception> onFailure) {
+        Runnable send = () -> {
+            try {
+                TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+                requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                requiresNew.executeWithoutResult(status -> enqueue.run());
+            } catch (Exception e) {
+                onFailure.accept(e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+
 }
@@ -0,0 +1,53 @@
+package br.com.aquidolado.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Email com o mesmo corpo para vários destinatários. O HTML é renderizado uma vez e usa
+ * marcadores {{campo}} personalizados por destinatário (texto puro; o transporte faz o escape).
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkEmail {
+
+    private final String subject;
+    private final String htmlTemplate;
+    private final List<Recipient> recipients;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Recipient {
+        private final String email;
+        private final String name;
+        private final Map<String, String> fields;
+    }
+
+    public static String placeholder(String field) {
+        return "{{" + field + "}}";
+    }
+
+    /** Renderiza localmente o HTML de um destinatário (usado quando o provedor não tem envio em lote). */
+    public String renderFor(Recipient recipient) {
+        String html = htmlTemplate;
+        for (Map.Entry<String, String> field : recipient.getFields().entrySet()) {
+            html = html.replace(placeholder(field.getKey()), HtmlUtils.htmlEscape(field.getValue() != null ? field.getValue() : ""));
+        }
+        return html;
+    }
+
+    /** Divide os destinatários em fatias de até {@code size} (limite por chamada do provedor). */
+    public List<List<Recipient>> chunks(int size) {
+        int chunkCount = (recipients.size() + size - 1) / size;
+        return IntStream.range(0, chunkCount)
+                .mapToObj(i -> recipients.subList(i * size, Math.min(recipients.size(), (i + 1) * size)))
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import br.com.aquidolado.repository.CommunityDigestCheckpointRepository;
+import br.com.aquidolado.repository.CommunityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Agenda o resumo semanal. A execução semanal abre uma janela para cada comunidade; a retomada
+ * periódica termina janelas que ficaram pela metade (queda do nó, deploy). Um nó por vez (advisory lock).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommunityDigestScheduler {
+
+    private static final int COMMUNITY_PAGE_SIZE = 100;
+
+    private final CommunityDigestService communityDigestService;
+    private final CommunityRepository communityRepository;
+    private final CommunityDigestCheckpointRepository checkpointRepository;
+    private final DistributedLockService distributedLockService;
+    private final EmailService emailService;
+
+    @Value("${app.digest.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${app.digest.cron:0 0 9 * * MON}")
+    public void sendWeeklyDigest() {
+        if (!enabled || !emailService.isEmailConfigured()) {
+            return;
+        }
+        Instant windowEnd = Instant.now();
+        BackgroundWork.run(() -> {
+            boolean ran = distributedLockService.runExclusively(DistributedLockService.COMMUNITY_DIGEST_LOCK, () -> {
+                long afterId = 0L;
+                List<Long> communityIds;
+                while (!(communityIds = communityRepository.findIdsAfter(afterId, PageRequest.of(0, COMMUNITY_PAGE_SIZE))).isEmpty()) {
+                    communityIds.forEach(id -> runSafely(id, windowEnd));
+                    afterId = communityIds.get(communityIds.size() - 1);
+                }
+            });
+            if (!ran) {
+                log.debug("📧 [DIGEST] Resumo semanal já em execução em outro nó");
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.digest.resume-delay-ms:900000}",
+            initialDelayString = "${app.digest.resume-initial-delay-ms:60000}")
+    public void resumeInterrupted() {
+        if (!enabled || !emailService.isEmailConfigured()) {
+            return;
+        }
+        BackgroundWork.run(() -> distributedLockService.runExclusively(DistributedLockService.COMMUNITY_DIGEST_LOCK, () ->
+                checkpointRepository.findCommunityIdsInProgress().forEach(id -> runSafely(id, null))));
+    }
+
+    private void runSafely(Long communityId, Instant windowEnd) {
+        try {
+            communityDigestService.runCommunity(communityId, windowEnd);
+        } catch (Exception e) {
+            log.error("❌ [DIGEST] Falha no resumo da comunidade {} (será retomado): {}", communityId, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.CommunityDigestCheckpoint;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.domain.enums.EmailKind;
+import br.com.aquidolado.dto.DigestAdItem;
+import br.com.aquidolado.repository.AdRepository;
+import br.com.aquidolado.repository.CommunityDigestCheckpointRepository;
+import br.com.aquidolado.repository.CommunityRepository;
+import br.com.aquidolado.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resumo semanal de anúncios por comunidade. Por comunidade: uma consulta de anúncios, um HTML
+ * renderizado e envios em lote por página de membros (personalização só do nome). O checkpoint é
+ * gravado a cada lote, então uma execução interrompida continua do último destinatário enviado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommunityDigestService {
+
+    private static final String NAME_FIELD = "name";
+
+    private final CommunityDigestCheckpointRepository checkpointRepository;
+    private final CommunityRepository communityRepository;
+    private final AdRepository adRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.email.frontend-url:http://localhost:5173}")
+    private String frontendUrl;
+
+    @Value("${app.digest.max-ads:15}")
+    private int maxAds;
+
+    @Value("${app.digest.recipient-batch-size:200}")
+    private int recipientBatchSize;
+
+    @Value("${app.digest.pause-between-batches-ms:1000}")
+    private long pauseBetweenBatchesMs;
+
+    @Value("${app.digest.first-window-days:7}")
+    private int firstWindowDays;
+
+    /**
+     * Processa o resumo de uma comunidade. Com {@code newWindowEnd} abre uma nova janela se não houver
+     * envio em andamento; com null apenas retoma o que ficou pendente.
+     */
+    public void runCommunity(Long communityId, Instant newWindowEnd) {
+        CommunityDigestCheckpoint checkpoint = checkpointRepository.findById(communityId)
+                .orElseGet(() -> CommunityDigestCheckpoint.builder().communityId(communityId).build());
+        if (checkpoint.getWindowEnd() == null) {
+            if (newWindowEnd == null) {
+                return;
+            }
+            checkpoint.setWindowEnd(newWindowEnd);
+            checkpoint.setCursorUserId(0L);
+            checkpoint.setRecipientsSent(0);
+            checkpoint = save(checkpoint);
+        }
+
+        Instant windowEnd = checkpoint.getWindowEnd();
+        Instant windowStart = checkpoint.getLastSentUntil() != null
+                ? checkpoint.getLastSentUntil()
+                : windowEnd.minus(Duration.ofDays(firstWindowDays));
+        List<DigestAdItem> ads = adRepository.findDigestItems(communityId, windowStart, windowEnd,
+                PageRequest.of(0, maxAds + 1));
+        Community community = communityRepository.findById(communityId).orElse(null);
+        if (ads.isEmpty() || community == null) {
+            complete(checkpoint);
+            return;
+        }
+
+        boolean hasMore = ads.size() > maxAds;
+        String html = renderDigest(community.getName(), hasMore ? ads.subList(0, maxAds) : ads, hasMore);
+        String subject = "Novidades da semana em " + community.getName() + " - Aqui";
+
+        long cursor = checkpoint.getCursorUserId() != null ? checkpoint.getCursorUserId() : 0L;
+        List<User> page;
+        while (!(page = userRepository.findDigestRecipients(communityId, cursor,
+                PageRequest.of(0, recipientBatchSize))).isEmpty()) {
+            sendBatch(subject, html, page);
+            cursor = page.get(page.size() - 1).getId();
+            checkpoint.setCursorUserId(cursor);
+            checkpoint.setRecipientsSent(checkpoint.getRecipientsSent() + page.size());
+            checkpoint = save(checkpoint);
+            if (page.size() < recipientBatchSize) {
+                break;
+            }
+            pause();
+        }
+        log.info("📧 [DIGEST] Resumo da comunidade {} enviado - anúncios: {}, destinatários: {}",
+                communityId, ads.size(), checkpoint.getRecipientsSent());
+        complete(checkpoint);
+    }
+
+    /**
+     * Envia um lote pela API em lote do provedor. Quem falhar vai para o outbox individualmente,
+     * herdando retries e dead-letter em vez de ser reenviado pelo resumo inteiro.
+     */
+    private void sendBatch(String subject, String html, List<User> recipients) {
+        BulkEmail email = BulkEmail.builder()
+                .subject(subject)
+                .htmlTemplate(html)
+                .recipients(recipients.stream()
+                        .map(user -> new BulkEmail.Recipient(user.getEmail(), user.getName(),
+                                Map.of(NAME_FIELD, user.getName() != null ? user.getName() : "vizinho")))
+                        .toList())
+                .build();
+        Set<String> failed = new HashSet<>(emailService.sendBulk(email));
+        for (BulkEmail.Recipient recipient : email.getRecipients()) {
+            if (failed.contains(recipient.getEmail())) {
+                emailOutboxService.enqueue(EmailKind.DIGEST, recipient.getEmail(), recipient.getName(),
+                        subject, email.renderFor(recipient));
+            }
+        }
+        meterRegistry.counter("aqui.digest.recipients", "outcome", "sent").increment(recipients.size() - failed.size());
+        meterRegistry.counter("aqui.digest.recipients", "outcome", "queued_retry").increment(failed.size());
+    }
+
+    private void complete(CommunityDigestCheckpoint checkpoint) {
+        checkpoint.setLastSentUntil(checkpoint.getWindowEnd());
+        checkpoint.setWindowEnd(null);
+        checkpoint.setCursorUserId(null);
+        save(checkpoint);
+    }
+
+    private CommunityDigestCheckpoint save(CommunityDigestCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(Instant.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private void pause() {
+        if (pauseBetweenBatchesMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenBatchesMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envio do resumo interrompido", e);
+        }
+    }
+
+    private String renderDigest(String communityName, List<DigestAdItem> ads, boolean hasMore) {
+        NumberFormat currency = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("pt-BR"));
+        StringBuilder items = new StringBuilder();
+        for (DigestAdItem ad : ads) {
+            items.append("<li><strong>").append(HtmlUtils.htmlEscape(ad.getTitle())).append("</strong> · ")
+                    .append(typeLabel(ad.getType()));
+            if (ad.getPrice() != null) {
+                items.append(" · ").append(currency.format(ad.getPrice()));
+            }
+            items.append("</li>");
+        }
+        return """
+            <p>Olá, %s!</p>
+            <p>Veja o que foi anunciado esta semana em <strong>%s</strong>:</p>
+            <ul>%s</ul>
+            %s
+            <p><a href="%s" style="display:inline-block;padding:10px 20px;background:#2563eb;color:white;text-decoration:none;border-radius:6px;">Ver anúncios</a></p>
+            <p style="color:#6b7280;font-size:12px;">Não quer mais receber este resumo? Desative em <a href="%s/profile">seu perfil</a>.</p>
+            """.formatted(BulkEmail.placeholder(NAME_FIELD), HtmlUtils.htmlEscape(communityName), items,
+                hasMore ? "<p>E mais anúncios no app.</p>" : "", frontendUrl, frontendUrl);
+    }
+
+    private static String typeLabel(AdType type) {
+        return switch (type) {
+            case SALE_TRADE -> "Venda/Troca";
+            case RENT -> "Aluguel";
+            case SERVICE -> "Serviço";
+            case DONATION -> "Doação";
+            case RECOMMENDATION -> "Indicação";
+        };
+    }
+}
@@ -11,6 +11,8 @@ import br.com.aquidolado.dto.CreateCommunityRequest;
 import br.com.aquidolado.dto.JoinRequestResponse;
 import br.com.aquidolado.dto.MemberSummary;
 import br.com.aquidolado.dto.UpdateCommunityRequest;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.og.AdPreviewCache;
 import br.com.aquidolado.repository.AdImageRepository;
 import br.com.aquidolado.repository.AdRepository;
 import br.com.aquidolado.repository.CommentLikeRepository;
@@ -22,6 +24,7 @@ import br.com.aquidolado.repository.RecommendationReactionRepository;
 import br.com.aquidolado.repository.ReportRepository;
 import br.com.aquidolado.repository.UserRepository;
 import br.com.aquidolado.storage.StorageService;
+import br.com.aquidolado.util.FieldSelection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +32,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,6 +44,7 @@ public class CommunityService {
 
     private static final int ACCESS_CODE_LENGTH = 8;
     private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String[] MEMBER_FIELDS = {"memberNames", "members"};
 
     private final CommunityRepository communityRepository;
     private final UserRepository userRepository;
@@ -50,6 +57,9 @@ public class CommunityService {
     private final CommentLikeRepository commentLikeRepository;
     private final AdImageRepository adImageRepository;
     private final StorageService storageService;
+    private final AdFeedIndex adFeedIndex;
+    private final AdPreviewCache adPreviewCache;
+    private final ContentVersionService contentVersionService;
 
     @Transactional
     public CommunityResponse create(Long userId, CreateCommunityRequest request) {
@@ -121,32 +131,72 @@ public class CommunityService {
 
         user.getCommunities().add(community);
         userRepository.save(user);
+        contentVersionService.bump(community.getId());
         return toResponse(community, userId);
     }
 
     @Transactional(readOnly = true)
     public List<CommunityResponse> listUserCommunities(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        List<Community> communities = communityRepository.findByMemberIdWithCreatedBy(userId);
+        if (communities.isEmpty() && !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Usuário não encontrado");
+        }
+        Set<Long> adminOf = new HashSet<>(communityAdminRepository.findCommunityIdsByUserId(userId));
 
-        return user.getCommunities().stream()
-                .map(c -> toResponse(c, userId))
+        return communities.stream()
+                .map(c -> toResponse(c, adminOf.contains(c.getId())))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public CommunityResponse getById(Long communityId, Long userId) {
+        return getById(communityId, userId, FieldSelection.ALL);
+    }
+
+    /**
+     * Com ?fields= sem members/memberNames os membros nem são carregados (a checagem de acesso vira um exists),
+     * e sem isAdmin/adminIds a consulta de administradores não roda.
+     */
+    @Transactional(readOnly = true)
+    public CommunityResponse getById(Long communityId, Long userId, FieldSelection fields) {
+        if (!fields.includesAny(MEMBER_FIELDS)) {
+            requireMember(communityId, userId);
+            Community community = communityRepository.findByIdWithCreatedBy(communityId)
+                    .orElseThrow(() -> new IllegalArgumentException("Condomínio não encontrado"));
+            return toResponseWithDetails(community, userId, fields);
+        }
         Community community = communityRepository.findByIdWithCreatedByAndMembers(communityId)
                 .orElseThrow(() -> new IllegalArgumentException("Condomínio não encontrado"));
 
-        if (!userRepository.existsById(userId)) {
-            throw new IllegalArgumentException("Usuário não encontrado");
+        // Membros já vieram na consulta acima; existsById só para diferenciar a mensagem de erro
+        boolean member = community.getMembers().stream().anyMatch(u -> u.getId().equals(userId));
+        if (!member) {
+            if (!userRepository.existsById(userId)) {
+                throw new IllegalArgumentException("Usuário não encontrado");
+            }
+            throw new IllegalArgumentException("Você não tem acesso a este condomínio");
         }
+
+        return toResponseWithDetails(community, userId, fields);
+    }
+
+    /** Versão do detalhe (ETag), com as mesmas checagens de {@link #getById} mas sem carregar os membros. */
+    @Transactional(readOnly = true)
+    public OptionalLong contentVersion(Long communityId, Long userId) {
+        requireMember(communityId, userId);
+        return contentVersionService.settled(communityId);
+    }
+
+    private void requireMember(Long communityId, Long userId) {
         if (!userRepository.existsByIdAndCommunitiesId(userId, communityId)) {
+            if (!communityRepository.existsById(communityId)) {
+                throw new IllegalArgumentException("Condomínio não encontrado");
+            }
+            if (!userRepository.existsById(userId)) {
+                throw new IllegalArgumentException("Usuário não encontrado");
+            }
             throw new IllegalArgumentException("Você não tem acesso a este condomínio");
         }
-
-        return toResponseWithDetails(community, userId);
     }
 
     @Transactional
@@ -167,15 +217,13 @@ public class CommunityService {
         }
 
         userRepository.save(user);
+        contentVersionService.bump(communityId);
     }
 
     @Transactional(readOnly = true)
     public List<CommunityResponse> listAdminCommunities(Long userId) {
         return communityAdminRepository.findByUser_IdWithCommunityAndCreatedBy(userId).stream()
-                .map(ca -> {
-                    Community c = ca.getCommunity();
-                    return toResponse(c, userId);
-                })
+                .map(ca -> toResponse(ca.getCommunity(), true))
                 .collect(Collectors.toList());
     }
 
@@ -188,15 +236,7 @@ public class CommunityService {
     @Transactional(readOnly = true)
     public List<JoinRequestResponse> getPendingRequests(Long communityId, Long userId) {
         requireAdmin(communityId, userId);
-        return joinRequestRepository.findByCommunityIdAndStatus(communityId, JoinRequestStatus.PENDING).stream()
-                .map(r -> JoinRequestResponse.builder()
-                        .id(r.getId())
-                        .userId(r.getUser().getId())
-                        .userName(r.getUser().getName())
-                        .status(r.getStatus())
-                        .createdAt(r.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
+        return joinRequestRepository.findResponsesByCommunityIdAndStatus(communityId, JoinRequestStatus.PENDING);
     }
 
     @Transactional
@@ -216,6 +256,7 @@ public class CommunityService {
         userRepository.save(targetUser);
         request.setStatus(JoinRequestStatus.APPROVED);
         joinRequestRepository.save(request);
+        contentVersionService.bump(communityId);
     }
 
     @Transactional
@@ -250,6 +291,7 @@ public class CommunityService {
                 .community(community)
                 .user(targetUser)
                 .build());
+        contentVersionService.bump(communityId);
     }
 
     /**
@@ -276,6 +318,7 @@ public class CommunityService {
         }
 
         userRepository.save(targetUser);
+        contentVersionService.bump(communityId);
     }
 
     @Transactional
@@ -283,6 +326,7 @@ public class CommunityService {
         requireAdmin(communityId, userId);
         communityAdminRepository.deleteByCommunity_IdAndUser_Id(communityId, userId);
         ensureCommunityHasAdmin(communityId, userId, false);
+        contentVersionService.bump(communityId);
     }
 
     @Transactional
@@ -298,8 +342,9 @@ public class CommunityService {
             community.setPostalCode(normalizePostalCode(request.getPostalCode()));
         }
         communityRepository.save(community);
+        contentVersionService.bump(communityId);
         Community withDetails = communityRepository.findByIdWithCreatedByAndMembers(communityId).orElse(community);
-        return toResponseWithDetails(withDetails, userId);
+        return toResponseWithDetails(withDetails, userId, FieldSelection.ALL);
     }
 
     @Transactional
@@ -313,8 +358,9 @@ public class CommunityService {
         } while (communityRepository.existsByAccessCode(newCode));
         community.setAccessCode(newCode);
         communityRepository.save(community);
+        contentVersionService.bump(communityId);
         Community withDetails = communityRepository.findByIdWithCreatedByAndMembers(communityId).orElse(community);
-        return toResponseWithDetails(withDetails, userId);
+        return toResponseWithDetails(withDetails, userId, FieldSelection.ALL);
     }
 
     /**
@@ -347,11 +393,13 @@ public class CommunityService {
             adImageRepository.deleteByAdId(ad.getId());
             storageService.deleteByPrefix("ads/" + ad.getId());
             adRepository.delete(ad);
+            adPreviewCache.invalidate(ad.getId());
         }
 
         communityAdminRepository.deleteByCommunity_Id(communityId);
         joinRequestRepository.deleteByCommunity_Id(communityId);
         communityRepository.deleteById(communityId);
+        adFeedIndex.evictCommunity(communityId);
     }
 
     /**
@@ -373,6 +421,7 @@ public class CommunityService {
                     .community(community)
                     .user(nextAdmin)
                     .build());
+            contentVersionService.bump(communityId);
         }
     }
 
@@ -406,6 +455,10 @@ public class CommunityService {
 
     private CommunityResponse toResponse(Community c, Long currentUserId) {
         boolean isAdmin = currentUserId != null && communityAdminRepository.existsByCommunity_IdAndUser_Id(c.getId(), currentUserId);
+        return toResponse(c, isAdmin);
+    }
+
+    private CommunityResponse toResponse(Community c, boolean isAdmin) {
         return CommunityResponse.builder()
                 .id(c.getId())
                 .name(c.getName())
@@ -418,22 +471,30 @@ public class CommunityService {
                 .build();
     }
 
-    private CommunityResponse toResponseWithDetails(Community c, Long currentUserId) {
-        List<String> memberNames = c.getMembers().stream()
-                .map(User::getName)
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
-        List<MemberSummary> members = c.getMembers().stream()
-                .sorted(Comparator.comparing(User::getName))
-                .map(u -> MemberSummary.builder().id(u.getId()).name(u.getName()).build())
-                .collect(Collectors.toList());
-        boolean isAdmin = currentUserId != null && communityAdminRepository.existsByCommunity_IdAndUser_Id(c.getId(), currentUserId);
+    private CommunityResponse toResponseWithDetails(Community c, Long currentUserId, FieldSelection fields) {
+        List<String> memberNames = null;
+        List<MemberSummary> members = null;
+        if (fields.includesAny(MEMBER_FIELDS)) {
+            // Uma ordenação serve às duas listas
+            List<User> sorted = c.getMembers().stream()
+                    .sorted(Comparator.comparing(User::getName))
+                    .toList();
+            if (fields.includes("memberNames")) {
+                memberNames = sorted.stream().map(User::getName).collect(Collectors.toList());
+            }
+            if (fields.includes("members")) {
+                members = sorted.stream()
+                        .map(u -> MemberSummary.builder().id(u.getId()).name(u.getName()).build())
+                        .collect(Collectors.toList());
+            }
+        }
+        Boolean isAdmin = null;
         List<Long> adminIds = null;
-        if (isAdmin) {
-            adminIds = communityAdminRepository.findByCommunity_Id(c.getId()).stream()
-                    .map(ca -> ca.getUser().getId())
-                    .sorted()
-                    .collect(Collectors.toList());
+        if (fields.includesAny("isAdmin", "adminIds")) {
+            // Uma consulta para os ids de administradores; isAdmin sai da mesma lista
+            List<Long> communityAdminIds = communityAdminRepository.findUserIdsByCommunityId(c.getId());
+            isAdmin = currentUserId != null && communityAdminIds.contains(currentUserId);
+            adminIds = isAdmin ? communityAdminIds : null;
         }
         return CommunityResponse.builder()
                 .id(c.getId())
@@ -0,0 +1,67 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.repository.CommunityContentVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Versão do conteúdo por comunidade, base dos ETags de GET /api/ads, /api/ads/{id} e /api/communities/{id}.
+ * Toda escrita em anúncio, avaliação, comentário ou membro sobe a versão na própria transação: quem lê a
+ * versão depois do commit nunca recebe 304 para um conteúdo que mudou.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentVersionService {
+
+    private final CommunityContentVersionRepository repository;
+    private final CacheInvalidationBus invalidationBus;
+
+    /** Versão que este nó viu por último em cada comunidade e desde quando (uma entrada por comunidade lida). */
+    private final Map<Long, Seen> seen = new ConcurrentHashMap<>();
+
+    /** Tempo para a invalidação de uma escrita em outro nó chegar aqui (NOTIFY, juntado a cada flush-ms). */
+    @Value("${app.etag.settle-ms:2000}")
+    private long settleMs;
+
+    private record Seen(long version, long sinceNanos) {
+    }
+
+    /** Chamar dentro da transação da escrita. */
+    public void bump(Long communityId) {
+        repository.bump(communityId);
+    }
+
+    /** Perfil do usuário mudou: todas as comunidades onde ele aparece. */
+    public void bumpForUser(Long userId) {
+        repository.bumpForUser(userId);
+    }
+
+    public long current(Long communityId) {
+        return repository.findVersion(communityId).orElse(0L);
+    }
+
+    /**
+     * Versão para o ETag, ou vazio enquanto os caches locais (índice do feed, cache L2) podem não refletí-la:
+     * a versão mudou há menos de app.etag.settle-ms neste nó, ou a escuta do barramento caiu. Sem ETag a
+     * resposta não pode ser revalidada, então um corpo montado de cache atrasado nunca vira 304 depois.
+     */
+    public OptionalLong settled(Long communityId) {
+        long version = current(communityId);
+        if (invalidationBus.isDegraded()) {
+            return OptionalLong.empty();
+        }
+        long now = System.nanoTime();
+        Seen current = seen.compute(communityId, (id, previous) ->
+                previous != null && previous.version() == version ? previous : new Seen(version, now));
+        return now - current.sinceNanos() >= TimeUnit.MILLISECONDS.toNanos(settleMs)
+                ? OptionalLong.of(version)
+                : OptionalLong.empty();
+    }
+}
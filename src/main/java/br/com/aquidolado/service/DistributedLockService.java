@@ -0,0 +1,71 @@
+package br.com.aquidolado.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exclusão mútua entre nós via advisory lock do PostgreSQL (sem infraestrutura extra).
+ * O lock é de sessão: fica preso a uma conexão dedicada durante a tarefa e é liberado ao final. A conexão é
+ * aberta fora dos pools (como a escuta do CacheInvalidationBus): o resumo semanal segura o lock por horas, e
+ * com ela no pool de background sobrariam poucas conexões para o outbox, a exclusão de contas e a invalidação.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DistributedLockService {
+
+    /** Chaves dos locks (espaço único para a aplicação inteira). */
+    public static final long TOKEN_CLEANUP_LOCK = 7_001L;
+    public static final long COMMUNITY_DIGEST_LOCK = 7_002L;
+    public static final long DRAFT_CLEANUP_LOCK = 7_003L;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    /**
+     * Executa a tarefa somente se nenhum outro nó estiver com o lock.
+     *
+     * @return false se o lock estava ocupado (tarefa não executada)
+     */
+    public boolean runExclusively(long lockKey, Runnable task) {
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            if (!tryLock(connection, lockKey)) {
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                unlock(connection, lockKey);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao obter advisory lock " + lockKey, e);
+        }
+    }
+
+    private boolean tryLock(Connection connection, long lockKey) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, lockKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection, long lockKey) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            ps.setLong(1, lockKey);
+            ps.execute();
+        } catch (SQLException e) {
+            log.warn("Falha ao liberar advisory lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Expurgo periódico de anúncios que ficaram em rascunho (DRAFT) porque o processo caiu durante a criação,
+ * junto com as imagens já enviadas ao storage. Só considera rascunhos mais velhos que max-age-minutes, bem
+ * acima do tempo de qualquer upload; apenas um nó executa por vez (advisory lock).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DraftCleanupScheduler {
+
+    private final AdService adService;
+    private final DistributedLockService distributedLockService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.draft-cleanup.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${app.draft-cleanup.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.draft-cleanup.time-budget-ms:10000}")
+    private long timeBudgetMs;
+
+    @Scheduled(cron = "${app.draft-cleanup.cron:0 47 * * * *}")
+    public void purgeStaleDrafts() {
+        BackgroundWork.run(() -> {
+            boolean ran = distributedLockService.runExclusively(DistributedLockService.DRAFT_CLEANUP_LOCK, this::purge);
+            if (!ran) {
+                log.debug("📝 [DRAFT] Expurgo de rascunhos em execução em outro nó; ignorando ciclo");
+            }
+        });
+    }
+
+    private void purge() {
+        Instant createdBefore = Instant.now().minus(Duration.ofMinutes(maxAgeMinutes));
+        long deadline = System.currentTimeMillis() + timeBudgetMs;
+        long total = 0;
+        int deleted;
+        do {
+            deleted = adService.purgeStaleDrafts(createdBefore, batchSize);
+            total += deleted;
+        } while (deleted == batchSize && System.currentTimeMillis() < deadline);
+
+        meterRegistry.counter("aqui.drafts.purged").increment(total);
+        if (total > 0) {
+            log.warn("📝 [DRAFT] Rascunhos abandonados removidos (criação interrompida) - Quantidade: {}", total);
+        }
+    }
+}
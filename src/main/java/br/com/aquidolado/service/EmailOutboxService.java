@@ -0,0 +1,123 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.EmailOutboxMessage;
+import br.com.aquidolado.domain.enums.EmailKind;
+import br.com.aquidolado.domain.enums.EmailOutboxStatus;
+import br.com.aquidolado.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outbox transacional de emails. O enfileiramento participa da transação de quem chama
+ * (ex.: cadastro + token), então o email só existe se o token existir e nunca se perde em reinícios.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.email.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.email.outbox.claim-timeout-seconds:120}")
+    private long claimTimeoutSeconds;
+
+    @Transactional
+    public void enqueue(EmailKind kind, String toEmail, String toName, String subject, String htmlBody) {
+        Instant now = Instant.now();
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .kind(kind)
+                .recipientEmail(toEmail)
+                .recipientName(toName)
+                .subject(subject)
+                .htmlBody(htmlBody)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /**
+     * Reivindica um lote de mensagens vencidas. A próxima tentativa é empurrada para frente
+     * (timeout de visibilidade): se o nó cair no meio do envio, a mensagem volta a ficar disponível.
+     */
+    @Transactional
+    public List<EmailOutboxMessage> claimBatch(int limit) {
+        Instant now = Instant.now();
+        List<EmailOutboxMessage> batch = emailOutboxRepository.findDueForUpdate(now, limit);
+        Instant visibleAgainAt = now.plusSeconds(claimTimeoutSeconds);
+        for (EmailOutboxMessage message : batch) {
+            message.setNextAttemptAt(visibleAgainAt);
+            message.setAttempts(message.getAttempts() + 1);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(Long messageId) {
+        emailOutboxRepository.findById(messageId).ifPresent(message -> {
+            message.setStatus(EmailOutboxStatus.SENT);
+            message.setSentAt(Instant.now());
+            message.setLastError(null);
+        });
+    }
+
+    /**
+     * Registra a falha e agenda nova tentativa com backoff exponencial; esgotadas as tentativas, vai para DEAD.
+     *
+     * @return true se a mensagem foi para a dead-letter
+     */
+    @Transactional
+    public boolean markFailed(Long messageId, Exception error) {
+        EmailOutboxMessage message = emailOutboxRepository.findById(messageId).orElse(null);
+        if (message == null) {
+            return false;
+        }
+        String detail = error.getClass().getSimpleName() + ": " + error.getMessage();
+        message.setLastError(detail.length() > MAX_ERROR_LENGTH ? detail.substring(0, MAX_ERROR_LENGTH) : detail);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.DEAD);
+            log.error("❌ [EMAIL] Email {} para {} movido para dead-letter após {} tentativas: {}",
+                    message.getId(), message.getRecipientEmail(), message.getAttempts(), detail);
+            return true;
+        }
+        long delay = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(message.getAttempts() - 1, 20));
+        message.setNextAttemptAt(Instant.now().plusSeconds(delay));
+        log.warn("📧 [EMAIL] Falha ao enviar email {} para {} (tentativa {}), nova tentativa em {}s: {}",
+                message.getId(), message.getRecipientEmail(), message.getAttempts(), delay, detail);
+        return false;
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public long countDead() {
+        return emailOutboxRepository.countByStatus(EmailOutboxStatus.DEAD);
+    }
+
+    /**
+     * Remove um lote de mensagens já enviadas antes do corte (o corpo contém links com token).
+     */
+    @Transactional
+    public int purgeSent(Instant cutoff, int batchSize) {
+        return emailOutboxRepository.deleteSentBatch(cutoff, batchSize);
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import br.com.aquidolado.domain.entity.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena o outbox de emails: reivindica lotes (SKIP LOCKED, seguro com vários nós) e envia em paralelo
+ * no emailExecutor. Falhas voltam para a fila com backoff exponencial até irem para a dead-letter.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final Executor emailExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+
+    @Value("${app.email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-run-ms:20000}")
+    private long maxRunMs;
+
+    @Value("${app.email.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public EmailOutboxWorker(EmailOutboxService emailOutboxService,
+                             EmailService emailService,
+                             @Qualifier("emailExecutor") Executor emailExecutor,
+                             MeterRegistry meterRegistry) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailService = emailService;
+        this.emailExecutor = emailExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("aqui.email.outbox.backlog", backlog, AtomicLong::get)
+                .description("Emails pendentes no outbox (inclui os aguardando nova tentativa)")
+                .register(meterRegistry);
+        Gauge.builder("aqui.email.outbox.dead", deadLetters, AtomicLong::get)
+                .description("Emails na dead-letter")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-delay-ms:2000}",
+            initialDelayString = "${app.email.outbox.initial-delay-ms:5000}")
+    public void drain() {
+        if (!emailService.isEmailConfigured()) {
+            return;
+        }
+        BackgroundWork.run(this::drainBatches);
+    }
+
+    private void drainBatches() {
+        long deadline = System.currentTimeMillis() + maxRunMs;
+        try {
+            List<EmailOutboxMessage> batch;
+            do {
+                batch = emailOutboxService.claimBatch(batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                CompletableFuture.allOf(batch.stream()
+                                .map(message -> CompletableFuture.runAsync(() -> BackgroundWork.run(() -> send(message)), emailExecutor))
+                                .toArray(CompletableFuture[]::new))
+                        .join();
+            } while (batch.size() == batchSize && System.currentTimeMillis() < deadline);
+        } finally {
+            backlog.set(emailOutboxService.countPending());
+            deadLetters.set(emailOutboxService.countDead());
+        }
+    }
+
+    private void send(EmailOutboxMessage message) {
+        String outcome;
+        try {
+            emailService.deliver(message.getRecipientEmail(), message.getRecipientName(),
+                    message.getSubject(), message.getHtmlBody());
+            emailOutboxService.markSent(message.getId());
+            outcome = "sent";
+            Timer.builder("aqui.email.outbox.delivery.latency")
+                    .description("Tempo entre o enfileiramento e o envio bem-sucedido")
+                    .tag("kind", message.getKind().name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(Duration.between(message.getCreatedAt(), Instant.now()));
+            log.info("📧 [EMAIL] Email {} ({}) enviado para {} via {}",
+                    message.getId(), message.getKind(), message.getRecipientEmail(), emailService.providerName());
+        } catch (Exception e) {
+            outcome = emailOutboxService.markFailed(message.getId(), e) ? "dead" : "retry";
+        }
+        Counter.builder("aqui.email.outbox.attempts")
+                .description("Tentativas de envio do outbox por resultado")
+                .tag("kind", message.getKind().name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Apaga mensagens já enviadas após o período de retenção (o corpo contém links com token).
+     */
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 41 * * * *}")
+    public void purgeSentMessages() {
+        BackgroundWork.run(this::purgeSent);
+    }
+
+    private void purgeSent() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = emailOutboxService.purgeSent(cutoff, 1000);
+            total += deleted;
+        } while (deleted == 1000);
+        if (total > 0) {
+            log.info("📧 [EMAIL] {} emails enviados removidos do outbox", total);
+        }
+    }
+}
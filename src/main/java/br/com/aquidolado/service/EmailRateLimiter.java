@@ -0,0 +1,54 @@
+package br.com.aquidolado.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket simples para respeitar o limite de envio do provedor (emails por segundo).
+ * Um envio em lote consome uma permissão por destinatário. Taxa &lt;= 0 desativa o limite.
+ * ReentrantLock em vez de synchronized: virtual threads disputando um monitor prendem a carrier (Java 21).
+ */
+public class EmailRateLimiter {
+
+    private final double permitsPerSecond;
+    private final double maxStored;
+    private double stored;
+    private long lastRefillNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public EmailRateLimiter(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.maxStored = Math.max(1, permitsPerSecond);
+        this.stored = maxStored;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /** Bloqueia até haver permissões; pedidos maiores que a rajada ficam "devendo" e atrasam os seguintes. */
+    public void acquire(int permits) {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando limite de envio de email", e);
+            }
+        }
+    }
+
+    private long reserve(int permits) {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            stored = Math.min(maxStored, stored + (now - lastRefillNanos) / 1e9 * permitsPerSecond);
+            lastRefillNanos = now;
+            stored -= permits;
+            return stored >= 0 ? 0 : (long) (-stored / permitsPerSecond * 1e9);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,46 +1,33 @@
 package br.com.aquidolado.service;
 
 import br.com.aquidolado.domain.entity.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import br.com.aquidolado.domain.enums.EmailKind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
-import org.springframework.http.MediaType;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestClient;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
-import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import software.amazon.awssdk.services.sesv2.SesV2Client;
-import software.amazon.awssdk.services.sesv2.model.Body;
-import software.amazon.awssdk.services.sesv2.model.Content;
-import software.amazon.awssdk.services.sesv2.model.Destination;
-import software.amazon.awssdk.services.sesv2.model.EmailContent;
-import software.amazon.awssdk.services.sesv2.model.Message;
-import software.amazon.awssdk.services.sesv2.model.SendEmailRequest;
 
 @Service
 @Slf4j
 public class EmailService {
 
-    private static final String SENDGRID_API_URL = "https://api.sendgrid.com/v3/mail/send";
-
     @Autowired(required = false)
     private JavaMailSender mailSender;
 
-    @Autowired(required = false)
-    @org.springframework.beans.factory.annotation.Qualifier("emailExecutor")
-    private Executor emailExecutor;
+    @Autowired
+    private EmailOutboxService emailOutboxService;
 
     @Value("${spring.mail.host:}")
     private String smtpHost;
@@ -64,6 +51,18 @@ public class EmailService {
     @org.springframework.beans.factory.annotation.Qualifier("sesV2Client")
     private SesV2Client sesV2Client;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SendGridEmailTransport sendGridTransport;
+
+    @Autowired
+    private SesEmailTransport sesTransport;
+
+    @Autowired
+    private SmtpEmailTransport smtpTransport;
+
     @Autowired(required = false)
     private Environment environment;
 
@@ -102,10 +101,11 @@ public class EmailService {
     }
 
     /**
-     * Envia email de verificação de conta (em background quando possível).
+     * Enfileira o email de verificação de conta no outbox, na transação de quem chama (o cadastro chama depois do
+     * commit, numa transação própria).
      * Em modo mock (SMTP não configurado), apenas loga o token.
-     * O envio real é agendado em thread separada para evitar timeout da requisição HTTP (ex.: resend-verification).
      */
+    @Transactional
     public void sendVerificationEmail(User user, String token) {
         String verificationLink = frontendUrl + "/verify-email?token=" + token;
         if (!isEmailConfigured()) {
@@ -119,58 +119,15 @@ public class EmailService {
             log.warn("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
             return;
         }
-        if (!StringUtils.hasText(fromEmail) || !fromEmail.contains("@")) {
-            log.error("❌ [EMAIL] EMAIL_FROM não configurado ou inválido. Configure a variável EMAIL_FROM com um email válido.");
-            throw new IllegalStateException("EMAIL_FROM não está configurado. Configure a variável de ambiente EMAIL_FROM com um email válido.");
-        }
-        Runnable send = () -> {
-            try {
-                doSendVerificationEmail(user, verificationLink);
-            } catch (Exception e) {
-                log.error("❌ [EMAIL] Falha ao enviar email de verificação em background para {}: {}", user.getEmail(), e.getMessage(), e);
-            }
-        };
-        if (emailExecutor != null) {
-            emailExecutor.execute(send);
-            log.info("📧 [EMAIL] Envio de verificação agendado em background para {}", user.getEmail());
-        } else {
-            try {
-                doSendVerificationEmail(user, verificationLink);
-            } catch (MessagingException e) {
-                log.error("❌ [EMAIL] Falha ao enviar email de verificação para {}: {}", user.getEmail(), e.getMessage(), e);
-                throw new RuntimeException("Não foi possível enviar o email de verificação", e);
-            }
-        }
-    }
-
-    private void doSendVerificationEmail(User user, String verificationLink) throws MessagingException {
-        if (useSendGridApi()) {
-            log.info("📧 [EMAIL] Modo de envio: SendGrid API (HTTPS). Enviando verificação para {}", user.getEmail());
-            sendViaSendGridApi(user.getEmail(), user.getName(), "Confirme seu email - Aqui", buildVerificationEmailBody(user.getName(), verificationLink));
-            log.info("📧 [EMAIL] Email de verificação enviado com sucesso para {} (SendGrid API)", user.getEmail());
-            return;
-        }
-        if (useAwsSesApi()) {
-            log.info("📧 [EMAIL] Modo de envio: AWS SES API (HTTPS). Enviando verificação para {}", user.getEmail());
-            sendViaAwsSesApi(user.getEmail(), "Confirme seu email - Aqui", buildVerificationEmailBody(user.getName(), verificationLink));
-            log.info("📧 [EMAIL] Email de verificação enviado com sucesso para {} (AWS SES API)", user.getEmail());
-            return;
-        }
-        log.info("📧 [EMAIL] Modo de envio: SMTP. Enviando verificação para {}", user.getEmail());
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        helper.setFrom(fromEmail);
-        helper.setTo(user.getEmail());
-        helper.setSubject("Confirme seu email - Aqui");
-        String html = buildVerificationEmailBody(user.getName(), verificationLink);
-        helper.setText(html, true);
-        mailSender.send(message);
-        log.info("📧 [EMAIL] Email de verificação enviado com sucesso para {}", user.getEmail());
+        emailOutboxService.enqueue(EmailKind.VERIFICATION, user.getEmail(), user.getName(),
+                "Confirme seu email - Aqui", buildVerificationEmailBody(user.getName(), verificationLink));
+        log.info("📧 [EMAIL] Email de verificação enfileirado para {}", user.getEmail());
     }
 
     /**
-     * Envia email de redefinição de senha (em background quando possível). Em modo mock, apenas loga o token.
+     * Enfileira o email de redefinição de senha no outbox. Em modo mock, apenas loga o token.
      */
+    @Transactional
     public void sendPasswordResetEmail(User user, String token) {
         String resetLink = frontendUrl + "/reset-password?token=" + token;
         if (!isEmailConfigured()) {
@@ -184,109 +141,82 @@ public class EmailService {
             log.warn("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
             return;
         }
-        if (!StringUtils.hasText(fromEmail) || !fromEmail.contains("@")) {
-            log.error("❌ [EMAIL] EMAIL_FROM não configurado ou inválido. Configure a variável EMAIL_FROM com um email válido.");
-            throw new IllegalStateException("EMAIL_FROM não está configurado. Configure a variável de ambiente EMAIL_FROM com um email válido.");
-        }
-        Runnable send = () -> {
-            try {
-                doSendPasswordResetEmail(user, resetLink);
-            } catch (Exception e) {
-                log.error("❌ [EMAIL] Falha ao enviar email de reset em background para {}: {}", user.getEmail(), e.getMessage(), e);
-            }
-        };
-        if (emailExecutor != null) {
-            emailExecutor.execute(send);
-            log.info("📧 [EMAIL] Envio de reset de senha agendado em background para {}", user.getEmail());
-        } else {
-            try {
-                doSendPasswordResetEmail(user, resetLink);
-            } catch (MessagingException e) {
-                log.error("❌ [EMAIL] Falha ao enviar email de reset para {}: {}", user.getEmail(), e.getMessage(), e);
-                throw new RuntimeException("Não foi possível enviar o email de redefinição de senha", e);
-            }
-        }
+        emailOutboxService.enqueue(EmailKind.PASSWORD_RESET, user.getEmail(), user.getName(),
+                "Redefinição de senha - Aqui", buildPasswordResetEmailBody(user.getName(), resetLink));
+        log.info("📧 [EMAIL] Email de reset de senha enfileirado para {}", user.getEmail());
     }
 
-    private void doSendPasswordResetEmail(User user, String resetLink) throws MessagingException {
+    /**
+     * Transporte efetivo: SendGrid API, AWS SES API ou SMTP, nessa ordem de preferência.
+     */
+    private EmailTransport transport() {
         if (useSendGridApi()) {
-            log.info("📧 [EMAIL] Modo de envio: SendGrid API (HTTPS). Enviando reset de senha para {}", user.getEmail());
-            sendViaSendGridApi(user.getEmail(), user.getName(), "Redefinição de senha - Aqui", buildPasswordResetEmailBody(user.getName(), resetLink));
-            log.info("📧 [EMAIL] Email de redefinição de senha enviado com sucesso para {} (SendGrid API)", user.getEmail());
-            return;
+            return sendGridTransport;
         }
         if (useAwsSesApi()) {
-            log.info("📧 [EMAIL] Modo de envio: AWS SES API (HTTPS). Enviando reset de senha para {}", user.getEmail());
-            sendViaAwsSesApi(user.getEmail(), "Redefinição de senha - Aqui", buildPasswordResetEmailBody(user.getName(), resetLink));
-            log.info("📧 [EMAIL] Email de redefinição de senha enviado com sucesso para {} (AWS SES API)", user.getEmail());
-            return;
+            return sesTransport;
         }
-        log.info("📧 [EMAIL] Modo de envio: SMTP. Enviando reset de senha para {}", user.getEmail());
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        helper.setFrom(fromEmail);
-        helper.setTo(user.getEmail());
-        helper.setSubject("Redefinição de senha - Aqui");
-        String html = buildPasswordResetEmailBody(user.getName(), resetLink);
-        helper.setText(html, true);
-        mailSender.send(message);
-        log.info("📧 [EMAIL] Email de redefinição de senha enviado com sucesso para {}", user.getEmail());
+        return smtpTransport;
+    }
+
+    /**
+     * Nome do provedor efetivo (sendgrid, ses ou smtp), usado em logs e métricas.
+     */
+    public String providerName() {
+        return transport().name();
     }
 
     /**
-     * Envia email via API HTTPS do AWS SES (porta 443). Evita timeout quando a porta SMTP 587 está bloqueada.
-     * Requer AWS_ACCESS_KEY_ID, AWS_SECRET_ACCESS_KEY e AWS_SES_REGION (ou AWS_REGION).
+     * Envio síncrono pelo provedor configurado. Chamado pelo worker do outbox, nunca na thread da requisição.
+     * Qualquer exceção indica falha (o worker agenda nova tentativa).
      */
-    private void sendViaAwsSesApi(String toEmail, String subject, String htmlContent) {
-        SendEmailRequest request = SendEmailRequest.builder()
-                .fromEmailAddress(fromEmail)
-                .destination(Destination.builder().toAddresses(toEmail).build())
-                .content(EmailContent.builder()
-                        .simple(Message.builder()
-                                .subject(Content.builder().data(subject).charset("UTF-8").build())
-                                .body(Body.builder()
-                                        .html(Content.builder().data(htmlContent).charset("UTF-8").build())
-                                        .build())
-                                .build())
-                        .build())
-                .build();
+    public void deliver(String toEmail, String toName, String subject, String htmlContent) {
+        requireValidFrom();
+        EmailTransport transport = transport();
+        long start = System.nanoTime();
+        String outcome = "failure";
         try {
-            sesV2Client.sendEmail(request);
-        } catch (Exception e) {
-            log.error("❌ [EMAIL] Falha na chamada à AWS SES API: {}", e.getMessage(), e);
-            throw new RuntimeException("Falha ao enviar email via AWS SES API: " + e.getMessage(), e);
+            transport.send(toEmail, toName, subject, htmlContent);
+            outcome = "success";
+        } finally {
+            recordSend(transport, "single", outcome, start);
         }
     }
 
     /**
-     * Envia email via API HTTP do SendGrid (porta 443). Funciona em ambientes que bloqueiam SMTP (ex.: Render free tier).
+     * Envia o mesmo conteúdo a vários destinatários pela API em lote do provedor (personalizations/SendBulkEmail).
+     *
+     * @return emails dos destinatários que falharam
      */
-    private void sendViaSendGridApi(String toEmail, String toName, String subject, String htmlContent) {
-        Map<String, Object> body = Map.of(
-                "personalizations", List.of(Map.of("to", List.of(Map.of("email", toEmail, "name", toName != null ? toName : "")))),
-                "from", Map.of("email", fromEmail, "name", "Aqui"),
-                "subject", subject,
-                "content", List.of(Map.of("type", "text/html", "value", htmlContent))
-        );
-
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(25));
-        factory.setReadTimeout(Duration.ofSeconds(25));
-        RestClient restClient = RestClient.builder()
-                .requestFactory(factory)
-                .build();
-
+    public List<String> sendBulk(BulkEmail email) {
+        requireValidFrom();
+        EmailTransport transport = transport();
+        long start = System.nanoTime();
+        String outcome = "failure";
         try {
-            restClient.post()
-                    .uri(SENDGRID_API_URL)
-                    .header("Authorization", "Bearer " + sendgridApiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(body)
-                    .retrieve()
-                    .toBodilessEntity();
-        } catch (Exception e) {
-            log.error("❌ [EMAIL] Falha na chamada à SendGrid API: {}", e.getMessage(), e);
-            throw new RuntimeException("Falha ao enviar email via SendGrid API: " + e.getMessage(), e);
+            List<String> failed = transport.sendBulk(email);
+            outcome = failed.isEmpty() ? "success" : failed.size() < email.getRecipients().size() ? "partial" : "failure";
+            return failed;
+        } finally {
+            recordSend(transport, "bulk", outcome, start);
+        }
+    }
+
+    private void recordSend(EmailTransport transport, String mode, String outcome, long startNanos) {
+        Timer.builder("aqui.email.send")
+                .description("Duração da chamada ao provedor de email")
+                .tag("provider", transport.name())
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void requireValidFrom() {
+        if (!StringUtils.hasText(fromEmail) || !fromEmail.contains("@")) {
+            log.error("❌ [EMAIL] EMAIL_FROM não configurado ou inválido. Configure a variável EMAIL_FROM com um email válido.");
+            throw new IllegalStateException("EMAIL_FROM não está configurado. Configure a variável de ambiente EMAIL_FROM com um email válido.");
         }
     }
 
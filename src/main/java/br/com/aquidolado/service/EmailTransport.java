@@ -0,0 +1,23 @@
+package br.com.aquidolado.service;
+
+import java.util.List;
+
+/**
+ * Camada de transporte de email (SendGrid API, AWS SES API ou SMTP). As implementações HTTP
+ * reutilizam um cliente com pool de conexões e aplicam o limite de envio do provedor.
+ */
+public interface EmailTransport {
+
+    /** Nome curto do provedor (sendgrid, ses, smtp), usado em logs e métricas. */
+    String name();
+
+    /** Envia um email individual; lança exceção em caso de falha. */
+    void send(String toEmail, String toName, String subject, String htmlContent);
+
+    /**
+     * Envia o mesmo template a vários destinatários usando a API em lote do provedor quando existir.
+     *
+     * @return emails dos destinatários cujo envio falhou (vazio se todos foram aceitos)
+     */
+    List<String> sendBulk(BulkEmail email);
+}
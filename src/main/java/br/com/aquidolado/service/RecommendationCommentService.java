@@ -17,6 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +31,7 @@ public class RecommendationCommentService {
     private final RecommendationCommentRepository recommendationCommentRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final UserRepository userRepository;
+    private final ContentVersionService contentVersionService;
 
     @Transactional(readOnly = true)
     public Page<CommentResponse> getComments(Long adId, Long currentUserId, Pageable pageable) {
@@ -37,8 +43,22 @@ public class RecommendationCommentService {
         if (!userRepository.existsByIdAndCommunitiesId(currentUserId, ad.getCommunity().getId())) {
             throw new IllegalArgumentException("Você não tem acesso a esta comunidade");
         }
-        return recommendationCommentRepository.findByAdIdOrderByCreatedAtAsc(adId, pageable)
-                .map(c -> toCommentResponse(c, currentUserId));
+        Page<CommentResponse> comments = recommendationCommentRepository.findResponsesByAdId(adId, pageable);
+        List<Long> commentIds = comments.getContent().stream().map(CommentResponse::getId).toList();
+        if (commentIds.isEmpty()) {
+            return comments;
+        }
+        // Curtidas da página inteira em duas consultas, em vez de duas por comentário
+        Map<Long, Long> likeCounts = commentLikeRepository.countByCommentIds(commentIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        Set<Long> liked = currentUserId != null
+                ? new HashSet<>(commentLikeRepository.findLikedCommentIds(currentUserId, commentIds))
+                : Set.of();
+        comments.forEach(c -> {
+            c.setLikeCount(likeCounts.getOrDefault(c.getId(), 0L));
+            c.setCurrentUserLiked(liked.contains(c.getId()));
+        });
+        return comments;
     }
 
     @Transactional
@@ -59,7 +79,8 @@ public class RecommendationCommentService {
                 .createdAt(Instant.now())
                 .build();
         comment = recommendationCommentRepository.save(comment);
-        return toCommentResponse(comment, userId);
+        contentVersionService.bump(ad.getCommunity().getId());
+        return toCommentResponse(comment, 0L, false);
     }
 
     @Transactional
@@ -89,6 +110,7 @@ public class RecommendationCommentService {
                     .createdAt(Instant.now())
                     .build());
         }
+        contentVersionService.bump(ad.getCommunity().getId());
     }
 
     @Transactional
@@ -111,11 +133,10 @@ public class RecommendationCommentService {
         }
         commentLikeRepository.deleteByCommentId(commentId);
         recommendationCommentRepository.delete(comment);
+        contentVersionService.bump(ad.getCommunity().getId());
     }
 
-    private CommentResponse toCommentResponse(RecommendationComment c, Long currentUserId) {
-        long likeCount = commentLikeRepository.countByCommentId(c.getId());
-        boolean currentUserLiked = currentUserId != null && commentLikeRepository.existsByCommentIdAndUserId(c.getId(), currentUserId);
+    private CommentResponse toCommentResponse(RecommendationComment c, long likeCount, boolean currentUserLiked) {
         return CommentResponse.builder()
                 .id(c.getId())
                 .adId(c.getAd().getId())
@@ -18,6 +18,7 @@ public class RecommendationReactionService {
     private final AdRepository adRepository;
     private final RecommendationReactionRepository recommendationReactionRepository;
     private final UserRepository userRepository;
+    private final ContentVersionService contentVersionService;
 
     @Transactional
     public void setRating(Long adId, Long userId, int rating) {
@@ -45,6 +46,7 @@ public class RecommendationReactionService {
                                 .createdAt(Instant.now())
                                 .build())
                 );
+        contentVersionService.bump(ad.getCommunity().getId());
     }
 
     @Transactional
@@ -55,5 +57,6 @@ public class RecommendationReactionService {
             throw new IllegalArgumentException("Avaliações só são permitidas em indicações");
         }
         recommendationReactionRepository.deleteByAdIdAndUserId(adId, userId);
+        contentVersionService.bump(ad.getCommunity().getId());
     }
 }
@@ -7,6 +7,8 @@ import br.com.aquidolado.domain.enums.AdStatus;
 import br.com.aquidolado.domain.enums.EventType;
 import br.com.aquidolado.dto.ReportRequest;
 import br.com.aquidolado.exception.AlreadyReportedException;
+import br.com.aquidolado.feed.AdFeedIndex;
+import br.com.aquidolado.og.AdPreviewCache;
 import br.com.aquidolado.repository.AdRepository;
 import br.com.aquidolado.repository.ReportRepository;
 import br.com.aquidolado.repository.UserRepository;
@@ -25,6 +27,9 @@ public class ReportService {
     private final AdRepository adRepository;
     private final UserRepository userRepository;
     private final EventLogService eventLogService;
+    private final AdFeedIndex adFeedIndex;
+    private final AdPreviewCache adPreviewCache;
+    private final ContentVersionService contentVersionService;
 
     @Value("${app.reports.suspend-threshold:2}")
     private int suspendThreshold;
@@ -34,15 +39,17 @@ public class ReportService {
 
     @Transactional
     public void report(Long userId, ReportRequest request) {
-        User reporter = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
-
         Ad ad = adRepository.findById(request.getAdId())
                 .orElseThrow(() -> new IllegalArgumentException("Anúncio não encontrado"));
 
+        // Comunidade e denunciante só pelo id: ser membro já prova que o usuário existe
         if (!userRepository.existsByIdAndCommunitiesId(userId, ad.getCommunity().getId())) {
+            if (!userRepository.existsById(userId)) {
+                throw new IllegalArgumentException("Usuário não encontrado");
+            }
             throw new IllegalArgumentException("Você não pode denunciar anúncios de comunidades que não participa");
         }
+        User reporter = userRepository.getReferenceById(userId);
 
         if (reportRepository.existsByAd_IdAndReporterUser_Id(ad.getId(), userId)) {
             throw new AlreadyReportedException();
@@ -64,10 +71,16 @@ public class ReportService {
             ad.setStatus(AdStatus.REMOVED);
             ad.setSuspendedByReportsAt(null);
             adRepository.save(ad);
+            adFeedIndex.adChanged(ad);
+            adPreviewCache.invalidate(ad.getId());
+            contentVersionService.bump(ad.getCommunity().getId());
         } else if (distinctReporters >= suspendThreshold) {
             ad.setStatus(AdStatus.PAUSED);
             ad.setSuspendedByReportsAt(Instant.now());
             adRepository.save(ad);
+            adFeedIndex.adChanged(ad);
+            adPreviewCache.invalidate(ad.getId());
+            contentVersionService.bump(ad.getCommunity().getId());
         }
     }
 }
@@ -0,0 +1,103 @@
+package br.com.aquidolado.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envio via API HTTP do SendGrid (porta 443). Funciona em ambientes que bloqueiam SMTP (ex.: Render free tier).
+ * Usa o RestClient compartilhado (conexões keep-alive) e personalizations para lotes de até 1000 destinatários.
+ */
+@Slf4j
+@Component
+public class SendGridEmailTransport implements EmailTransport {
+
+    static final int MAX_PERSONALIZATIONS = 1000;
+
+    private final RestClient restClient;
+    private final String apiUrl;
+    private final String apiKey;
+    private final String fromEmail;
+    private final EmailRateLimiter rateLimiter;
+
+    public SendGridEmailTransport(@Qualifier("sendGridRestClient") RestClient restClient,
+                                  @Value("${app.email.sendgrid-api-url:https://api.sendgrid.com/v3/mail/send}") String apiUrl,
+                                  @Value("${app.email.sendgrid-api-key:}") String apiKey,
+                                  @Value("${app.email.from:}") String fromEmail,
+                                  @Value("${app.email.sendgrid-max-per-second:100}") double maxPerSecond) {
+        this.restClient = restClient;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.fromEmail = fromEmail;
+        this.rateLimiter = new EmailRateLimiter(maxPerSecond);
+    }
+
+    @Override
+    public String name() {
+        return "sendgrid";
+    }
+
+    @Override
+    public void send(String toEmail, String toName, String subject, String htmlContent) {
+        rateLimiter.acquire(1);
+        post(List.of(Map.of("to", List.of(address(toEmail, toName)))), subject, htmlContent);
+    }
+
+    @Override
+    public List<String> sendBulk(BulkEmail email) {
+        List<String> failed = new ArrayList<>();
+        for (List<BulkEmail.Recipient> chunk : email.chunks(MAX_PERSONALIZATIONS)) {
+            List<Map<String, Object>> personalizations = new ArrayList<>(chunk.size());
+            for (BulkEmail.Recipient recipient : chunk) {
+                Map<String, String> substitutions = new HashMap<>();
+                recipient.getFields().forEach((field, value) ->
+                        substitutions.put(BulkEmail.placeholder(field), HtmlUtils.htmlEscape(value != null ? value : "")));
+                personalizations.add(Map.of(
+                        "to", List.of(address(recipient.getEmail(), recipient.getName())),
+                        "substitutions", substitutions));
+            }
+            rateLimiter.acquire(chunk.size());
+            try {
+                post(personalizations, email.getSubject(), email.getHtmlTemplate());
+            } catch (Exception e) {
+                log.warn("📧 [EMAIL] Lote SendGrid com {} destinatários falhou: {}", chunk.size(), e.getMessage());
+                chunk.forEach(recipient -> failed.add(recipient.getEmail()));
+            }
+        }
+        return failed;
+    }
+
+    private void post(List<? extends Map<String, ?>> personalizations, String subject, String htmlContent) {
+        Map<String, Object> body = Map.of(
+                "personalizations", personalizations,
+                "from", Map.of("email", fromEmail, "name", "Aqui"),
+                "subject", subject,
+                "content", List.of(Map.of("type", "text/html", "value", htmlContent))
+        );
+        try {
+            restClient.post()
+                    .uri(apiUrl)
+                    .header("Authorization", "Bearer " + apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception e) {
+            log.error("❌ [EMAIL] Falha na chamada à SendGrid API: {}", e.getMessage(), e);
+            throw new RuntimeException("Falha ao enviar email via SendGrid API: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, String> address(String email, String name) {
+        return Map.of("email", email, "name", name != null ? name : "");
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.aquidolado.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sesv2.SesV2Client;
+import software.amazon.awssdk.services.sesv2.model.Body;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailContent;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntry;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntryResult;
+import software.amazon.awssdk.services.sesv2.model.Content;
+import software.amazon.awssdk.services.sesv2.model.Destination;
+import software.amazon.awssdk.services.sesv2.model.EmailContent;
+import software.amazon.awssdk.services.sesv2.model.EmailTemplateContent;
+import software.amazon.awssdk.services.sesv2.model.Message;
+import software.amazon.awssdk.services.sesv2.model.ReplacementEmailContent;
+import software.amazon.awssdk.services.sesv2.model.ReplacementTemplate;
+import software.amazon.awssdk.services.sesv2.model.SendBulkEmailRequest;
+import software.amazon.awssdk.services.sesv2.model.SendBulkEmailResponse;
+import software.amazon.awssdk.services.sesv2.model.SendEmailRequest;
+import software.amazon.awssdk.services.sesv2.model.Template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envio via API HTTPS do AWS SES (porta 443). Evita timeout quando a porta SMTP 587 está bloqueada.
+ * Lotes usam SendBulkEmail com template inline (até 50 destinatários por chamada; o SES escapa os {{campos}}).
+ */
+@Slf4j
+@Component
+public class SesEmailTransport implements EmailTransport {
+
+    static final int MAX_BULK_ENTRIES = 50;
+
+    private final ObjectProvider<SesV2Client> sesV2Client;
+    private final ObjectMapper objectMapper;
+    private final String fromEmail;
+    private final EmailRateLimiter rateLimiter;
+
+    public SesEmailTransport(ObjectProvider<SesV2Client> sesV2Client,
+                             ObjectMapper objectMapper,
+                             @Value("${app.email.from:}") String fromEmail,
+                             @Value("${app.email.aws-ses-max-per-second:14}") double maxPerSecond) {
+        this.sesV2Client = sesV2Client;
+        this.objectMapper = objectMapper;
+        this.fromEmail = fromEmail;
+        this.rateLimiter = new EmailRateLimiter(maxPerSecond);
+    }
+
+    @Override
+    public String name() {
+        return "ses";
+    }
+
+    @Override
+    public void send(String toEmail, String toName, String subject, String htmlContent) {
+        SendEmailRequest request = SendEmailRequest.builder()
+                .fromEmailAddress(fromEmail)
+                .destination(Destination.builder().toAddresses(toEmail).build())
+                .content(EmailContent.builder()
+                        .simple(Message.builder()
+                                .subject(Content.builder().data(subject).charset("UTF-8").build())
+                                .body(Body.builder()
+                                        .html(Content.builder().data(htmlContent).charset("UTF-8").build())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        rateLimiter.acquire(1);
+        try {
+            client().sendEmail(request);
+        } catch (Exception e) {
+            log.error("❌ [EMAIL] Falha na chamada à AWS SES API: {}", e.getMessage(), e);
+            throw new RuntimeException("Falha ao enviar email via AWS SES API: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> sendBulk(BulkEmail email) {
+        BulkEmailContent defaultContent = BulkEmailContent.builder()
+                .template(Template.builder()
+                        .templateContent(EmailTemplateContent.builder()
+                                .subject(email.getSubject())
+                                .html(email.getHtmlTemplate())
+                                .build())
+                        .templateData("{}")
+                        .build())
+                .build();
+        List<String> failed = new ArrayList<>();
+        for (List<BulkEmail.Recipient> chunk : email.chunks(MAX_BULK_ENTRIES)) {
+            List<BulkEmailEntry> entries = new ArrayList<>(chunk.size());
+            for (BulkEmail.Recipient recipient : chunk) {
+                entries.add(BulkEmailEntry.builder()
+                        .destination(Destination.builder().toAddresses(recipient.getEmail()).build())
+                        .replacementEmailContent(ReplacementEmailContent.builder()
+                                .replacementTemplate(ReplacementTemplate.builder()
+                                        .replacementTemplateData(toJson(recipient))
+                                        .build())
+                                .build())
+                        .build());
+            }
+            rateLimiter.acquire(chunk.size());
+            try {
+                SendBulkEmailResponse response = client().sendBulkEmail(SendBulkEmailRequest.builder()
+                        .fromEmailAddress(fromEmail)
+                        .defaultContent(defaultContent)
+                        .bulkEmailEntries(entries)
+                        .build());
+                List<BulkEmailEntryResult> results = response.bulkEmailEntryResults();
+                for (int i = 0; i < results.size() && i < chunk.size(); i++) {
+                    if (!"SUCCESS".equals(results.get(i).statusAsString())) {
+                        failed.add(chunk.get(i).getEmail());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("📧 [EMAIL] Lote AWS SES com {} destinatários falhou: {}", chunk.size(), e.getMessage());
+                chunk.forEach(recipient -> failed.add(recipient.getEmail()));
+            }
+        }
+        return failed;
+    }
+
+    private SesV2Client client() {
+        SesV2Client client = sesV2Client.getIfAvailable();
+        if (client == null) {
+            throw new IllegalStateException("AWS SES não configurado (app.email.aws-ses-region)");
+        }
+        return client;
+    }
+
+    private String toJson(BulkEmail.Recipient recipient) {
+        try {
+            return objectMapper.writeValueAsString(recipient.getFields());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Dados de personalização inválidos", e);
+        }
+    }
+}
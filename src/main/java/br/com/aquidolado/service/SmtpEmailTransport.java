@@ -0,0 +1,101 @@
+package br.com.aquidolado.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Envio via SMTP (JavaMailSender). Sem API de lote: cada destinatário recebe uma mensagem renderizada localmente.
+ * O SMTPTransport do Jakarta Mail faz o I/O do socket dentro de métodos synchronized, o que prende a carrier
+ * de uma virtual thread; nesse caso o envio é repassado a uma thread de plataforma.
+ */
+@Slf4j
+@Component
+public class SmtpEmailTransport implements EmailTransport {
+
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final String fromEmail;
+    private final EmailRateLimiter rateLimiter;
+    private final ExecutorService platformSender = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("smtp-", 0).daemon(true).factory());
+
+    public SmtpEmailTransport(ObjectProvider<JavaMailSender> mailSender,
+                              @Value("${app.email.from:}") String fromEmail,
+                              @Value("${app.email.smtp-max-per-second:5}") double maxPerSecond) {
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.rateLimiter = new EmailRateLimiter(maxPerSecond);
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(String toEmail, String toName, String subject, String htmlContent) {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            throw new IllegalStateException("Nenhum provedor de email configurado");
+        }
+        rateLimiter.acquire(1);
+        if (Thread.currentThread().isVirtual()) {
+            sendOnPlatformThread(() -> deliver(sender, toEmail, subject, htmlContent));
+            return;
+        }
+        deliver(sender, toEmail, subject, htmlContent);
+    }
+
+    private void deliver(JavaMailSender sender, String toEmail, String subject, String htmlContent) {
+        try {
+            MimeMessage message = sender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(fromEmail);
+            helper.setTo(toEmail);
+            helper.setSubject(subject);
+            helper.setText(htmlContent, true);
+            sender.send(message);
+        } catch (MessagingException e) {
+            throw new RuntimeException("Falha ao montar email SMTP: " + e.getMessage(), e);
+        }
+    }
+
+    private void sendOnPlatformThread(Runnable delivery) {
+        try {
+            platformSender.submit(delivery).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando envio SMTP", e);
+        }
+    }
+
+    @Override
+    public List<String> sendBulk(BulkEmail email) {
+        List<String> failed = new ArrayList<>();
+        for (BulkEmail.Recipient recipient : email.getRecipients()) {
+            try {
+                send(recipient.getEmail(), recipient.getName(), email.getSubject(), email.renderFor(recipient));
+            } catch (Exception e) {
+                log.warn("📧 [EMAIL] Falha SMTP para {}: {}", recipient.getEmail(), e.getMessage());
+                failed.add(recipient.getEmail());
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.concurrency.BackgroundWork;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Expurgo periódico de tokens de verificação de email e de reset de senha expirados.
+ * Apaga em lotes (cada lote uma transação) até esgotar ou estourar o tempo do ciclo;
+ * apenas um nó executa por vez (advisory lock).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenCleanupScheduler {
+
+    private final TokenService tokenService;
+    private final DistributedLockService distributedLockService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.token-cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.token-cleanup.time-budget-ms:10000}")
+    private long timeBudgetMs;
+
+    @Scheduled(cron = "${app.token-cleanup.cron:0 17 * * * *}")
+    public void purgeExpiredTokens() {
+        BackgroundWork.run(() -> {
+            boolean ran = distributedLockService.runExclusively(DistributedLockService.TOKEN_CLEANUP_LOCK, () -> {
+                long deadline = System.currentTimeMillis() + timeBudgetMs;
+                purge("verification", tokenService::cleanupExpiredVerificationTokens, deadline);
+                purge("password_reset", tokenService::cleanupExpiredPasswordResetTokens, deadline);
+            });
+            if (!ran) {
+                log.debug("🔑 [TOKEN] Expurgo de tokens em execução em outro nó; ignorando ciclo");
+            }
+        });
+    }
+
+    private void purge(String type, IntUnaryOperator deleteBatch, long deadline) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.applyAsInt(batchSize);
+            total += deleted;
+        } while (deleted == batchSize && System.currentTimeMillis() < deadline);
+
+        meterRegistry.counter("aqui.tokens.purged", "type", type).increment(total);
+        if (total > 0) {
+            log.info("🔑 [TOKEN] Tokens expirados removidos - Tipo: {}, Quantidade: {}", type, total);
+        }
+    }
+}
@@ -127,18 +127,22 @@ public class TokenService {
     }
 
     /**
-     * Remove tokens de verificação de email expirados.
+     * Remove um lote de tokens de verificação de email expirados (transação curta por lote).
+     *
+     * @return quantidade apagada; menor que batchSize indica que não há mais expirados
      */
     @Transactional
-    public void cleanupExpiredVerificationTokens() {
-        verificationTokenRepository.deleteByExpiresAtBefore(Instant.now());
+    public int cleanupExpiredVerificationTokens(int batchSize) {
+        return verificationTokenRepository.deleteExpiredBatch(Instant.now(), batchSize);
     }
 
     /**
-     * Remove tokens de reset de senha expirados.
+     * Remove um lote de tokens de reset de senha expirados (transação curta por lote).
+     *
+     * @return quantidade apagada; menor que batchSize indica que não há mais expirados
      */
     @Transactional
-    public void cleanupExpiredPasswordResetTokens() {
-        passwordResetTokenRepository.deleteByExpiresAtBefore(Instant.now());
+    public int cleanupExpiredPasswordResetTokens(int batchSize) {
+        return passwordResetTokenRepository.deleteExpiredBatch(Instant.now(), batchSize);
     }
 }
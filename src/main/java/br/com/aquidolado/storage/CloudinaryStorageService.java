@@ -49,6 +49,11 @@ public class CloudinaryStorageService implements StorageService {
         this.cloudinary = new Cloudinary(config);
     }
 
+    @Override
+    public String backend() {
+        return "cloudinary";
+    }
+
     @Override
     public String save(MultipartFile file, String prefix) {
         if (file == null || file.isEmpty()) {
@@ -1,19 +1,28 @@
 package br.com.aquidolado.storage;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.geometry.Positions;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redimensiona e comprime imagens para caber no limite de armazenamento (5MB).
@@ -22,22 +31,108 @@ import java.util.Set;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ImageCompressionService {
 
     private static final long TARGET_MAX_BYTES = 5 * 1024 * 1024; // 5MB
     private static final int MAX_DIMENSION = 1920;
     /** Acima desse lado (px) a decodificação usaria memória excessiva (heap). */
     private static final int MAX_SIDE_BEFORE_DECODE = 2048;
+    /** Tamanho recomendado para og:image (cartão grande no WhatsApp, Telegram, Facebook). */
+    public static final int OG_WIDTH = 1200;
+    public static final int OG_HEIGHT = 630;
     private static final Set<String> ALLOWED_TYPES = Set.of(
             "image/jpeg", "image/png", "image/webp", "image/jpg"
     );
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Comprime a imagem se necessário, medindo o tempo (aqui.image.compression) e os bytes
+     * antes/depois (aqui.image.bytes).
+     */
+    public MultipartFile compressIfNeeded(MultipartFile file) throws IOException {
+        long start = System.nanoTime();
+        String result = "rejected";
+        try {
+            MultipartFile output = compress(file);
+            result = output == file ? "unchanged" : "compressed";
+            recordBytes("original", file.getSize());
+            recordBytes("stored", output.getSize());
+            return output;
+        } finally {
+            Timer.builder("aqui.image.compression")
+                    .description("Tempo de validação/compressão de imagens enviadas")
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordBytes(String stage, long bytes) {
+        DistributionSummary.builder("aqui.image.bytes")
+                .description("Tamanho das imagens antes (original) e depois (stored) da compressão")
+                .baseUnit("bytes")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * Preview 1200x630 (recorte central, JPEG) para og:image, gerado uma vez a partir da primeira imagem do anúncio.
+     * Vazio se a imagem não puder ser lida ou for grande demais para decodificar; o preview usa então a própria imagem.
+     */
+    public Optional<MultipartFile> ogPreview(MultipartFile image) {
+        try {
+            BufferedImage decoded = decodeAtLeast(image.getBytes(), OG_WIDTH, OG_HEIGHT);
+            if (decoded == null) {
+                return Optional.empty();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Thumbnails.of(decoded)
+                    .size(OG_WIDTH, OG_HEIGHT)
+                    .crop(Positions.CENTER)
+                    .outputFormat("jpg")
+                    .outputQuality(0.8)
+                    .toOutputStream(out);
+            return Optional.of(new BytesMultipartFile("og", "og.jpg", "image/jpeg", out.toByteArray()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Não foi possível gerar o preview Open Graph: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Decodifica com subamostragem: só o necessário para cobrir width x height, então uma foto de celular
+     * (ex.: 4000x3000) não vira um bitmap inteiro na heap. Retorna null se não houver leitor para o formato.
+     */
+    private BufferedImage decodeAtLeast(byte[] bytes, int width, int height) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true);
+                int step = Math.max(1, Math.min(reader.getWidth(0) / width, reader.getHeight(0) / height));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     /**
      * Comprime a imagem se necessário para ficar dentro do limite. Retorna o arquivo original
      * se já estiver dentro do limite; caso contrário, retorna uma versão redimensionada em JPEG.
      * Rejeita imagens com resolução muito alta para evitar OutOfMemoryError.
      */
-    public MultipartFile compressIfNeeded(MultipartFile file) throws IOException {
+    private MultipartFile compress(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Arquivo não pode ser vazio");
         }
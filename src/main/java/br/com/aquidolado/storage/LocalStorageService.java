@@ -36,6 +36,11 @@ public class LocalStorageService implements StorageService {
         this.imageCompressionService = imageCompressionService;
     }
 
+    @Override
+    public String backend() {
+        return "local";
+    }
+
     @Override
     public String save(MultipartFile file, String prefix) {
         if (file == null || file.isEmpty()) {
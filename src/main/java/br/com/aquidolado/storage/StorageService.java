@@ -4,7 +4,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Armazena arquivos e retorna a URL/path para acesso.
- * Implementações: LocalStorageService (dev), S3StorageService (prod).
+ * Implementações: LocalStorageService (dev), CloudinaryStorageService (prod).
+ * O bean exposto é envolvido por TimedStorageService (latência por backend).
  */
 public interface StorageService {
 
@@ -26,4 +27,9 @@ public interface StorageService {
      * Remove todos os arquivos com o prefixo dado.
      */
     void deleteByPrefix(String prefix);
+
+    /**
+     * Nome curto do backend (ex.: "local", "cloudinary"), usado como tag de métricas.
+     */
+    String backend();
 }
@@ -0,0 +1,71 @@
+package br.com.aquidolado.storage;
+
+import br.com.aquidolado.observability.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decorador que mede a latência de cada operação de armazenamento (aqui.storage.operation),
+ * com tags de backend, operação e resultado, e soma o tempo no Server-Timing da requisição.
+ */
+public class TimedStorageService implements StorageService {
+
+    private final StorageService delegate;
+    private final MeterRegistry meterRegistry;
+
+    public TimedStorageService(StorageService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String save(MultipartFile file, String prefix) {
+        return timed("save", () -> delegate.save(file, prefix));
+    }
+
+    @Override
+    public void delete(String urlOrPath) {
+        timed("delete", () -> {
+            delegate.delete(urlOrPath);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        timed("delete_prefix", () -> {
+            delegate.deleteByPrefix(prefix);
+            return null;
+        });
+    }
+
+    @Override
+    public String backend() {
+        return delegate.backend();
+    }
+
+    private <T> T timed(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            RequestTimings.recordStorage(elapsed);
+            Timer.builder("aqui.storage.operation")
+                    .description("Latência das operações de armazenamento de imagens")
+                    .tag("backend", delegate.backend())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+}
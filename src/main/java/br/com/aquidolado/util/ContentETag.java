@@ -0,0 +1,47 @@
+package br.com.aquidolado.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * ETag fraco das respostas por versão de conteúdo: recurso + versão da comunidade + usuário (a resposta traz
+ * campos dele, ex.: a própria avaliação) + hash dos parâmetros e do Accept (cada filtro/página/formato tem o seu).
+ */
+public final class ContentETag {
+
+    /** O navegador guarda a resposta só para o usuário e sempre revalida com If-None-Match. */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ContentETag() {
+    }
+
+    /** null quando não há versão assentada (ver ContentVersionService.settled): a resposta sai sem ETag. */
+    public static String of(String resource, OptionalLong version, Long userId, WebRequest request) {
+        return version.isPresent() ? of(resource, version.getAsLong(), userId, request) : null;
+    }
+
+    public static String of(String resource, long version, Long userId, WebRequest request) {
+        StringBuilder variant = new StringBuilder();
+        // Ordem dos parâmetros na URL não muda o conteúdo
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            variant.append(param.getKey()).append('=').append(Arrays.toString(param.getValue())).append('&');
+        }
+        variant.append(request.getHeader(HttpHeaders.ACCEPT));
+        return "W/\"" + resource + "-v" + version + "-u" + userId + "-" + Integer.toHexString(variant.toString().hashCode()) + "\"";
+    }
+
+    /** 200 revalidável por Accept, com o ETag só se houver um. */
+    public static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT);
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.aquidolado.util;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos pedidos em ?fields=a,b (sparse fieldset). O serviço consulta {@link #includes} para pular as consultas
+ * e a montagem do que não foi pedido; na serialização, os DTOs com @JsonFilter({@link #FILTER}) saem só com
+ * esses campos (SparseFieldsAdvice). O id vai sempre. Sem o parâmetro, a resposta é a completa.
+ */
+public final class FieldSelection {
+
+    public static final String PARAM = "fields";
+    public static final String FILTER = "fields";
+
+    /** Filtros padrão do ObjectMapper: sem ?fields=, todos os campos. */
+    public static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final String ID = "id";
+
+    /** null = todos. */
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /** Valida os nomes contra os campos do DTO; nome desconhecido vira 400. */
+    public static FieldSelection parse(String fields, Class<?> response) {
+        Set<String> requested = names(fields);
+        if (requested.isEmpty()) {
+            return ALL;
+        }
+        Set<String> known = Arrays.stream(response.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        for (String name : requested) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Campo inválido: " + name);
+            }
+        }
+        return new FieldSelection(Set.copyOf(requested));
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean includesAny(String... fields) {
+        for (String field : fields) {
+            if (includes(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Filtros de serialização para o valor cru de ?fields= (os nomes já foram validados pelo controller). */
+    public static FilterProvider filters(String fields) {
+        return new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names(fields)))
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    private static Set<String> names(String fields) {
+        Set<String> names = new HashSet<>();
+        if (fields == null || fields.isBlank()) {
+            return names;
+        }
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                names.add(field.trim());
+            }
+        }
+        if (!names.isEmpty()) {
+            names.add(ID);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,20 @@
+-- Exclusão de conta assíncrona (LGPD): a conta é desativada na hora e os dados
+-- são apagados em lotes por um job em background, que retoma após reinício.
+-- user_id sem FK: o job sobrevive à remoção do usuário para consulta de status.
+CREATE TABLE account_deletion_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    public_id VARCHAR(36) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    step VARCHAR(30) NOT NULL,
+    deleted_rows BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    locked_until TIMESTAMP,
+    requested_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_account_deletion_jobs_user_id ON account_deletion_jobs(user_id);
+CREATE INDEX idx_account_deletion_jobs_status ON account_deletion_jobs(status);
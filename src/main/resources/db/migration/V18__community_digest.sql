@@ -0,0 +1,15 @@
+-- Resumo semanal por comunidade: opt-out por usuário e checkpoint por comunidade
+-- (janela em andamento + último destinatário enviado) para retomar execuções interrompidas sem reenviar.
+ALTER TABLE users ADD COLUMN digest_opt_out BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE community_digest_checkpoints (
+    community_id BIGINT PRIMARY KEY REFERENCES communities(id) ON DELETE CASCADE,
+    last_sent_until TIMESTAMP,
+    window_end TIMESTAMP,
+    cursor_user_id BIGINT,
+    recipients_sent INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_community_digest_checkpoints_window_end ON community_digest_checkpoints(window_end) WHERE window_end IS NOT NULL;
+CREATE INDEX idx_ads_community_created_at ON ads(community_id, created_at);
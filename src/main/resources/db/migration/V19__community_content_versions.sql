@@ -0,0 +1,6 @@
+-- Versão do conteúdo de cada comunidade (anúncios, avaliações, comentários, membros). Sobe na mesma transação
+-- de cada escrita e compõe o ETag do feed e dos detalhes: GET condicional com a versão atual recebe 304.
+CREATE TABLE community_content_versions (
+    community_id BIGINT PRIMARY KEY REFERENCES communities(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL
+);
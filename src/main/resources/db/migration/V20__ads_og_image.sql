@@ -0,0 +1,2 @@
+-- Preview 1200x630 para og:image, gerado uma vez no upload das imagens (app.og.preview-image). NULL = usa a primeira imagem.
+ALTER TABLE ads ADD COLUMN og_image_url TEXT;
@@ -0,0 +1,49 @@
+package br.com.aquidolado.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationTest {
+
+    @Test
+    void roundTripsThroughPayload() {
+        List<CacheInvalidation> sent = List.of(
+                new CacheInvalidation(CacheInvalidation.Type.USER, 12),
+                new CacheInvalidation(CacheInvalidation.Type.FEED_COMMUNITY, 3));
+
+        List<String> payloads = CacheInvalidation.encode("node1", sent);
+
+        assertThat(payloads).containsExactly("node1;U:12,F:3");
+        assertThat(CacheInvalidation.nodeOf(payloads.getFirst())).isEqualTo("node1");
+        assertThat(CacheInvalidation.decode(payloads.getFirst())).containsExactlyElementsOf(sent);
+    }
+
+    @Test
+    void splitsBurstsIntoPayloadsThatFitNotify() {
+        List<CacheInvalidation> sent = new ArrayList<>();
+        for (long id = 1_000_000; id < 1_002_000; id++) {
+            sent.add(new CacheInvalidation(CacheInvalidation.Type.AD_IMAGE, id));
+        }
+
+        List<String> payloads = CacheInvalidation.encode("node1", sent);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(CacheInvalidation.MAX_PAYLOAD_BYTES));
+        Set<CacheInvalidation> received = new LinkedHashSet<>();
+        payloads.forEach(payload -> CacheInvalidation.decode(payload, received));
+        assertThat(received).containsExactlyElementsOf(sent);
+    }
+
+    @Test
+    void skipsUnknownAndMalformedItems() {
+        assertThat(CacheInvalidation.decode("node2;X:1,C:7,U:abc,C"))
+                .containsExactly(new CacheInvalidation(CacheInvalidation.Type.COMMUNITY, 7));
+        assertThat(CacheInvalidation.decode("sem-separador")).isEmpty();
+    }
+}
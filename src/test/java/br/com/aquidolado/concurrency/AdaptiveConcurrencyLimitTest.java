@@ -0,0 +1,99 @@
+package br.com.aquidolado.concurrency;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void rejectsAboveLimitUntilSlotIsReleased() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 60_000, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(millis(5), false);
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void onlyPoolAndTimeoutErrorsCountAsDrops() {
+        // Erro de entrada ou bug que escapa do filtro não pode reduzir o limite
+        assertThat(ConcurrencyLimitFilter.isOverload(new IllegalArgumentException("Campo inválido"))).isFalse();
+        assertThat(ConcurrencyLimitFilter.isOverload(new ServletException(new NullPointerException()))).isFalse();
+        assertThat(ConcurrencyLimitFilter.isOverload(
+                new ServletException(new CannotGetJdbcConnectionException("Pool esgotado")))).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyIsStableAndSaturated() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 200, 0, 5);
+
+        for (int i = 0; i < 30; i++) {
+            saturate(limit, 10);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 200, 0, 5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.tryAcquire();
+            limit.release(millis(10), false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 200, 0, 5);
+        for (int i = 0; i < 10; i++) {
+            saturate(limit, 10);
+        }
+        int beforeQueueing = limit.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limit, 60);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(beforeQueueing);
+    }
+
+    @Test
+    void backsOffOnDropsButNotBelowMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 3, 100, 0, 5);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(millis(30_000), true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    /** Ocupa todas as vagas e devolve todas com a mesma latência. */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttMs) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(millis(rttMs), false);
+        }
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.aquidolado.feed;
+
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.repository.AdRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdFeedIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    /** Roda no meio da carga, como uma escrita concorrente. */
+    private Runnable duringLoad = () -> { };
+
+    private final AdFeedIndex index = new AdFeedIndex(repository(),
+            new CacheInvalidationBus(null, null, meterRegistry, false, 50, 5000, 5000),
+            meterRegistry, true, 100, 1000, 30000);
+
+    @Test
+    void keepsLoadThatCrossedChangesInOtherCommunities() {
+        duringLoad = () -> {
+            index.adDeleted(2L, 99L);
+            index.evictCommunity(3L);
+        };
+
+        search(1L);
+        search(1L);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void discardsLoadThatCrossedChangeInSameCommunity() {
+        duringLoad = () -> index.adDeleted(1L, 10L);
+        search(1L);
+
+        duringLoad = () -> { };
+        search(1L);
+        search(1L);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void discardsLoadThatCrossedAuthorChange() {
+        duringLoad = () -> index.authorRenamed(100L, "Mariana");
+        search(1L);
+
+        duringLoad = () -> { };
+        search(1L);
+        search(1L);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private void search(Long communityId) {
+        assertThat(index.search(communityId, null, null, PageRequest.of(0, 20))).isPresent();
+    }
+
+    private AdRepository repository() {
+        return (AdRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{AdRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findFeedIndexRows")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads.incrementAndGet();
+                    duringLoad.run();
+                    return List.<Object[]>of(new Object[]{10L, AdType.SALE_TRADE,
+                            Instant.parse("2026-01-01T00:00:00Z"), "Bicicleta", "Aro 29", null, 100L, "Maria"});
+                });
+    }
+}
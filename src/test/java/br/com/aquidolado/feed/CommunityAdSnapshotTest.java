@@ -0,0 +1,81 @@
+package br.com.aquidolado.feed;
+
+import br.com.aquidolado.domain.enums.AdType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommunityAdSnapshotTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final CommunityAdSnapshot snapshot = CommunityAdSnapshot.of(List.of(
+            entry(1, AdType.SALE_TRADE, 10, 100, "Bicicleta aro 29", "Maria"),
+            entry(2, AdType.DONATION, 30, 101, "Sofá usado", "João"),
+            entry(3, AdType.SALE_TRADE, 20, 100, "Mesa de jantar", "Maria"),
+            entry(4, AdType.RENT, 40, 102, "Vaga de garagem", "Ana")));
+
+    @Test
+    void defaultsToNewestFirstAndPaginates() {
+        Page<Long> first = snapshot.search(null, null, PageRequest.of(0, 3));
+        Page<Long> second = snapshot.search(null, null, PageRequest.of(1, 3));
+
+        assertThat(first.getContent()).containsExactly(4L, 2L, 3L);
+        assertThat(second.getContent()).containsExactly(1L);
+        assertThat(first.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void filtersByTypeAndCaseInsensitiveTerm() {
+        assertThat(snapshot.search(List.of(AdType.SALE_TRADE), null, PageRequest.of(0, 10)).getContent())
+                .containsExactly(3L, 1L);
+        assertThat(snapshot.search(null, "  MESA ", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        // Nome do autor também entra na busca
+        assertThat(snapshot.search(null, "mar", PageRequest.of(0, 10)).getContent()).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void sortsByCreatedAtAscAndByTypeName() {
+        assertThat(snapshot.search(null, null, PageRequest.of(0, 10, Sort.by("createdAt"))).getContent())
+                .containsExactly(1L, 3L, 2L, 4L);
+        // DONATION < RENT < SALE_TRADE (ordem do texto no banco), createdAt desc dentro do tipo
+        assertThat(snapshot.search(null, null, PageRequest.of(0, 10, Sort.by("type"))).getContent())
+                .containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void appliesIncrementalChanges() {
+        CommunityAdSnapshot next = snapshot
+                .with(entry(5, AdType.SERVICE, 25, 103, "Aulas de violão", "Pedro"))
+                .with(entry(2, AdType.DONATION, 30, 101, "Sofá retrátil", "João"))
+                .without(4)
+                .withAuthorName(100, "Mariana");
+
+        assertThat(next.search(null, null, PageRequest.of(0, 10)).getContent()).containsExactly(2L, 5L, 3L, 1L);
+        assertThat(next.search(null, "retrátil", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(next.search(null, "mariana", PageRequest.of(0, 10)).getContent()).containsExactly(3L, 1L);
+        assertThat(next.withoutAuthor(100).size()).isEqualTo(2);
+        // O snapshot original não muda
+        assertThat(snapshot.size()).isEqualTo(4);
+    }
+
+    @Test
+    void leavesOtherSortsToSql() {
+        assertThat(CommunityAdSnapshot.supports(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))).isTrue();
+        assertThat(CommunityAdSnapshot.supports(PageRequest.of(0, 20, Sort.by("title")))).isFalse();
+        assertThat(CommunityAdSnapshot.supports(Pageable.unpaged())).isFalse();
+    }
+
+    private static CommunityAdSnapshot.Entry entry(long id, AdType type, long minutes, long authorId,
+                                                   String title, String author) {
+        return new CommunityAdSnapshot.Entry(id, type, T0.plusSeconds(minutes * 60), authorId,
+                title, null, null, author);
+    }
+}
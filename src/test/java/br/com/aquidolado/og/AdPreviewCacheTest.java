@@ -0,0 +1,123 @@
+package br.com.aquidolado.og;
+
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.concurrency.ReadYourWrites;
+import br.com.aquidolado.dto.AdOgResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdPreviewCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdPreviewCache cache = new AdPreviewCache(
+            new CacheInvalidationBus(null, null, meterRegistry, false, 50, 5000, 5000),
+            meterRegistry, true, 100, 600, 30000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedRequestsFromMemory() {
+        Function<Long, Optional<AdOgResponse>> loader = counting("Bicicleta");
+
+        cache.get(1L, loader);
+        Optional<AdOgResponse> second = cache.get(1L, loader);
+
+        assertThat(second.map(AdOgResponse::getTitle)).contains("Bicicleta");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loadsFromPrimary() {
+        List<Boolean> pinnedDuringLoad = new ArrayList<>();
+
+        cache.get(3L, id -> {
+            pinnedDuringLoad.add(ReadYourWrites.isPinned());
+            return Optional.empty();
+        });
+
+        assertThat(pinnedDuringLoad).containsExactly(true);
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    @Test
+    void cachesNotFoundToo() {
+        Function<Long, Optional<AdOgResponse>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        cache.get(2L, loader);
+
+        assertThat(cache.get(2L, loader)).isEmpty();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescesConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<AdOgResponse>> slow = id -> {
+            loads.incrementAndGet();
+            await(release);
+            return Optional.of(AdOgResponse.builder().title("Sofá").build());
+        };
+        ExecutorService crawlers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<AdOgResponse>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(crawlers.submit(() -> cache.get(3L, slow)));
+            }
+            // Dá tempo de todas chegarem enquanto a primeira carga está presa
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Optional<AdOgResponse>> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).map(AdOgResponse::getTitle)).contains("Sofá");
+            }
+        } finally {
+            crawlers.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationDropsEntryAndLoadInProgress() {
+        cache.get(4L, counting("Mesa"));
+        cache.invalidate(4L);
+        assertThat(cache.get(4L, counting("Mesa de jantar")).map(AdOgResponse::getTitle)).contains("Mesa de jantar");
+
+        // Invalidação no meio da carga: o resultado volta para quem pediu, mas não fica guardado
+        cache.get(5L, id -> {
+            cache.invalidate(5L);
+            return Optional.of(AdOgResponse.builder().title("Velho").build());
+        });
+        assertThat(cache.get(5L, counting("Novo")).map(AdOgResponse::getTitle)).contains("Novo");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private Function<Long, Optional<AdOgResponse>> counting(String title) {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.of(AdOgResponse.builder().title(title).build());
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
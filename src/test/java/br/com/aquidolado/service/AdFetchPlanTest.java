@@ -0,0 +1,167 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.RecommendationComment;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.domain.enums.ReportReason;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.CommentResponse;
+import br.com.aquidolado.dto.CreateCommentRequest;
+import br.com.aquidolado.dto.ReportRequest;
+import br.com.aquidolado.dto.UpdateAdRequest;
+import br.com.aquidolado.support.QueryCount;
+import br.com.aquidolado.support.QueryCountTestBase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Autor e comunidade do anúncio são LAZY: as checagens de dono e de comunidade de cada chamador comparam só
+ * as FKs. Conta os carregamentos de User e Community (banco, proxy ou cache L2) pelas estatísticas do
+ * Hibernate. O EventLogService busca usuário e comunidade por conta própria, por isso fica mockado aqui.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AdFetchPlanTest extends QueryCountTestBase {
+
+    @Autowired
+    private AdService adService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private RecommendationReactionService reactionService;
+
+    @Autowired
+    private RecommendationCommentService commentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private EventLogService eventLogService;
+
+    private Statistics statistics;
+    private User author;
+    private List<User> members;
+    private Ad saleAd;
+    private Ad recommendation;
+    private RecommendationComment comment;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        author = dataset.user("Autor");
+        Community community = dataset.community("Condomínio Fetch", author);
+        members = dataset.members(community, 5);
+        saleAd = dataset.saleAd(community, author, 2);
+        recommendation = dataset.recommendation(community, author, members.subList(0, 2));
+        comment = dataset.comment(recommendation, members.get(1), List.of());
+    }
+
+    @Test
+    void ownershipChecksCompareIdsOnly() {
+        Long stranger = members.getFirst().getId();
+        Long adId = saleAd.getId();
+        UpdateAdRequest update = new UpdateAdRequest();
+        update.setTitle("Outro título");
+        update.setType(AdType.SALE_TRADE);
+
+        assertLoadsNeither(() -> assertThatThrownBy(() -> adService.pauseAd(adId, stranger))
+                .hasMessage("Você não pode pausar este anúncio"));
+        assertLoadsNeither(() -> assertThatThrownBy(() -> adService.unpauseAd(adId, stranger))
+                .hasMessage("Você não pode reativar este anúncio"));
+        assertLoadsNeither(() -> assertThatThrownBy(() -> adService.closeAd(adId, stranger))
+                .hasMessage("Você não pode encerrar este anúncio"));
+        assertLoadsNeither(() -> assertThatThrownBy(() -> adService.deleteAd(adId, stranger))
+                .hasMessage("Você não pode remover este anúncio"));
+        assertLoadsNeither(() -> assertThatThrownBy(() -> adService.update(adId, stranger, update, null))
+                .hasMessage("Você não pode editar este anúncio"));
+    }
+
+    @Test
+    void ownerStatusChangesLoadOnlyTheAuthorForTheResponse() {
+        Community community = dataset.community("Condomínio Status", author);
+        Ad ad = dataset.saleAd(community, author, 0);
+
+        assertSkipsCommunity(() -> adService.pauseAd(ad.getId(), author.getId()));
+        assertSkipsCommunity(() -> adService.unpauseAd(ad.getId(), author.getId()));
+        assertSkipsCommunity(() -> adService.closeAd(ad.getId(), author.getId()));
+        assertLoadsNeither(() -> adService.deleteAd(ad.getId(), author.getId()));
+    }
+
+    @Test
+    void reportComparesIdsOnly() {
+        Community community = dataset.community("Condomínio Denúncia", author);
+        List<User> reporters = dataset.members(community, 3);
+        Ad ad = dataset.saleAd(community, author, 0);
+        ReportRequest request = new ReportRequest();
+        request.setAdId(ad.getId());
+        request.setReason(ReportReason.SPAM);
+
+        // O terceiro denunciante suspende o anúncio (app.reports.suspend-threshold)
+        for (User reporter : reporters) {
+            assertLoadsNeither(() -> reportService.report(reporter.getId(), request));
+        }
+    }
+
+    @Test
+    void ratingsAndCommentsCompareIdsOnly() {
+        Long adId = recommendation.getId();
+        Long rater = members.get(2).getId();
+
+        assertLoadsNeither(() -> reactionService.setRating(adId, rater, 4));
+        assertLoadsNeither(() -> reactionService.removeReaction(adId, rater));
+        assertLoadsNeither(() -> commentService.getComments(adId, rater, PageRequest.of(0, 20)));
+        assertLoadsNeither(() -> commentService.toggleCommentLike(adId, comment.getId(), rater));
+        assertLoadsNeither(() -> commentService.toggleCommentLike(adId, comment.getId(), rater));
+
+        CreateCommentRequest text = new CreateCommentRequest();
+        text.setText("Atendeu rápido");
+        CommentResponse created = commentService.createComment(adId, rater, text);
+        assertLoadsNeither(() -> commentService.deleteComment(adId, created.getId(), rater));
+    }
+
+    @Test
+    void detailFetchesAuthorWithTheAd() {
+        AdResponse[] response = new AdResponse[1];
+
+        // Membro, anúncio + autor num SELECT e imagens
+        assertSkipsCommunity(() -> response[0] = QueryCount.assertAtMost(3,
+                () -> adService.getById(saleAd.getId(), members.getFirst().getId())));
+
+        assertThat(response[0].getUserName()).isEqualTo(author.getName());
+        assertThat(response[0].getImageUrls()).hasSize(2);
+    }
+
+    private void assertLoadsNeither(Runnable call) {
+        long users = loads(User.class);
+        assertSkipsCommunity(call);
+        assertThat(loads(User.class) - users).isEqualTo(0L);
+    }
+
+    private void assertSkipsCommunity(Runnable call) {
+        long communities = loads(Community.class);
+        call.run();
+        assertThat(loads(Community.class) - communities).isEqualTo(0L);
+    }
+
+    private long loads(Class<?> entity) {
+        EntityStatistics entityStatistics = statistics.getEntityStatistics(entity.getName());
+        return entityStatistics.getLoadCount() + entityStatistics.getFetchCount() + entityStatistics.getCacheHitCount();
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.dto.AdResponse;
+import br.com.aquidolado.dto.AdSummaryResponse;
+import br.com.aquidolado.support.QueryCount;
+import br.com.aquidolado.support.QueryCountTestBase;
+import br.com.aquidolado.util.FieldSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AdServiceQueryCountTest extends QueryCountTestBase {
+
+    private static final int SALE_ADS = 30;
+    private static final int RECOMMENDATIONS = 10;
+
+    @Autowired
+    private AdService adService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Community community;
+    private User viewer;
+    private User author;
+    private Ad ratedRecommendation;
+
+    @BeforeAll
+    void seed() {
+        author = dataset.user("Autor");
+        community = dataset.community("Condomínio Feed", author);
+        List<User> members = dataset.members(community, 6);
+        viewer = members.getFirst();
+        for (int i = 0; i < SALE_ADS; i++) {
+            dataset.saleAd(community, i % 2 == 0 ? author : members.get(i % members.size()), 3);
+        }
+        for (int i = 0; i < RECOMMENDATIONS; i++) {
+            ratedRecommendation = dataset.recommendation(community, author, members);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 50})
+    void feedPageStatementsDoNotGrowWithPageSize(int pageSize) {
+        PageRequest pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Page<AdResponse> page = QueryCount.assertAtMost(4, () ->
+                adService.listByCommunity(community.getId(), viewer.getId(), null, null, pageable));
+
+        assertThat(page.getContent()).hasSize(Math.min(pageSize, SALE_ADS + RECOMMENDATIONS));
+        assertThat(page.getTotalElements()).isEqualTo(SALE_ADS + RECOMMENDATIONS);
+    }
+
+    @Test
+    void feedKeepsImagesAndRatingsPerAd() {
+        Page<AdResponse> page = QueryCount.assertAtMost(4, () -> adService.listByCommunity(
+                community.getId(), viewer.getId(), null, null, PageRequest.of(0, 100)));
+
+        assertThat(page.getContent())
+                .filteredOn(ad -> ad.getType() == AdType.SALE_TRADE)
+                .allSatisfy(ad -> assertThat(ad.getImageUrls()).hasSize(3));
+        AdResponse recommendation = page.getContent().stream()
+                .filter(ad -> ad.getId().equals(ratedRecommendation.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(recommendation.getRatingCount()).isEqualTo(6);
+        assertThat(recommendation.getAverageRating()).isCloseTo((1 + 2 + 3 + 4 + 5 + 1) / 6.0, within(1e-9));
+        assertThat(recommendation.getCurrentUserRating()).isEqualTo(1);
+        assertThat(recommendation.getImageUrls()).isEmpty();
+    }
+
+    @Test
+    void filteredFeedStaysWithinBound() {
+        Page<AdResponse> page = QueryCount.assertAtMost(4, () -> adService.listByCommunity(
+                community.getId(), viewer.getId(), List.of(AdType.RECOMMENDATION), "eletricista", PageRequest.of(0, 20)));
+
+        assertThat(page.getContent()).hasSize(RECOMMENDATIONS);
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() {
+        // Mesmo resultado do índice em memória: sem escape, "_" casaria com o espaço de "Aro 29" e "%" com tudo
+        assertThat(search("aro_29")).isEmpty();
+        assertThat(search("%")).isEmpty();
+        assertThat(search("ARO 29")).hasSize(SALE_ADS);
+    }
+
+    private List<AdResponse> search(String term) {
+        return adService.listByCommunity(community.getId(), viewer.getId(), null, term, PageRequest.of(0, 50))
+                .getContent();
+    }
+
+    @Test
+    void summaryFeedSkipsImageQueryAndKeepsCover() {
+        Page<AdSummaryResponse> page = QueryCount.assertAtMost(3, () -> adService.listSummariesByCommunity(
+                community.getId(), viewer.getId(), null, null, PageRequest.of(0, 50)));
+
+        assertThat(page.getContent()).hasSize(SALE_ADS + RECOMMENDATIONS);
+        assertThat(page.getContent())
+                .filteredOn(ad -> ad.getType() == AdType.SALE_TRADE)
+                .allSatisfy(ad -> {
+                    assertThat(ad.getCoverImageUrl()).isEqualTo("/uploads/ads/" + ad.getId() + "/0.jpg");
+                    assertThat(ad.getDescriptionSnippet()).isEqualTo("Aro 29, pouco uso");
+                });
+        AdSummaryResponse recommendation = page.getContent().stream()
+                .filter(ad -> ad.getId().equals(ratedRecommendation.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(recommendation.getCoverImageUrl()).isNull();
+        assertThat(recommendation.getRatingCount()).isEqualTo(6);
+    }
+
+    @Test
+    void sparseSummaryFeedSkipsCoverAndRatings() {
+        FieldSelection fields = FieldSelection.parse("title,type", AdSummaryResponse.class);
+
+        Page<AdSummaryResponse> page = QueryCount.assertAtMost(3, () -> adService.listSummariesByCommunity(
+                community.getId(), viewer.getId(), null, null, PageRequest.of(0, 50), fields));
+
+        assertThat(page.getContent()).hasSize(SALE_ADS + RECOMMENDATIONS)
+                .allSatisfy(ad -> {
+                    assertThat(ad.getTitle()).isNotNull();
+                    assertThat(ad.getCoverImageUrl()).isNull();
+                    assertThat(ad.getAverageRating()).isNull();
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void myAdsStatementsDoNotGrowWithPageSize(int pageSize) {
+        QueryCount.assertAtMost(3, () -> adService.listMyAds(author.getId(), null, PageRequest.of(0, pageSize)));
+        QueryCount.assertAtMost(3, () -> adService.listMyAds(author.getId(), community.getId(), PageRequest.of(0, pageSize)));
+    }
+
+    @Test
+    void listsDoNotHydrateEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loadsBefore = statistics.getEntityLoadCount();
+
+        adService.listByCommunity(community.getId(), viewer.getId(), null, null, PageRequest.of(0, 20));
+        adService.listMyAds(author.getId(), null, PageRequest.of(0, 20));
+
+        assertThat(statistics.getEntityLoadCount() - loadsBefore).isEqualTo(0L);
+    }
+}
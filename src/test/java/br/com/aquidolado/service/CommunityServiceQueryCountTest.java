@@ -0,0 +1,107 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.dto.CommunityResponse;
+import br.com.aquidolado.support.QueryCount;
+import br.com.aquidolado.support.QueryCountTestBase;
+import br.com.aquidolado.util.FieldSelection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CommunityServiceQueryCountTest extends QueryCountTestBase {
+
+    private static final int COMMUNITIES = 6;
+
+    @Autowired
+    private CommunityService communityService;
+
+    private User owner;
+    private User member;
+    private Community community;
+    private final List<Community> memberCommunities = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        owner = dataset.user("Síndico");
+        community = dataset.community("Condomínio Detalhe", owner);
+        member = dataset.members(community, 20).getFirst();
+        memberCommunities.add(community);
+        for (int i = 1; i < COMMUNITIES; i++) {
+            Community other = dataset.community("Condomínio " + i, i % 2 == 0 ? member : owner);
+            if (i % 2 != 0) {
+                dataset.join(other, member);
+            }
+            memberCommunities.add(other);
+        }
+    }
+
+    @Test
+    void detailForMemberIsBounded() {
+        CommunityResponse response = QueryCount.assertAtMost(3, () ->
+                communityService.getById(community.getId(), member.getId()));
+
+        assertThat(response.getMembers()).hasSize(21);
+        assertThat(response.getIsAdmin()).isFalse();
+        assertThat(response.getAdminIds()).isNull();
+    }
+
+    @Test
+    void detailForAdminIsBounded() {
+        CommunityResponse response = QueryCount.assertAtMost(3, () ->
+                communityService.getById(community.getId(), owner.getId()));
+
+        assertThat(response.getIsAdmin()).isTrue();
+        assertThat(response.getAdminIds()).containsExactly(owner.getId());
+    }
+
+    @Test
+    void sparseDetailSkipsMembers() {
+        FieldSelection fields = FieldSelection.parse("name,isAdmin", CommunityResponse.class);
+
+        // Checagem de acesso, comunidade + criador e administradores; nenhum membro carregado
+        CommunityResponse response = QueryCount.assertAtMost(3, () ->
+                communityService.getById(community.getId(), member.getId(), fields));
+
+        assertThat(response.getName()).isEqualTo(community.getName());
+        assertThat(response.getIsAdmin()).isFalse();
+        assertThat(response.getMembers()).isNull();
+        assertThat(response.getMemberNames()).isNull();
+    }
+
+    @Test
+    void detailForOutsiderKeepsErrorMessage() {
+        User outsider = dataset.user("Visitante");
+
+        assertThatThrownBy(() -> communityService.getById(community.getId(), outsider.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Você não tem acesso a este condomínio");
+    }
+
+    @Test
+    void userCommunitiesDoNotGrowWithMembershipCount() {
+        List<CommunityResponse> communities = QueryCount.assertAtMost(2, () ->
+                communityService.listUserCommunities(member.getId()));
+
+        assertThat(communities).hasSize(COMMUNITIES);
+        // Administrador só das comunidades que ele mesmo criou (i = 2 e 4)
+        assertThat(communities).filteredOn(CommunityResponse::getIsAdmin).hasSize(2);
+    }
+
+    @Test
+    void adminCommunitiesUseSingleQuery() {
+        List<CommunityResponse> communities = QueryCount.assertAtMost(1, () ->
+                communityService.listAdminCommunities(owner.getId()));
+
+        assertThat(communities).isNotEmpty().allSatisfy(c -> assertThat(c.getIsAdmin()).isTrue());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.cache.CacheInvalidationBus;
+import br.com.aquidolado.repository.CommunityContentVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentVersionServiceTest {
+
+    private final AtomicLong version = new AtomicLong(7);
+    private final ContentVersionService service = new ContentVersionService(repository(),
+            new CacheInvalidationBus(null, null, new SimpleMeterRegistry(), false, 50, 5000, 5000));
+
+    @Test
+    void withholdsVersionUntilItSettles() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "settleMs", 100L);
+
+        assertThat(service.settled(1L)).isEmpty();
+        Thread.sleep(150);
+        assertThat(service.settled(1L)).hasValue(7);
+
+        // Escrita em outro nó: a invalidação pode ainda não ter chegado
+        version.set(8);
+        assertThat(service.settled(1L)).isEmpty();
+        Thread.sleep(150);
+        assertThat(service.settled(1L)).hasValue(8);
+    }
+
+    @Test
+    void settlesEachCommunitySeparately() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "settleMs", 100L);
+        service.settled(1L);
+        Thread.sleep(150);
+
+        assertThat(service.settled(1L)).hasValue(7);
+        assertThat(service.settled(2L)).isEmpty();
+    }
+
+    private CommunityContentVersionRepository repository() {
+        return (CommunityContentVersionRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CommunityContentVersionRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findVersion")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return Optional.of(version.get());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.aquidolado.service;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.RecommendationComment;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.dto.CommentResponse;
+import br.com.aquidolado.support.QueryCount;
+import br.com.aquidolado.support.QueryCountTestBase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecommendationCommentServiceQueryCountTest extends QueryCountTestBase {
+
+    private static final int COMMENTS = 25;
+
+    @Autowired
+    private RecommendationCommentService commentService;
+
+    private User viewer;
+    private Ad recommendation;
+    private RecommendationComment likedByViewer;
+
+    @BeforeAll
+    void seed() {
+        User author = dataset.user("Autor");
+        Community community = dataset.community("Condomínio Comentários", author);
+        List<User> members = dataset.members(community, 5);
+        viewer = members.getFirst();
+        recommendation = dataset.recommendation(community, author, members);
+        for (int i = 0; i < COMMENTS; i++) {
+            // Autores em rodízio; o comentário i é curtido pelos (i % 5) primeiros membros, exceto o autor
+            User commenter = members.get(i % members.size());
+            RecommendationComment comment = dataset.comment(recommendation, commenter,
+                    members.subList(0, i % members.size()).stream()
+                            .filter(u -> !u.getId().equals(commenter.getId()))
+                            .toList());
+            if (i == 3) {
+                likedByViewer = comment;
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 25})
+    void commentPageStatementsDoNotGrowWithPageSize(int pageSize) {
+        Page<CommentResponse> page = QueryCount.assertAtMost(6, () ->
+                commentService.getComments(recommendation.getId(), viewer.getId(), PageRequest.of(0, pageSize)));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+    }
+
+    @Test
+    void commentPageKeepsLikeCountsAndViewerLike() {
+        Page<CommentResponse> page = commentService.getComments(
+                recommendation.getId(), viewer.getId(), PageRequest.of(0, COMMENTS));
+
+        CommentResponse liked = page.getContent().stream()
+                .filter(c -> c.getId().equals(likedByViewer.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(liked.getLikeCount()).isEqualTo(3);
+        assertThat(liked.isCurrentUserLiked()).isTrue();
+        assertThat(page.getContent())
+                .filteredOn(c -> c.getUserId().equals(viewer.getId()))
+                .allSatisfy(c -> assertThat(c.isCurrentUserLiked()).isFalse());
+    }
+}
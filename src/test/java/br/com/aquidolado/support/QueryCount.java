@@ -0,0 +1,49 @@
+package br.com.aquidolado.support;
+
+import br.com.aquidolado.observability.RequestTimings;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conta os comandos SQL executados na thread atual durante uma chamada, reaproveitando o
+ * {@link RequestTimings} que o TimingDataSource já alimenta em produção.
+ */
+public final class QueryCount {
+
+    private QueryCount() {
+    }
+
+    /** Executa {@code call} e falha se ela disparar mais de {@code max} comandos SQL. */
+    public static <T> T assertAtMost(int max, Supplier<T> call) {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            T result = call.get();
+            assertThat(timings.getStatementCount())
+                    .withFailMessage(() -> "Esperado no máximo " + max + " comandos SQL, executados "
+                            + timings.getStatementCount() + ". Mais lentos:\n" + slowest(timings))
+                    .isLessThanOrEqualTo(max);
+            return result;
+        } finally {
+            RequestTimings.end();
+        }
+    }
+
+    public static int count(Runnable call) {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            call.run();
+            return timings.getStatementCount();
+        } finally {
+            RequestTimings.end();
+        }
+    }
+
+    private static String slowest(RequestTimings timings) {
+        return timings.getSlowest().stream()
+                .map(s -> "  " + s.getSql())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.aquidolado.support;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES;
+
+/**
+ * Base dos testes de contagem de SQL: contexto completo sobre um PostgreSQL embarcado migrado pelo
+ * Flyway. Sem @Transactional de propósito: cada chamada de serviço abre a própria transação e o
+ * contexto de persistência começa vazio, como numa requisição real.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureEmbeddedDatabase(type = POSTGRES, provider = ZONKY)
+@Import(TestDataset.class)
+public abstract class QueryCountTestBase {
+
+    @Autowired
+    protected TestDataset dataset;
+}
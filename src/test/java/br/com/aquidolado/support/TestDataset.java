@@ -0,0 +1,166 @@
+package br.com.aquidolado.support;
+
+import br.com.aquidolado.domain.entity.Ad;
+import br.com.aquidolado.domain.entity.AdImage;
+import br.com.aquidolado.domain.entity.CommentLike;
+import br.com.aquidolado.domain.entity.Community;
+import br.com.aquidolado.domain.entity.CommunityAdmin;
+import br.com.aquidolado.domain.entity.RecommendationComment;
+import br.com.aquidolado.domain.entity.RecommendationReaction;
+import br.com.aquidolado.domain.entity.User;
+import br.com.aquidolado.domain.enums.AdStatus;
+import br.com.aquidolado.domain.enums.AdType;
+import br.com.aquidolado.repository.AdImageRepository;
+import br.com.aquidolado.repository.AdRepository;
+import br.com.aquidolado.repository.CommentLikeRepository;
+import br.com.aquidolado.repository.CommunityAdminRepository;
+import br.com.aquidolado.repository.CommunityRepository;
+import br.com.aquidolado.repository.RecommendationCommentRepository;
+import br.com.aquidolado.repository.RecommendationReactionRepository;
+import br.com.aquidolado.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monta dados de teste pelos repositórios reais. Nomes, emails e códigos de acesso levam um sufixo
+ * sequencial, então cada teste cria o próprio conjunto sem colidir com os de outros testes no mesmo banco.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestDataset {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime() % 1_000_000);
+
+    private final UserRepository userRepository;
+    private final CommunityRepository communityRepository;
+    private final CommunityAdminRepository communityAdminRepository;
+    private final AdRepository adRepository;
+    private final AdImageRepository adImageRepository;
+    private final RecommendationReactionRepository reactionRepository;
+    private final RecommendationCommentRepository commentRepository;
+    private final CommentLikeRepository commentLikeRepository;
+
+    @Transactional
+    public User user(String name) {
+        long n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(name + " " + n)
+                .email("user" + n + "@teste.local")
+                .passwordHash("{noop}senha")
+                .whatsapp("1199999" + String.format("%04d", n % 10_000))
+                .emailVerified(true)
+                .build());
+    }
+
+    /** Comunidade criada por {@code owner}, que vira membro e administrador. */
+    @Transactional
+    public Community community(String name, User owner) {
+        long n = SEQUENCE.incrementAndGet();
+        Community community = communityRepository.save(Community.builder()
+                .name(name + " " + n)
+                .accessCode("T" + Long.toString(n, 36).toUpperCase())
+                .postalCode("01310100")
+                .createdAt(Instant.now())
+                .createdBy(owner)
+                .build());
+        join(community, owner);
+        communityAdminRepository.save(CommunityAdmin.builder().community(community).user(owner).build());
+        return community;
+    }
+
+    @Transactional
+    public void join(Community community, User user) {
+        User managed = userRepository.findById(user.getId()).orElseThrow();
+        managed.getCommunities().add(community);
+        userRepository.save(managed);
+    }
+
+    @Transactional
+    public List<User> members(Community community, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = user("Membro");
+            join(community, user);
+            users.add(user);
+        }
+        return users;
+    }
+
+    @Transactional
+    public void admin(Community community, User user) {
+        communityAdminRepository.save(CommunityAdmin.builder().community(community).user(user).build());
+    }
+
+    /** Anúncio de venda com {@code images} imagens. */
+    @Transactional
+    public Ad saleAd(Community community, User author, int images) {
+        Ad ad = adRepository.save(Ad.builder()
+                .title("Bicicleta " + SEQUENCE.incrementAndGet())
+                .description("Aro 29, pouco uso")
+                .type(AdType.SALE_TRADE)
+                .price(new BigDecimal("350.00"))
+                .status(AdStatus.ACTIVE)
+                .user(author)
+                .community(community)
+                .createdAt(Instant.now())
+                .build());
+        for (int i = 0; i < images; i++) {
+            adImageRepository.save(AdImage.builder()
+                    .ad(ad)
+                    .url("/uploads/ads/" + ad.getId() + "/" + i + ".jpg")
+                    .sortOrder(i)
+                    .build());
+        }
+        return ad;
+    }
+
+    /** Indicação avaliada por cada um dos {@code raters} (notas de 1 a 5 em rodízio). */
+    @Transactional
+    public Ad recommendation(Community community, User author, List<User> raters) {
+        Ad ad = adRepository.save(Ad.builder()
+                .title("Eletricista " + SEQUENCE.incrementAndGet())
+                .type(AdType.RECOMMENDATION)
+                .status(AdStatus.ACTIVE)
+                .user(author)
+                .community(community)
+                .createdAt(Instant.now())
+                .recommendedContact("11988887777")
+                .serviceType("Elétrica")
+                .build());
+        for (int i = 0; i < raters.size(); i++) {
+            reactionRepository.save(RecommendationReaction.builder()
+                    .ad(ad)
+                    .user(raters.get(i))
+                    .rating(i % 5 + 1)
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return ad;
+    }
+
+    /** Comentário em uma indicação, curtido por cada um dos {@code likers}. */
+    @Transactional
+    public RecommendationComment comment(Ad recommendation, User author, List<User> likers) {
+        RecommendationComment comment = commentRepository.save(RecommendationComment.builder()
+                .ad(recommendation)
+                .user(author)
+                .text("Recomendo, serviço caprichado")
+                .createdAt(Instant.now())
+                .build());
+        for (User liker : likers) {
+            commentLikeRepository.save(CommentLike.builder()
+                    .comment(comment)
+                    .user(liker)
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return comment;
+    }
+}